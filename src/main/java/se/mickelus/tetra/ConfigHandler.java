@@ -13,6 +13,7 @@ import se.mickelus.tetra.items.modular.impl.ModularSingleHeadedItem;
 import se.mickelus.tetra.items.modular.impl.bow.ModularBowItem;
 import se.mickelus.tetra.items.modular.impl.crossbow.ModularCrossbowItem;
 import se.mickelus.tetra.items.modular.impl.shield.ModularShieldItem;
+import se.mickelus.tetra.profiling.TetraProfiler;
 
 import javax.annotation.ParametersAreNonnullByDefault;
 
@@ -26,6 +27,9 @@ public class ConfigHandler {
     public static ForgeConfigSpec.BooleanValue development;
     public static ForgeConfigSpec.BooleanValue toolbeltCurioOnly;
 
+    public static ForgeConfigSpec.BooleanValue profiling;
+    public static ForgeConfigSpec.IntValue profilingLogInterval;
+
     public static ForgeConfigSpec.IntValue geodeDensity;
 
     public static ForgeConfigSpec.BooleanValue generateFeatures;
@@ -63,6 +67,9 @@ public class ConfigHandler {
 
     public static ForgeConfigSpec.BooleanValue enableGlint;
 
+    public static ForgeConfigSpec.IntValue displayRenderDistance;
+    public static ForgeConfigSpec.IntValue displayDetailDistance;
+
     public static ForgeConfigSpec.BooleanValue enableStonecutter;
 
     public static ForgeConfigSpec.BooleanValue enableExtractor;
@@ -92,6 +99,14 @@ public class ConfigHandler {
                 .comment("Enables the enchantment glint rendering on modular items")
                 .define("glint", true);
 
+        displayRenderDistance = builder
+                .comment("Distance (in blocks) within which items displayed on racks & workbenches are rendered")
+                .defineInRange("display_render_distance", 64, 0, 256);
+
+        displayDetailDistance = builder
+                .comment("Distance (in blocks) within which flat items displayed on racks & workbenches are rendered with full detail, beyond this only the front & back faces are rendered")
+                .defineInRange("display_detail_distance", 24, 0, 256);
+
         development = builder
                 .comment("Enables commands & data reloading functionality useful for development, has a negative impact on performance")
                 .worldRestart()
@@ -110,6 +125,14 @@ public class ConfigHandler {
                 .worldRestart()
                 .define("entity_reach", true);
 
+        profiling = builder
+                .comment("Record timings for tetra hot paths, reported by the \"/tetra perf\" command. Can also be toggled using the command")
+                .define("profiling", false);
+
+        profilingLogInterval = builder
+                .comment("Interval (in seconds) at which profiling reports are written to the log while profiling is enabled, 0 disables logging")
+                .defineInRange("profiling_log_interval", 0, 0, Integer.MAX_VALUE);
+
         builder.pop();
 
         // worldgen config
@@ -255,6 +278,8 @@ public class ConfigHandler {
 
 
     private static void onModConfigLoad() {
+        TetraProfiler.updateConfig();
+
         ModularBladedItem.instance.updateConfig(honeSwordBase.get(), honeSwordIntegrityMultiplier.get());
         ModularDoubleHeadedItem.instance.updateConfig(honedoubleBase.get(), honedoubleIntegrityMultiplier.get());
 
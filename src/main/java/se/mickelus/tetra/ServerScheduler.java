@@ -23,6 +23,10 @@ public class ServerScheduler {
         queue.add(new Task(id, counter + delay, task));
     }
 
+    public static int getQueueSize() {
+        return queue.size();
+    }
+
     @SubscribeEvent
     public static void onServerTick(TickEvent.ServerTickEvent event) {
         if (event.phase != TickEvent.Phase.END) {
@@ -32,6 +32,7 @@ import se.mickelus.tetra.craftingeffect.outcome.ApplyImprovementOutcome;
 import se.mickelus.tetra.craftingeffect.outcome.MaterialReductionOutcome;
 import se.mickelus.tetra.craftingeffect.outcome.RemoveImprovementOutcome;
 import se.mickelus.tetra.data.DataManager;
+import se.mickelus.tetra.data.MaterialResolver;
 import se.mickelus.tetra.data.UpdateDataPacket;
 import se.mickelus.tetra.effect.ItemEffectHandler;
 import se.mickelus.tetra.effect.LungeEchoPacket;
@@ -39,18 +40,26 @@ import se.mickelus.tetra.effect.TruesweepPacket;
 import se.mickelus.tetra.effect.howling.HowlingPacket;
 import se.mickelus.tetra.effect.revenge.AddRevengePacket;
 import se.mickelus.tetra.effect.revenge.RemoveRevengePacket;
+import se.mickelus.tetra.effect.targeting.AreaTargeting;
+import se.mickelus.tetra.effect.visual.EffectVisualPacket;
+import se.mickelus.tetra.effect.visual.EffectVisuals;
 import se.mickelus.tetra.items.forged.VibrationDebuffer;
 import se.mickelus.tetra.items.modular.ChargedAbilityPacket;
+import se.mickelus.tetra.items.modular.ModularItemLocalization;
 import se.mickelus.tetra.items.modular.SecondaryAbilityPacket;
 import se.mickelus.tetra.items.modular.impl.bow.ProjectileMotionPacket;
+import se.mickelus.tetra.items.modular.impl.bow.VolleySplitPacket;
 import se.mickelus.tetra.items.modular.impl.toolbelt.ToolbeltModule;
 import se.mickelus.tetra.module.*;
 import se.mickelus.tetra.module.improvement.DestabilizationEffect;
 import se.mickelus.tetra.module.improvement.HonePacket;
+import se.mickelus.tetra.module.improvement.ProgressionBuffer;
 import se.mickelus.tetra.module.improvement.SettlePacket;
 import se.mickelus.tetra.module.schematic.BookEnchantSchematic;
 import se.mickelus.tetra.module.schematic.CleanseSchematic;
 import se.mickelus.tetra.module.schematic.requirement.*;
+import se.mickelus.tetra.profiling.PerfCommand;
+import se.mickelus.tetra.profiling.TetraProfiler;
 import se.mickelus.tetra.properties.TetraAttributes;
 import se.mickelus.tetra.proxy.ClientProxy;
 import se.mickelus.tetra.proxy.IProxy;
@@ -89,9 +98,16 @@ public class TetraMod {
         MinecraftForge.EVENT_BUS.register(new VibrationDebuffer());
         MinecraftForge.EVENT_BUS.register(ServerScheduler.class);
         MinecraftForge.EVENT_BUS.register(ClientScheduler.class);
+        MinecraftForge.EVENT_BUS.register(TetraProfiler.class);
+        MinecraftForge.EVENT_BUS.register(ProgressionBuffer.class);
+        MinecraftForge.EVENT_BUS.register(EffectVisuals.class);
+        MinecraftForge.EVENT_BUS.register(AreaTargeting.class);
+
+        TetraProfiler.registerGauge("scheduler/server_queue", ServerScheduler::getQueueSize);
 
         ToolActionHelper.init();
         TierHelper.init();
+        MaterialResolver.init();
 
         ConfigHandler.setup();
 
@@ -120,6 +136,8 @@ public class TetraMod {
         moduleRegistry.registerModuleType(new ResourceLocation(MOD_ID, "multi_major_module"), MultiSlotMajorModule::new);
         moduleRegistry.registerModuleType(new ResourceLocation(MOD_ID, "toolbelt_module"), ToolbeltModule::new);
 
+        DataManager.instance.moduleData.onReload(ModularItemLocalization::invalidate);
+
         CraftingRequirementDeserializer.registerSupplier("tetra:and", AndRequirement.class);
         CraftingRequirementDeserializer.registerSupplier("tetra:or", OrRequirement.class);
         CraftingRequirementDeserializer.registerSupplier("tetra:not", NotRequirement.class);
@@ -166,9 +184,11 @@ public class TetraMod {
         packetHandler.registerPacket(TruesweepPacket.class, TruesweepPacket::new);
         packetHandler.registerPacket(HowlingPacket.class, HowlingPacket::new);
         packetHandler.registerPacket(ProjectileMotionPacket.class, ProjectileMotionPacket::new);
+        packetHandler.registerPacket(VolleySplitPacket.class, VolleySplitPacket::new);
         packetHandler.registerPacket(AddRevengePacket.class, AddRevengePacket::new);
         packetHandler.registerPacket(RemoveRevengePacket.class, RemoveRevengePacket::new);
         packetHandler.registerPacket(LungeEchoPacket.class, LungeEchoPacket::new);
+        packetHandler.registerPacket(EffectVisualPacket.class, EffectVisualPacket::new);
 
         WorkbenchTile.init(packetHandler);
 
@@ -179,6 +199,7 @@ public class TetraMod {
     @SubscribeEvent
     public void serverStarting(ServerStartingEvent event) {
         ModuleDevCommand.register(event.getServer().getCommands().getDispatcher());
+        PerfCommand.register(event.getServer().getCommands().getDispatcher());
     }
 
     @SubscribeEvent(priority = EventPriority.HIGH)
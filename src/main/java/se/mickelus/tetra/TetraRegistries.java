@@ -22,6 +22,7 @@ import net.minecraft.world.level.storage.loot.predicates.LootItemConditionType;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
 import net.minecraftforge.client.event.EntityRenderersEvent;
+import net.minecraftforge.client.event.ModelBakeEvent;
 import net.minecraftforge.client.event.ModelRegistryEvent;
 import net.minecraftforge.client.event.ParticleFactoryRegisterEvent;
 import net.minecraftforge.client.model.ModelLoaderRegistry;
@@ -40,6 +41,7 @@ import se.mickelus.tetra.advancements.BlockInteractionCriterion;
 import se.mickelus.tetra.advancements.BlockUseCriterion;
 import se.mickelus.tetra.advancements.ImprovementCraftCriterion;
 import se.mickelus.tetra.advancements.ModuleCraftCriterion;
+import se.mickelus.tetra.blocks.DisplayCache;
 import se.mickelus.tetra.blocks.InitializableBlock;
 import se.mickelus.tetra.blocks.forged.chthonic.*;
 import se.mickelus.tetra.blocks.forged.extractor.SeepingBedrockBlock;
@@ -62,6 +64,7 @@ import se.mickelus.tetra.effect.gui.AbilityOverlays;
 import se.mickelus.tetra.effect.howling.HowlingOverlay;
 import se.mickelus.tetra.effect.howling.HowlingPotionEffect;
 import se.mickelus.tetra.effect.potion.*;
+import se.mickelus.tetra.effect.visual.EffectVisualTracker;
 import se.mickelus.tetra.generation.ExtendedStructureRenderer;
 import se.mickelus.tetra.items.InitializableItem;
 import se.mickelus.tetra.items.TetraItemGroup;
@@ -69,11 +72,14 @@ import se.mickelus.tetra.items.forged.*;
 import se.mickelus.tetra.items.loot.DragonSinewItem;
 import se.mickelus.tetra.items.modular.ItemPredicateModular;
 import se.mickelus.tetra.items.modular.MaterialItemPredicate;
+import se.mickelus.tetra.items.modular.ModularItemLocalization;
 import se.mickelus.tetra.items.modular.ThrownModularItemEntity;
 import se.mickelus.tetra.items.modular.ThrownModularItemRenderer;
 import se.mickelus.tetra.items.modular.impl.ModularBladedItem;
 import se.mickelus.tetra.items.modular.impl.ModularDoubleHeadedItem;
 import se.mickelus.tetra.items.modular.impl.ModularSingleHeadedItem;
+import se.mickelus.tetra.items.modular.impl.bow.ArrowVolleyEntity;
+import se.mickelus.tetra.items.modular.impl.bow.ArrowVolleyRenderer;
 import se.mickelus.tetra.items.modular.impl.bow.ModularBowItem;
 import se.mickelus.tetra.items.modular.impl.crossbow.ModularCrossbowItem;
 import se.mickelus.tetra.items.modular.impl.crossbow.ShootableDummyItem;
@@ -246,6 +252,15 @@ public class TetraRegistries {
                         .build(ExtractorProjectileEntity.unlocalizedName)
         );
 
+        entities.register(ArrowVolleyEntity.unlocalizedName, () ->
+                EntityType.Builder.<ArrowVolleyEntity>of(ArrowVolleyEntity::new, MobCategory.MISC)
+                        .setCustomClientFactory(ArrowVolleyEntity::new)
+                        .sized(0.5F, 0.5F)
+                        .clientTrackingRange(4)
+                        .updateInterval(20)
+                        .build(ArrowVolleyEntity.unlocalizedName)
+        );
+
         //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
         // PARTICLES
         //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -371,6 +386,7 @@ public class TetraRegistries {
             BotaniaCompat.clientInit();
 
             MinecraftForge.EVENT_BUS.register(ReachEntityFix.class);
+            MinecraftForge.EVENT_BUS.register(EffectVisualTracker.class);
         });
     }
 
@@ -385,6 +401,14 @@ public class TetraRegistries {
         ModelLoaderRegistry.registerLoader(new ResourceLocation(TetraMod.MOD_ID, "modular_loader"), new ModularModelLoader());
     }
 
+    @SubscribeEvent
+    @OnlyIn(Dist.CLIENT)
+    public static void modelBake(ModelBakeEvent event) {
+        ScrollModel.replaceModels(event);
+        DisplayCache.invalidateAll();
+        ModularItemLocalization.invalidate();
+    }
+
     @SubscribeEvent
     @OnlyIn(Dist.CLIENT)
     public static void registerEntityLayerDefinitions(EntityRenderersEvent.RegisterLayerDefinitions event) {
@@ -401,6 +425,7 @@ public class TetraRegistries {
     public static void registerEntityRenderers(EntityRenderersEvent.RegisterRenderers event) {
         event.registerEntityRenderer(ExtractorProjectileEntity.type, ExtractorProjectileRenderer::new);
         event.registerEntityRenderer(ThrownModularItemEntity.type, ThrownModularItemRenderer::new);
+        event.registerEntityRenderer(ArrowVolleyEntity.type, ArrowVolleyRenderer::new);
 
         event.registerBlockEntityRenderer(WorkbenchTile.type, WorkbenchTESR::new);
         event.registerBlockEntityRenderer(ScrollTile.type, ScrollRenderer::new);
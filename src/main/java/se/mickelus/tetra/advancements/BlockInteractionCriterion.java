@@ -15,7 +15,8 @@ import javax.annotation.ParametersAreNonnullByDefault;
 
 @ParametersAreNonnullByDefault
 public class BlockInteractionCriterion extends AbstractCriterionTriggerInstance {
-    public static final GenericTrigger<BlockInteractionCriterion> trigger = new GenericTrigger<>("tetra:block_interaction", BlockInteractionCriterion::deserialize);
+    public static final IndexedTrigger<BlockInteractionCriterion> trigger = new IndexedTrigger<>("tetra:block_interaction",
+            BlockInteractionCriterion::deserialize, criterion -> criterion.after != null ? criterion.after.getBlock() : null);
     private final PropertyMatcher after;
     private final ToolAction toolAction;
     private final int toolLevel;
@@ -28,9 +29,7 @@ public class BlockInteractionCriterion extends AbstractCriterionTriggerInstance
     }
 
     public static void trigger(ServerPlayer player, BlockState state, ToolAction usedToolAction, int usedToolLevel) {
-        trigger.fulfillCriterion(player, criterion -> criterion.test(state, usedToolAction, usedToolLevel));
-
-
+        trigger.fulfillCriterion(player, state.getBlock(), criterion -> criterion.test(state, usedToolAction, usedToolLevel));
     }
 
     private static BlockInteractionCriterion deserialize(JsonObject json, EntityPredicate.Composite entityPredicate, DeserializationContext conditionsParser) {
@@ -12,7 +12,8 @@ import javax.annotation.ParametersAreNonnullByDefault;
 
 @ParametersAreNonnullByDefault
 public class ImprovementCraftCriterion extends AbstractCriterionTriggerInstance {
-    public static final GenericTrigger<ImprovementCraftCriterion> trigger = new GenericTrigger<>("tetra:craft_improvement", ImprovementCraftCriterion::deserialize);
+    public static final IndexedTrigger<ImprovementCraftCriterion> trigger = new IndexedTrigger<>("tetra:craft_improvement",
+            ImprovementCraftCriterion::deserialize, criterion -> criterion.improvement);
     private final ItemPredicate before;
     private final ItemPredicate after;
     private final String schematic;
@@ -36,7 +37,7 @@ public class ImprovementCraftCriterion extends AbstractCriterionTriggerInstance
 
     public static void trigger(ServerPlayer player, ItemStack before, ItemStack after, String schematic, String slot, String improvement,
             int improvementLevel, ToolAction toolAction, int toolLevel) {
-        trigger.fulfillCriterion(player,
+        trigger.fulfillCriterion(player, improvement,
                 criterion -> criterion.test(before, after, schematic, slot, improvement, improvementLevel, toolAction, toolLevel));
     }
 
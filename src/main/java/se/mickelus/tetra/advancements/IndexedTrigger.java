@@ -0,0 +1,122 @@
+package se.mickelus.tetra.advancements;
+
+import com.google.gson.JsonObject;
+import net.minecraft.advancements.CriterionTrigger;
+import net.minecraft.advancements.critereon.AbstractCriterionTriggerInstance;
+import net.minecraft.advancements.critereon.DeserializationContext;
+import net.minecraft.advancements.critereon.EntityPredicate;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.PlayerAdvancements;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.storage.loot.LootContext;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Trigger that indexes criterion instances by a key when listeners are added, e.g. the module a craft criterion expects. When fulfilled only
+ * the instances indexed by the given key, and the instances that don't specify a key, are validated rather than every instance listened to
+ * by the player.
+ */
+@ParametersAreNonnullByDefault
+public class IndexedTrigger<T extends AbstractCriterionTriggerInstance> implements CriterionTrigger<T> {
+    private final ResourceLocation id;
+
+    private final GenericTrigger.TriggerDeserializer<T> deserializer;
+    private final Function<T, Object> keyGetter;
+
+    // listeners per player, by index key. Instances that don't specify a key are indexed by null
+    private final Map<PlayerAdvancements, Map<Object, Set<CriterionTrigger.Listener<T>>>> listeners = new IdentityHashMap<>();
+
+    /**
+     * @param keyGetter provides the key used to index a criterion instance, or null if the instance should be validated for all keys
+     */
+    public IndexedTrigger(String id, GenericTrigger.TriggerDeserializer<T> deserializer, Function<T, Object> keyGetter) {
+        this.id = new ResourceLocation(id);
+        this.deserializer = deserializer;
+        this.keyGetter = keyGetter;
+    }
+
+    @Override
+    public ResourceLocation getId() {
+        return id;
+    }
+
+    @Override
+    public T createInstance(JsonObject json, DeserializationContext conditionsParser) {
+        EntityPredicate.Composite entityPredicate = EntityPredicate.Composite.fromJson(json, "player", conditionsParser);
+        return deserializer.apply(json, entityPredicate, conditionsParser);
+    }
+
+    @Override
+    public void addPlayerListener(PlayerAdvancements playerAdvancements, CriterionTrigger.Listener<T> listener) {
+        listeners.computeIfAbsent(playerAdvancements, advancements -> new HashMap<>())
+                .computeIfAbsent(keyGetter.apply(listener.getTriggerInstance()), key -> new HashSet<>())
+                .add(listener);
+    }
+
+    @Override
+    public void removePlayerListener(PlayerAdvancements playerAdvancements, CriterionTrigger.Listener<T> listener) {
+        Map<Object, Set<CriterionTrigger.Listener<T>>> buckets = listeners.get(playerAdvancements);
+        if (buckets != null) {
+            Object key = keyGetter.apply(listener.getTriggerInstance());
+            Set<CriterionTrigger.Listener<T>> bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.remove(listener);
+
+                if (bucket.isEmpty()) {
+                    buckets.remove(key);
+                }
+            }
+
+            if (buckets.isEmpty()) {
+                listeners.remove(playerAdvancements);
+            }
+        }
+    }
+
+    @Override
+    public void removePlayerListeners(PlayerAdvancements playerAdvancements) {
+        listeners.remove(playerAdvancements);
+    }
+
+    /**
+     * Fulfills all criterion instances indexed by the given key, or by no key, that pass the validation predicate.
+     *
+     * @param player              The player that the criterion is to be fulfilled for
+     * @param key                 The key that criterion instances have to be indexed by
+     * @param validationPredicate A predicate used to check which criterion will be fulfilled
+     */
+    public void fulfillCriterion(ServerPlayer player, @Nullable Object key, Predicate<T> validationPredicate) {
+        PlayerAdvancements playerAdvancements = player.getAdvancements();
+        Map<Object, Set<CriterionTrigger.Listener<T>>> buckets = listeners.get(playerAdvancements);
+        if (buckets == null) {
+            return;
+        }
+
+        List<CriterionTrigger.Listener<T>> candidates = new ArrayList<>();
+        if (key != null) {
+            candidates.addAll(buckets.getOrDefault(key, Collections.emptySet()));
+        }
+        candidates.addAll(buckets.getOrDefault(null, Collections.emptySet()));
+
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        // matching listeners are collected before they're run, as running a listener may remove listeners from the index
+        LootContext context = EntityPredicate.createContext(player, player);
+        List<CriterionTrigger.Listener<T>> fulfilled = new ArrayList<>();
+        for (CriterionTrigger.Listener<T> listener : candidates) {
+            T criterion = listener.getTriggerInstance();
+            if (validationPredicate.test(criterion) && criterion.getPlayerPredicate().matches(context)) {
+                fulfilled.add(listener);
+            }
+        }
+
+        fulfilled.forEach(listener -> listener.run(playerAdvancements));
+    }
+}
@@ -12,7 +12,8 @@ import javax.annotation.ParametersAreNonnullByDefault;
 
 @ParametersAreNonnullByDefault
 public class ModuleCraftCriterion extends AbstractCriterionTriggerInstance {
-    public static final GenericTrigger<ModuleCraftCriterion> trigger = new GenericTrigger<>("tetra:craft_module", ModuleCraftCriterion::deserialize);
+    public static final IndexedTrigger<ModuleCraftCriterion> trigger = new IndexedTrigger<>("tetra:craft_module", ModuleCraftCriterion::deserialize,
+            criterion -> criterion.module);
     private final ItemPredicate before;
     private final ItemPredicate after;
     private final String schematic;
@@ -36,7 +37,7 @@ public class ModuleCraftCriterion extends AbstractCriterionTriggerInstance {
 
     public static void trigger(ServerPlayer player, ItemStack before, ItemStack after, String schematic, String slot, String module,
             String variant, ToolAction toolAction, int toolLevel) {
-        trigger.fulfillCriterion(player, criterion -> criterion.test(before, after, schematic, slot, module, variant, toolAction,
+        trigger.fulfillCriterion(player, module, criterion -> criterion.test(before, after, schematic, slot, module, variant, toolAction,
                 toolLevel));
     }
 
@@ -1,5 +1,7 @@
 package se.mickelus.tetra.aspect;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.HashBiMap;
 import net.minecraft.ChatFormatting;
 import net.minecraft.client.resources.language.I18n;
@@ -13,22 +15,37 @@ import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.enchantment.Enchantment;
 import net.minecraft.world.item.enchantment.EnchantmentCategory;
 import net.minecraftforge.registries.ForgeRegistries;
+import net.minecraftforge.registries.tags.ITag;
 import net.minecraftforge.registries.tags.ITagManager;
 import org.apache.commons.lang3.tuple.Pair;
 import se.mickelus.tetra.TetraMod;
 import se.mickelus.tetra.items.modular.IModularItem;
 import se.mickelus.tetra.module.ItemModule;
 import se.mickelus.tetra.module.ItemModuleMajor;
+import se.mickelus.tetra.module.data.AspectData;
+import se.mickelus.tetra.profiling.TetraProfiler;
 
 import javax.annotation.Nullable;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class TetraEnchantmentHelper {
     private static final Map<ItemAspect, EnchantmentRules> aspectMap = HashBiMap.create();
 
+    // applicable enchantments per aspect as bitsets indexed by enchantment id, rebuilt lazily after tags are reloaded
+    private static volatile Map<ItemAspect, BitSet> applicabilityMatrix;
+
+    // applicable enchantments for module aspects, [0] holds enchantments applicable from books and [1] from the enchanting table
+    private static final Cache<AspectData, BitSet[]> aspectApplicability = CacheBuilder.newBuilder()
+            .weakKeys()
+            .recordStats()
+            .build();
+
     public static void init() {
+        TetraProfiler.registerCache("enchantment_applicability", aspectApplicability);
+
         aspectMap.put(ItemAspect.armor, new EnchantmentRules(EnchantmentCategory.ARMOR, "additions/armor", "exclusions/armor"));
         aspectMap.put(ItemAspect.armorFeet, new EnchantmentRules(EnchantmentCategory.ARMOR_FEET, "additions/armor_feet", "exclusions/armor_feet"));
         aspectMap.put(ItemAspect.armorLegs, new EnchantmentRules(EnchantmentCategory.ARMOR_LEGS, "additions/armor_legs", "exclusions/armor_legs"));
@@ -53,15 +70,92 @@ public class TetraEnchantmentHelper {
 
     public static void registerMapping(ItemAspect aspect, EnchantmentRules rules) {
         aspectMap.put(aspect, rules);
+        invalidateApplicability();
+    }
+
+    /**
+     * Drops the precomputed applicability of enchantments, should be called when enchantment tags are reloaded
+     */
+    public static void invalidateApplicability() {
+        applicabilityMatrix = null;
+        aspectApplicability.invalidateAll();
+    }
+
+    private static Map<ItemAspect, BitSet> getApplicabilityMatrix() {
+        Map<ItemAspect, BitSet> matrix = applicabilityMatrix;
+        if (matrix == null) {
+            matrix = aspectMap.entrySet().stream()
+                    .collect(Collectors.collectingAndThen(
+                            Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().getApplicable()),
+                            Collections::unmodifiableMap));
+            applicabilityMatrix = matrix;
+        }
+
+        return matrix;
+    }
+
+    private static BitSet[] getApplicability(AspectData aspects) {
+        Map<ItemAspect, BitSet> matrix = getApplicabilityMatrix();
+        BitSet fromBook = new BitSet();
+        BitSet fromTable = new BitSet();
+        aspects.getLevelMap().forEach((aspect, level) -> {
+            BitSet applicable = matrix.get(aspect);
+            if (applicable != null) {
+                if (level >= 1) {
+                    fromBook.or(applicable);
+                }
+                if (level >= 2) {
+                    fromTable.or(applicable);
+                }
+            }
+        });
+
+        return new BitSet[]{fromBook, fromTable};
     }
 
     public static boolean isApplicableForAspects(Enchantment enchantment, boolean fromTable, Map<ItemAspect, Integer> aspects) {
         int requiredLevel = fromTable ? 2 : 1;
+        int id = Registry.ENCHANTMENT.getId(enchantment);
+
+        if (id < 0) {
+            return aspects.entrySet().stream()
+                    .filter(entry -> entry.getValue() >= requiredLevel)
+                    .filter(entry -> aspectMap.containsKey(entry.getKey()))
+                    .anyMatch(entry -> aspectMap.get(entry.getKey()).isApplicable(enchantment));
+        }
 
-        return aspects.entrySet().stream()
-                .filter(entry -> entry.getValue() >= requiredLevel)
-                .filter(entry -> aspectMap.containsKey(entry.getKey()))
-                .anyMatch(entry -> aspectMap.get(entry.getKey()).isApplicable(enchantment));
+        Map<ItemAspect, BitSet> matrix = getApplicabilityMatrix();
+        for (Map.Entry<ItemAspect, Integer> entry : aspects.entrySet()) {
+            if (entry.getValue() >= requiredLevel) {
+                BitSet applicable = matrix.get(entry.getKey());
+                if (applicable != null && applicable.get(id)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks if the enchantment is applicable for the given module aspects, the applicable enchantments are computed once per set of
+     * aspects so this boils down to a bit lookup
+     */
+    public static boolean isApplicableForAspects(Enchantment enchantment, boolean fromTable, @Nullable AspectData aspects) {
+        if (aspects == null) {
+            return false;
+        }
+
+        int id = Registry.ENCHANTMENT.getId(enchantment);
+        if (id < 0) {
+            return isApplicableForAspects(enchantment, fromTable, aspects.getLevelMap());
+        }
+
+        try {
+            return aspectApplicability.get(aspects, () -> getApplicability(aspects))[fromTable ? 1 : 0].get(id);
+        } catch (ExecutionException e) {
+            return isApplicableForAspects(enchantment, fromTable, aspects.getLevelMap());
+        }
     }
 
     @Nullable
@@ -214,8 +308,33 @@ public class TetraEnchantmentHelper {
 
         public boolean isApplicable(Enchantment enchantment) {
             ITagManager<Enchantment> tags = ForgeRegistries.ENCHANTMENTS.tags();
-            return ((category != null && category.equals(enchantment.category))
-                    || tags.getTag(additions).contains(enchantment)) && !tags.getTag(exclusions).contains(enchantment);
+            return isApplicable(enchantment, tags.getTag(additions), tags.getTag(exclusions));
+        }
+
+        private boolean isApplicable(Enchantment enchantment, ITag<Enchantment> additionsTag, ITag<Enchantment> exclusionsTag) {
+            return ((category != null && category.equals(enchantment.category)) || additionsTag.contains(enchantment))
+                    && !exclusionsTag.contains(enchantment);
+        }
+
+        /**
+         * @return a bitset holding the ids of all applicable enchantments
+         */
+        public BitSet getApplicable() {
+            ITagManager<Enchantment> tags = ForgeRegistries.ENCHANTMENTS.tags();
+            ITag<Enchantment> additionsTag = tags.getTag(additions);
+            ITag<Enchantment> exclusionsTag = tags.getTag(exclusions);
+
+            BitSet result = new BitSet();
+            for (Enchantment enchantment : ForgeRegistries.ENCHANTMENTS) {
+                if (isApplicable(enchantment, additionsTag, exclusionsTag)) {
+                    int id = Registry.ENCHANTMENT.getId(enchantment);
+                    if (id >= 0) {
+                        result.set(id);
+                    }
+                }
+            }
+
+            return result;
         }
     }
 }
@@ -0,0 +1,228 @@
+package se.mickelus.tetra.blocks;
+
+import com.mojang.blaze3d.vertex.PoseStack;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.LevelRenderer;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.renderer.block.model.ItemTransforms;
+import net.minecraft.client.resources.model.BakedModel;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import net.minecraftforge.client.model.BakedModelWrapper;
+import net.minecraftforge.client.model.data.EmptyModelData;
+import net.minecraftforge.client.model.data.IModelData;
+import se.mickelus.tetra.ConfigHandler;
+import se.mickelus.tetra.data.DataManager;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Holds the resolved models for items displayed by a block entity (e.g. racks & workbenches), resolving the model of a modular item is
+ * costly and would otherwise happen every frame. Entries are invalidated when the displayed stack or the display revision of the block
+ * entity changes, and all entries are dropped when models are rebaked or module data is reloaded.
+ */
+@ParametersAreNonnullByDefault
+@OnlyIn(Dist.CLIENT)
+public class DisplayCache {
+    private static volatile int modelGeneration = 0;
+
+    static {
+        DataManager.instance.moduleData.onReload(DisplayCache::invalidateAll);
+    }
+
+    private final Entry[] entries;
+
+    private long lightTimestamp = Long.MIN_VALUE;
+    private int light;
+
+    public DisplayCache(int size) {
+        entries = new Entry[size];
+    }
+
+    /**
+     * Get the cache for the given block entity from the given map, renderers are shared between all block entities of a type so the
+     * renderer holds the caches in a weak map keyed by the block entity
+     */
+    public static DisplayCache get(Map<BlockEntity, DisplayCache> caches, BlockEntity blockEntity, int size) {
+        DisplayCache cache = caches.get(blockEntity);
+        if (cache == null || cache.entries.length != size) {
+            cache = new DisplayCache(size);
+            caches.put(blockEntity, cache);
+        }
+
+        return cache;
+    }
+
+    public static Map<BlockEntity, DisplayCache> createMap() {
+        return new WeakHashMap<>();
+    }
+
+    /**
+     * Invalidates all cached models, should be called when models are rebaked or module data is reloaded
+     */
+    public static void invalidateAll() {
+        modelGeneration++;
+    }
+
+    public static int getRenderDistance() {
+        return ConfigHandler.displayRenderDistance.get();
+    }
+
+    /**
+     * @return true if the display at the given position is close enough to the camera to be rendered with full detail
+     */
+    public static boolean isDetailed(BlockPos pos) {
+        int detailDistance = ConfigHandler.displayDetailDistance.get();
+        Vec3 camera = Minecraft.getInstance().gameRenderer.getMainCamera().getPosition();
+        return Vec3.atCenterOf(pos).closerThan(camera, detailDistance);
+    }
+
+    /**
+     * Get the display entry for the given slot, the entry is resolved again if the stack or the revision has changed since the last call
+     */
+    public Entry get(int slot, ItemStack itemStack, int revision, @Nullable Level level, int seed) {
+        return get(slot, itemStack, revision, Function.identity(), level, seed);
+    }
+
+    /**
+     * @param displayFunction used to get the stack that should be displayed for the stack held in the slot, only called when the entry
+     *                        is resolved
+     */
+    public Entry get(int slot, ItemStack itemStack, int revision, Function<ItemStack, ItemStack> displayFunction, @Nullable Level level,
+            int seed) {
+        Entry entry = entries[slot];
+        if (entry == null || !entry.isValid(itemStack, revision)) {
+            ItemStack displayStack = displayFunction.apply(itemStack);
+            BakedModel model = Minecraft.getInstance().getItemRenderer().getModel(displayStack, level, null, seed);
+            entry = new Entry(itemStack, revision, displayStack, model);
+            entries[slot] = entry;
+        }
+
+        return entry;
+    }
+
+    /**
+     * Light is sampled at most once per tick rather than once per frame
+     */
+    public int getLight(Level level, BlockPos pos) {
+        long gameTime = level.getGameTime();
+        if (gameTime != lightTimestamp) {
+            lightTimestamp = gameTime;
+            light = LevelRenderer.getLightColor(level, pos);
+        }
+
+        return light;
+    }
+
+    public static class Entry {
+        private final ItemStack sourceStack;
+        private final int revision;
+        private final int generation;
+        private final ItemStack itemStack;
+        private final BakedModel model;
+        private BakedModel flatModel;
+
+        Entry(ItemStack sourceStack, int revision, ItemStack itemStack, BakedModel model) {
+            this.sourceStack = sourceStack;
+            this.revision = revision;
+            this.generation = modelGeneration;
+            this.itemStack = itemStack;
+            this.model = model;
+        }
+
+        boolean isValid(ItemStack sourceStack, int revision) {
+            return this.sourceStack == sourceStack && this.revision == revision && generation == modelGeneration;
+        }
+
+        public ItemStack getItemStack() {
+            return itemStack;
+        }
+
+        /**
+         * @param detailed if false a flattened model only holding the front & back faces is returned for flat item models
+         */
+        public BakedModel getModel(boolean detailed) {
+            if (detailed || model.isGui3d() || model.isCustomRenderer()) {
+                return model;
+            }
+
+            if (flatModel == null) {
+                flatModel = new FlatModel(model);
+            }
+
+            return flatModel;
+        }
+    }
+
+    /**
+     * Only renders the front & back faces of flat item models, item models generated from textures have an edge quad for every pixel along
+     * the edges of the texture which makes up the bulk of the quads but is barely visible at a distance
+     */
+    private static class FlatModel extends BakedModelWrapper<BakedModel> {
+        private final Map<Direction, List<BakedQuad>> sidedQuads = new EnumMap<>(Direction.class);
+        private List<BakedQuad> quads;
+
+        private BakedModel perspectiveModel;
+        private FlatModel perspectiveFlatModel;
+
+        FlatModel(BakedModel originalModel) {
+            super(originalModel);
+        }
+
+        private static List<BakedQuad> filter(List<BakedQuad> quads) {
+            return quads.stream()
+                    .filter(quad -> quad.getDirection().getAxis() == Direction.Axis.Z)
+                    .collect(Collectors.toList());
+        }
+
+        @Nonnull
+        @Override
+        public List<BakedQuad> getQuads(@Nullable BlockState state, @Nullable Direction side, Random rand) {
+            return getQuads(state, side, rand, EmptyModelData.INSTANCE);
+        }
+
+        @Nonnull
+        @Override
+        public List<BakedQuad> getQuads(@Nullable BlockState state, @Nullable Direction side, Random rand, IModelData extraData) {
+            if (side == null) {
+                if (quads == null) {
+                    quads = filter(originalModel.getQuads(state, null, rand, extraData));
+                }
+                return quads;
+            }
+
+            return sidedQuads.computeIfAbsent(side, s -> filter(originalModel.getQuads(state, s, rand, extraData)));
+        }
+
+        @Override
+        public BakedModel handlePerspective(ItemTransforms.TransformType cameraTransformType, PoseStack poseStack) {
+            BakedModel result = originalModel.handlePerspective(cameraTransformType, poseStack);
+            if (result == originalModel) {
+                return this;
+            }
+
+            if (result != perspectiveModel) {
+                perspectiveModel = result;
+                perspectiveFlatModel = new FlatModel(result);
+            }
+
+            return perspectiveFlatModel;
+        }
+    }
+}
@@ -13,6 +13,7 @@ import net.minecraft.world.level.block.state.StateDefinition;
 import net.minecraft.world.level.block.state.properties.Property;
 import net.minecraftforge.registries.ForgeRegistries;
 
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import java.util.Map;
 import java.util.Optional;
@@ -75,6 +76,14 @@ public class PropertyMatcher implements Predicate<BlockState> {
         return result;
     }
 
+    /**
+     * @return the block this matcher is limited to, or null if it matches any block
+     */
+    @Nullable
+    public Block getBlock() {
+        return block;
+    }
+
     @Override
     public boolean test(BlockState blockState) {
         if (block != null && block != blockState.getBlock()) {
@@ -33,10 +33,10 @@ import se.mickelus.tetra.blocks.PropertyMatcher;
 import se.mickelus.tetra.blocks.TetraWaterloggedBlock;
 import se.mickelus.tetra.blocks.salvage.BlockInteraction;
 import se.mickelus.tetra.blocks.salvage.IInteractiveBlock;
+import se.mickelus.tetra.blocks.salvage.InteractionTable;
 
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
@@ -85,6 +85,8 @@ public class ForgedVentBlock extends TetraWaterloggedBlock implements IInteracti
                     new PropertyMatcher().where(propBroken, equalTo(true)),
                     ForgedVentBlock::breakBeam),
     };
+    private static final InteractionTable interactionTable = new InteractionTable(interactions,
+            state -> state.getValue(propX) ? Direction.EAST : Direction.SOUTH);
     @ObjectHolder(TetraMod.MOD_ID + ":" + identifier)
     public static ForgedVentBlock instance;
 
@@ -163,9 +165,13 @@ public class ForgedVentBlock extends TetraWaterloggedBlock implements IInteracti
 
     @Override
     public BlockInteraction[] getPotentialInteractions(Level world, BlockPos pos, BlockState state, Direction face, Collection<ToolAction> tools) {
-        return Arrays.stream(interactions)
-                .filter(interaction -> interaction.isPotentialInteraction(world, pos, state, state.getValue(propX) ? Direction.EAST : Direction.SOUTH, face, tools))
-                .toArray(BlockInteraction[]::new);
+        return interactionTable.getPotentialInteractions(world, pos, state, face, tools);
+    }
+
+    @Override
+    public BlockInteraction[] getInteractionsAt(Level world, BlockPos pos, BlockState state, Direction face, double hitU, double hitV,
+            Collection<ToolAction> tools) {
+        return interactionTable.getInteractionsAt(world, pos, state, face, hitU, hitV, tools);
     }
 
     @Override
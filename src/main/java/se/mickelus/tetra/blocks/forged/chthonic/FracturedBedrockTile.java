@@ -3,6 +3,7 @@ package se.mickelus.tetra.blocks.forged.chthonic;
 import com.google.common.collect.Sets;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
 import net.minecraft.core.particles.BlockParticleOption;
 import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.nbt.CompoundTag;
@@ -15,10 +16,10 @@ import net.minecraft.sounds.SoundSource;
 import net.minecraft.util.Mth;
 import net.minecraft.util.random.WeightedRandomList;
 import net.minecraft.world.entity.*;
-import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.BlockItem;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.ClipContext;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.biome.MobSpawnSettings;
@@ -31,6 +32,7 @@ import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.material.Material;
 import net.minecraft.world.level.storage.loot.LootContext;
 import net.minecraft.world.level.storage.loot.LootTable;
+import net.minecraft.world.level.storage.loot.LootTables;
 import net.minecraft.world.level.storage.loot.parameters.LootContextParamSets;
 import net.minecraft.world.level.storage.loot.parameters.LootContextParams;
 import net.minecraft.world.phys.AABB;
@@ -45,11 +47,16 @@ import org.apache.logging.log4j.Logger;
 import se.mickelus.mutil.util.CastOptional;
 import se.mickelus.tetra.TetraMod;
 import se.mickelus.tetra.blocks.forged.extractor.SeepingBedrockBlock;
+import se.mickelus.tetra.profiling.ProfilerMetric;
+import se.mickelus.tetra.profiling.TetraProfiler;
 
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.WeakHashMap;
 
 @ParametersAreNonnullByDefault
 public class FracturedBedrockTile extends BlockEntity {
@@ -67,6 +74,18 @@ public class FracturedBedrockTile extends BlockEntity {
     };
     @ObjectHolder(TetraMod.MOD_ID + ":" + FracturedBedrockBlock.identifier)
     public static BlockEntityType<FracturedBedrockTile> type;
+
+    // max number of extraction steps performed per level & tick, shared between all extractors in the level. Steps exceeding the budget
+    // are deferred to the following tick rather than dropped
+    private static final int stepBudget = 16;
+    private static final Map<Level, long[]> stepBudgetUsage = new WeakHashMap<>();
+
+    // cached surface columns are rechecked after this many ticks to pick up changes made by others than the extractor itself
+    private static final int columnTimeout = 200;
+
+    private static final ProfilerMetric tickMetric = TetraProfiler.metric("block/fractured_bedrock_tick");
+    private static final ProfilerMetric deferredMetric = TetraProfiler.metric("block/fractured_bedrock_deferred");
+
     private final float spawnRatio = 0.5f;
     private final int spawnYLimit = 4;
     private int activity = 0;
@@ -74,6 +93,18 @@ public class FracturedBedrockTile extends BlockEntity {
     private int luck = 0;
     private MobSpawnSettings spawnInfo;
 
+    private long nextActivation = 0;
+    private int columnTier = -1;
+    private final Map<Long, Column> columns = new HashMap<>();
+
+    private LootTables lootTablesRef;
+    private LootTable lootTable;
+    private int lootTableTier = -1;
+    private LootContext lootContext;
+    private int lootContextLuck;
+
+    private AABB aggroBounds;
+
     public FracturedBedrockTile(BlockPos pos, BlockState blockState) {
         super(type, pos, blockState);
     }
@@ -112,6 +143,7 @@ public class FracturedBedrockTile extends BlockEntity {
                 .anyMatch(type -> EntityType.HUSK.equals(type) || EntityType.STRAY.equals(type) || EntityType.WITCH.equals(type));
         if (spawnBonus) {
             luck += 1;
+            lootContext = null;
         }
     }
 
@@ -215,6 +247,47 @@ public class FracturedBedrockTile extends BlockEntity {
         });
     }
 
+    /**
+     * Finds the surface below the given position, the surface of each column is cached and updated as the extractor changes blocks in the
+     * column. Cached columns are only reused for positions at or below the position the surface was traced from, as the blocks above it
+     * have not been checked. Cached columns are validated against the block at the surface and expire after a while, as blocks above the
+     * surface can be changed by others.
+     */
+    private BlockPos findSurface(BlockPos blockPos, int minY, Level level) {
+        long key = getColumnKey(blockPos);
+        long gameTime = level.getGameTime();
+        Column column = columns.get(key);
+
+        if (column != null
+                && column.y < blockPos.getY()
+                && blockPos.getY() <= column.fromY
+                && gameTime - column.timestamp < columnTimeout) {
+            BlockPos surfacePos = new BlockPos(blockPos.getX(), column.y, blockPos.getZ());
+            if (level.getBlockState(surfacePos) == column.state) {
+                return surfacePos;
+            }
+        }
+
+        BlockPos surfacePos = traceDown(blockPos, minY, level);
+        columns.put(key, new Column(surfacePos.getY(), blockPos.getY(), level.getBlockState(surfacePos), gameTime));
+        return surfacePos;
+    }
+
+    private void updateColumn(BlockPos pos, BlockState blockState) {
+        Column column = columns.get(getColumnKey(pos));
+        if (column != null && column.y == pos.getY()) {
+            column.state = blockState;
+        }
+    }
+
+    private void invalidateColumn(BlockPos pos) {
+        columns.remove(getColumnKey(pos));
+    }
+
+    private static long getColumnKey(BlockPos pos) {
+        return BlockPos.asLong(pos.getX(), 0, pos.getZ());
+    }
+
     private BlockPos traceDown(BlockPos blockPos, int minY, Level level) {
         BlockPos.MutableBlockPos movePos = blockPos.mutable();
 
@@ -234,12 +307,37 @@ public class FracturedBedrockTile extends BlockEntity {
         return movePos.immutable();
     }
 
+    /**
+     * The loot table is resolved once per tier, and resolved again if loot tables have been reloaded since
+     */
+    private LootTable getLootTable(ServerLevel serverLevel) {
+        LootTables tables = serverLevel.getServer().getLootTables();
+        int tier = getTier();
+        if (lootTable == null || lootTablesRef != tables || lootTableTier != tier) {
+            lootTablesRef = tables;
+            lootTableTier = tier;
+            lootTable = tables.get(lootTables[tier]);
+        }
+
+        return lootTable;
+    }
+
+    /**
+     * The context holds no per roll state once a roll has completed, so it can be reused for as long as the luck remains the same
+     */
+    private LootContext getLootContext(ServerLevel serverLevel) {
+        if (lootContext == null || lootContextLuck != luck || lootContext.getLevel() != serverLevel) {
+            lootContextLuck = luck;
+            lootContext = new LootContext.Builder(serverLevel).withLuck(luck).create(LootContextParamSets.EMPTY);
+        }
+
+        return lootContext;
+    }
+
     private void spawnOre(BlockPos pos) {
         ServerLevel serverWorld = (ServerLevel) level;
-        LootTable table = serverWorld.getServer().getLootTables().get(lootTables[getTier()]);
-        LootContext context = new LootContext.Builder(serverWorld).withLuck(luck).create(LootContextParamSets.EMPTY);
 
-        table.getRandomItems(context).stream()
+        getLootTable(serverWorld).getRandomItems(getLootContext(serverWorld)).stream()
                 .filter(itemStack -> !itemStack.isEmpty())
                 .findAny()
                 .ifPresent(itemStack -> {
@@ -247,6 +345,7 @@ public class FracturedBedrockTile extends BlockEntity {
                         BlockState newState = blockItem.getBlock().defaultBlockState();
                         level.levelEvent(null, 2001, pos, Block.getId(newState));
                         level.setBlock(pos, newState, 2);
+                        updateColumn(pos, newState);
                     } else {
                         Block.popResource(level, pos, itemStack);
                     }
@@ -267,6 +366,11 @@ public class FracturedBedrockTile extends BlockEntity {
             return;
         }
 
+        ServerLevel serverWorld = (ServerLevel) level;
+        if (!serverWorld.isPositionEntityTicking(pos)) {
+            return;
+        }
+
         WeightedRandomList<MobSpawnSettings.SpawnerData> spawners = spawnInfo.getMobs(MobCategory.MONSTER);
         Optional<MobSpawnSettings.SpawnerData> optionalSpawnerData = spawners.getRandom(level.getRandom());
         if (!optionalSpawnerData.isPresent())
@@ -274,7 +378,6 @@ public class FracturedBedrockTile extends BlockEntity {
         MobSpawnSettings.SpawnerData mob = optionalSpawnerData.get();
         Vec3 spawnPos = Vec3.atBottomCenterOf(pos);
 
-        ServerLevel serverWorld = (ServerLevel) level;
         if (mob.type.canSummon()
 //                && WorldEntitySpawner.canCreatureTypeSpawnAtLocation(EntitySpawnPlacementRegistry.getPlacementType(mob.type), world, pos, mob.type)
                 && serverWorld.noCollision(mob.type.getAABB(spawnPos.x, spawnPos.y, spawnPos.z))
@@ -297,8 +400,13 @@ public class FracturedBedrockTile extends BlockEntity {
                         e.finalizeSpawn(serverWorld, serverWorld.getCurrentDifficultyAt(e.blockPosition()), MobSpawnType.SPAWNER, null, null);
                         serverWorld.addFreshEntityWithPassengers(e);
 
-                        // makes the mob angry at a nearby player
-                        serverWorld.getEntitiesOfClass(Player.class, new AABB(getBlockPos()).inflate(24, 8, 24)).stream()
+                        // makes the mob angry at a nearby player, there are far fewer players than entities so checking the player list
+                        // is cheaper than an entity lookup
+                        if (aggroBounds == null) {
+                            aggroBounds = new AABB(getBlockPos()).inflate(24, 8, 24);
+                        }
+                        serverWorld.players().stream()
+                                .filter(player -> !player.isSpectator() && aggroBounds.intersects(player.getBoundingBox()))
                                 .findAny()
                                 .ifPresent(e::setLastHurtMob);
                     });
@@ -356,9 +464,71 @@ public class FracturedBedrockTile extends BlockEntity {
         this.load(packet.getTag());
     }
 
+    /**
+     * Claims extraction steps from the level wide budget, returns the number of steps that may be performed this tick
+     */
+    private static int claimSteps(Level level, int steps) {
+        long[] usage = stepBudgetUsage.computeIfAbsent(level, l -> new long[2]);
+        if (usage[0] != level.getGameTime()) {
+            usage[0] = level.getGameTime();
+            usage[1] = 0;
+        }
+
+        int claimed = (int) Math.min(steps, stepBudget - usage[1]);
+        usage[1] += claimed;
+        return claimed;
+    }
+
+    /**
+     * Extraction is only performed while the whole area within reach is loaded and ticking, as the traces would otherwise load chunks or
+     * leave spawned mobs stranded
+     */
+    private boolean isAreaTicking(ServerLevel level, BlockPos pos) {
+        int maxDistance = getMaxDistance();
+        int minX = SectionPos.blockToSectionCoord(pos.getX() - maxDistance);
+        int maxX = SectionPos.blockToSectionCoord(pos.getX() + maxDistance);
+        int minZ = SectionPos.blockToSectionCoord(pos.getZ() - maxDistance);
+        int maxZ = SectionPos.blockToSectionCoord(pos.getZ() + maxDistance);
+
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                if (!level.shouldTickBlocksAt(ChunkPos.asLong(x, z))) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
     public void tick(Level level, BlockPos pos, BlockState state) {
-        if (!level.isClientSide && activity > 0 && level.getGameTime() % getRate() == 0) {
-            int intensity = getIntensity();
+        if (level.isClientSide || activity <= 0) {
+            return;
+        }
+
+        long gameTime = level.getGameTime();
+        if (gameTime >= nextActivation) {
+            long start = tickMetric.start();
+            ServerLevel serverLevel = (ServerLevel) level;
+
+            if (!isAreaTicking(serverLevel, pos)) {
+                nextActivation = gameTime + getRate();
+                tickMetric.stop(start);
+                return;
+            }
+
+            int intensity = claimSteps(level, getIntensity());
+            if (intensity <= 0) {
+                deferredMetric.increment();
+                tickMetric.stop(start);
+                return;
+            }
+
+            if (columnTier != getTier()) {
+                columnTier = getTier();
+                columns.clear();
+            }
+
             Vec3 origin = Vec3.atCenterOf(pos);
 
             for (int i = 0; i < intensity; i++) {
@@ -372,7 +542,7 @@ public class FracturedBedrockTile extends BlockEntity {
                     breakBlock(level, hitPos, hitState);
 
                     int minY = level.getMinBuildHeight();
-                    BlockPos spawnPos = traceDown(hitPos, minY, level);
+                    BlockPos spawnPos = findSurface(hitPos, minY, level);
                     BlockState spawnState = level.getBlockState(spawnPos);
 
                     if (canReplace(spawnState)) {
@@ -383,26 +553,44 @@ public class FracturedBedrockTile extends BlockEntity {
                         } else {
                             spawnMob(spawnPos);
                         }
-                    } else {
-                        breakBlock(level, spawnPos, spawnState);
+                    } else if (breakBlock(level, spawnPos, spawnState)) {
+                        invalidateColumn(spawnPos);
                     }
                 }
             }
 
-            ((ServerLevel) level).sendParticles(new BlockParticleOption(ParticleTypes.BLOCK, FracturedBedrockBlock.instance.defaultBlockState()),
+            serverLevel.sendParticles(new BlockParticleOption(ParticleTypes.BLOCK, FracturedBedrockBlock.instance.defaultBlockState()),
                     worldPosition.getX() + 0.5, worldPosition.getY() + 1.1, worldPosition.getZ() + 0.5,
                     8, 0, level.random.nextGaussian() * 0.1, 0, 0.1);
 
             step += intensity;
             activity -= intensity;
+            nextActivation = gameTime + getRate();
 
             if (shouldDeplete()) {
                 level.setBlock(getBlockPos(), DepletedBedrockBlock.instance.defaultBlockState(), 2);
             }
+
+            tickMetric.stop(start);
         }
 
-        if (!level.isClientSide && activity > 0 && this.level.getGameTime() % 80 == 0) {
+        if (activity > 0 && gameTime % 80 == 0) {
             playSound();
         }
     }
+
+    private static class Column {
+        final int y;
+        // the y the surface was traced from, blocks above it may not be air
+        final int fromY;
+        final long timestamp;
+        BlockState state;
+
+        Column(int y, int fromY, BlockState state, long timestamp) {
+            this.y = y;
+            this.fromY = fromY;
+            this.state = state;
+            this.timestamp = timestamp;
+        }
+    }
 }
@@ -40,10 +40,10 @@ import se.mickelus.tetra.blocks.TetraWaterloggedBlock;
 import se.mickelus.tetra.blocks.forged.ForgedBlockCommon;
 import se.mickelus.tetra.blocks.salvage.BlockInteraction;
 import se.mickelus.tetra.blocks.salvage.IInteractiveBlock;
+import se.mickelus.tetra.blocks.salvage.InteractionTable;
 
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
@@ -84,6 +84,7 @@ public class ForgedContainerBlock extends TetraWaterloggedBlock implements IInte
                             .where(flippedProp, equalTo(true)),
                     ForgedContainerBlock::open)
     };
+    private static final InteractionTable interactionTable = new InteractionTable(interactions, state -> state.getValue(facingProp));
     private static final VoxelShape shapeZ1 = box(1, 0, -15, 15, 12, 15);
     private static final VoxelShape shapeZ2 = box(1, 0, 1, 15, 12, 31);
     private static final VoxelShape shapeX1 = box(-15, 0, 1, 15, 12, 15);
@@ -144,9 +145,13 @@ public class ForgedContainerBlock extends TetraWaterloggedBlock implements IInte
 
     @Override
     public BlockInteraction[] getPotentialInteractions(Level world, BlockPos pos, BlockState state, Direction face, Collection<ToolAction> tools) {
-        return Arrays.stream(interactions)
-                .filter(interaction -> interaction.isPotentialInteraction(world, pos, state, state.getValue(facingProp), face, tools))
-                .toArray(BlockInteraction[]::new);
+        return interactionTable.getPotentialInteractions(world, pos, state, face, tools);
+    }
+
+    @Override
+    public BlockInteraction[] getInteractionsAt(Level world, BlockPos pos, BlockState state, Direction face, double hitU, double hitV,
+            Collection<ToolAction> tools) {
+        return interactionTable.getInteractionsAt(world, pos, state, face, hitU, hitV, tools);
     }
 
     @Override
@@ -224,22 +224,29 @@ public class ForgedContainerTile extends BlockEntity implements MenuProvider {
         return ClientboundBlockEntityDataPacket.create(this);
     }
 
+    /**
+     * Only the lid & lock state is sent to clients, the inventory is large and only needed by players that open the container in which case
+     * it's synced by the menu
+     */
     @Override
     public CompoundTag getUpdateTag() {
-        return saveWithoutMetadata();
+        CompoundTag compound = new CompoundTag();
+        writeLockData(compound, lockIntegrity);
+        writeLidData(compound, lidIntegrity);
+        return compound;
     }
 
     @Override
-    public void onDataPacket(Connection net, ClientboundBlockEntityDataPacket pkt) {
-        load(pkt.getTag());
+    public void handleUpdateTag(CompoundTag compound) {
+        loadView(compound);
     }
 
     @Override
-    public void load(CompoundTag compound) {
-        super.load(compound);
-
-        handler.ifPresent(handler -> handler.deserializeNBT(compound.getCompound(inventoryKey)));
+    public void onDataPacket(Connection net, ClientboundBlockEntityDataPacket pkt) {
+        loadView(pkt.getTag());
+    }
 
+    private void loadView(CompoundTag compound) {
         for (int i = 0; i < lockIntegrity.length; i++) {
             lockIntegrity[i] = compound.getInt("lock_integrity" + i);
         }
@@ -247,6 +254,15 @@ public class ForgedContainerTile extends BlockEntity implements MenuProvider {
         lidIntegrity = compound.getInt("lid_integrity");
     }
 
+    @Override
+    public void load(CompoundTag compound) {
+        super.load(compound);
+
+        handler.ifPresent(handler -> handler.deserializeNBT(compound.getCompound(inventoryKey)));
+
+        loadView(compound);
+    }
+
     @Override
     public void saveAdditional(CompoundTag compound) {
         super.saveAdditional(compound);
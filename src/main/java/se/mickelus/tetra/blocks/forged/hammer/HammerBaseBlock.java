@@ -42,6 +42,7 @@ import se.mickelus.tetra.blocks.TetraBlock;
 import se.mickelus.tetra.blocks.forged.ForgedBlockCommon;
 import se.mickelus.tetra.blocks.salvage.BlockInteraction;
 import se.mickelus.tetra.blocks.salvage.IInteractiveBlock;
+import se.mickelus.tetra.blocks.salvage.InteractionTable;
 import se.mickelus.tetra.blocks.salvage.InteractiveBlockOverlay;
 import se.mickelus.tetra.blocks.salvage.TileBlockInteraction;
 import se.mickelus.tetra.items.cell.ItemCellMagmatic;
@@ -70,6 +71,7 @@ public class HammerBaseBlock extends TetraBlock implements IInteractiveBlock, En
                     HammerBaseTile.class, tile -> tile.getEffect(false) != null,
                     (world, pos, blockState, player, hand, hitFace) -> removeModule(world, pos, blockState, player, hand, hitFace, false))
     };
+    private static final InteractionTable interactionTable = new InteractionTable(interactions, state -> state.getValue(facingProp));
     @ObjectHolder(TetraMod.MOD_ID + ":" + identifier)
     public static HammerBaseBlock instance;
 
@@ -272,9 +274,13 @@ public class HammerBaseBlock extends TetraBlock implements IInteractiveBlock, En
 
     @Override
     public BlockInteraction[] getPotentialInteractions(Level world, BlockPos pos, final BlockState state, final Direction face, final Collection<ToolAction> tools) {
-        return Arrays.stream(interactions)
-                .filter(interaction -> interaction.isPotentialInteraction(world, pos, state, state.getValue(facingProp), face, tools))
-                .toArray(BlockInteraction[]::new);
+        return interactionTable.getPotentialInteractions(world, pos, state, face, tools);
+    }
+
+    @Override
+    public BlockInteraction[] getInteractionsAt(Level world, BlockPos pos, final BlockState state, final Direction face, double hitU, double hitV,
+            final Collection<ToolAction> tools) {
+        return interactionTable.getInteractionsAt(world, pos, state, face, hitU, hitV, tools);
     }
 
     @Override
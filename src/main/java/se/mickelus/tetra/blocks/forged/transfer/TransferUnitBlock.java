@@ -43,12 +43,12 @@ import se.mickelus.tetra.blocks.TetraWaterloggedBlock;
 import se.mickelus.tetra.blocks.forged.ForgedBlockCommon;
 import se.mickelus.tetra.blocks.salvage.BlockInteraction;
 import se.mickelus.tetra.blocks.salvage.IInteractiveBlock;
+import se.mickelus.tetra.blocks.salvage.InteractionTable;
 import se.mickelus.tetra.items.cell.ItemCellMagmatic;
 import se.mickelus.tetra.items.forged.InsulatedPlateItem;
 
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
@@ -72,6 +72,7 @@ public class TransferUnitBlock extends TetraWaterloggedBlock implements IInterac
                     new PropertyMatcher().where(plateProp, equalTo(false)),
                     TransferUnitBlock::reconfigure),
     };
+    private static final InteractionTable interactionTable = new InteractionTable(interactions, state -> state.getValue(facingProp));
     private static final VoxelShape eastShape = box(3, 0, 1, 16, 12, 15);
     private static final VoxelShape northShape = box(1, 0, 0, 15, 12, 13);
     private static final VoxelShape westShape = box(0, 0, 1, 13, 12, 15);
@@ -181,9 +182,13 @@ public class TransferUnitBlock extends TetraWaterloggedBlock implements IInterac
 
     @Override
     public BlockInteraction[] getPotentialInteractions(Level world, BlockPos pos, BlockState blockState, Direction face, Collection<ToolAction> tools) {
-        return Arrays.stream(interactions)
-                .filter(interaction -> interaction.isPotentialInteraction(world, pos, blockState, blockState.getValue(facingProp), face, tools))
-                .toArray(BlockInteraction[]::new);
+        return interactionTable.getPotentialInteractions(world, pos, blockState, face, tools);
+    }
+
+    @Override
+    public BlockInteraction[] getInteractionsAt(Level world, BlockPos pos, BlockState blockState, Direction face, double hitU, double hitV,
+            Collection<ToolAction> tools) {
+        return interactionTable.getInteractionsAt(world, pos, blockState, face, hitU, hitV, tools);
     }
 
     @Override
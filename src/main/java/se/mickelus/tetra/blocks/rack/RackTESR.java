@@ -13,20 +13,24 @@ import net.minecraft.core.Direction;
 import net.minecraft.world.item.CrossbowItem;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.SwordItem;
+import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
 import net.minecraftforge.items.CapabilityItemHandler;
+import se.mickelus.tetra.blocks.DisplayCache;
 import se.mickelus.tetra.items.modular.impl.ModularBladedItem;
 import se.mickelus.tetra.items.modular.impl.crossbow.ModularCrossbowItem;
 import se.mickelus.tetra.items.modular.impl.shield.ModularShieldItem;
 
 import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.Map;
 
 @ParametersAreNonnullByDefault
 @OnlyIn(Dist.CLIENT)
 public class RackTESR implements BlockEntityRenderer<RackTile> {
 
     private final ItemRenderer itemRenderer;
+    private final Map<BlockEntity, DisplayCache> displayCaches = DisplayCache.createMap();
 
     public RackTESR(BlockEntityRendererProvider.Context context) {
         itemRenderer = Minecraft.getInstance().getItemRenderer();
@@ -37,17 +41,21 @@ public class RackTESR implements BlockEntityRenderer<RackTile> {
         tile.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY).ifPresent(handler -> {
             Direction direction = tile.getBlockState().getValue(RackBlock.facingProp);
             Direction itemDirection = direction.getCounterClockWise();
+            DisplayCache cache = DisplayCache.get(displayCaches, tile, handler.getSlots());
+            boolean detailed = DisplayCache.isDetailed(tile.getBlockPos());
 
             matrixStack.pushPose();
             matrixStack.translate(0.5 - direction.getStepX() * 0.36, 0.7, 0.5 - direction.getStepZ() * 0.36);
             matrixStack.scale(0.5f, 0.5f, 0.5f);
+            int renderId = (int) tile.getBlockPos().asLong();
             for (int i = 0; i < handler.getSlots(); i++) {
                 ItemStack itemStack = handler.getStackInSlot(i);
                 if (!itemStack.isEmpty()) {
                     matrixStack.pushPose();
                     matrixStack.translate(itemDirection.getStepX() * (i - 0.5), 0, itemDirection.getStepZ() * (i - 0.5));
                     matrixStack.mulPose(direction.getRotation());
-                    renderItemStack(tile, itemStack, matrixStack, buffer, combinedLight, combinedOverlay);
+                    renderItemStack(tile, cache.get(i, itemStack, tile.getDisplayRevision(), tile.getLevel(), renderId), detailed,
+                            matrixStack, buffer, combinedLight, combinedOverlay);
                     matrixStack.popPose();
                 }
             }
@@ -55,12 +63,11 @@ public class RackTESR implements BlockEntityRenderer<RackTile> {
         });
     }
 
-    private void renderItemStack(RackTile tile, ItemStack itemStack, PoseStack matrixStack, MultiBufferSource buffer,
+    private void renderItemStack(RackTile tile, DisplayCache.Entry entry, boolean detailed, PoseStack matrixStack, MultiBufferSource buffer,
             int combinedLight, int combinedOverlay) {
-        if (itemStack != null && !itemStack.isEmpty()) {
-            int renderId = (int) tile.getBlockPos().asLong();
-
-            BakedModel model = itemRenderer.getModel(itemStack, tile.getLevel(), null, combinedLight);
+        ItemStack itemStack = entry.getItemStack();
+        if (!itemStack.isEmpty()) {
+            BakedModel model = entry.getModel(detailed);
 
             matrixStack.mulPose(Vector3f.XP.rotationDegrees(-90.0F));
             matrixStack.mulPose(Vector3f.YP.rotationDegrees(180.0F));
@@ -80,9 +87,12 @@ public class RackTESR implements BlockEntityRenderer<RackTile> {
                 matrixStack.mulPose(Vector3f.ZP.rotationDegrees(-45.0F));
             }
 
-            Minecraft.getInstance().getItemRenderer().renderStatic(itemStack, ItemTransforms.TransformType.FIXED, combinedLight, combinedOverlay,
-                    matrixStack, buffer, renderId);
-
+            itemRenderer.render(itemStack, ItemTransforms.TransformType.FIXED, false, matrixStack, buffer, combinedLight, combinedOverlay, model);
         }
     }
+
+    @Override
+    public int getViewDistance() {
+        return DisplayCache.getRenderDistance();
+    }
 }
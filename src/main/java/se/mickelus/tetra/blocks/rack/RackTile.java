@@ -33,15 +33,23 @@ public class RackTile extends BlockEntity {
     public static BlockEntityType<RackTile> type;
     private final LazyOptional<ItemStackHandler> handler = LazyOptional.of(() -> new ItemStackHandler(inventorySize) {
         protected void onContentsChanged(int slot) {
+            displayRevision++;
             setChanged();
             level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), 3);
         }
     });
 
+    // bumped whenever the inventory changes, allows renderers to cache what's displayed
+    private int displayRevision = 0;
+
     public RackTile(BlockPos p_155268_, BlockState p_155269_) {
         super(type, p_155268_, p_155269_);
     }
 
+    public int getDisplayRevision() {
+        return displayRevision;
+    }
+
     @Nonnull
     @Override
     public <T> LazyOptional<T> getCapability(@Nonnull net.minecraftforge.common.capabilities.Capability<T> cap, @Nullable Direction side) {
@@ -96,6 +104,7 @@ public class RackTile extends BlockEntity {
         super.load(compound);
 
         handler.ifPresent(handler -> handler.deserializeNBT(compound.getCompound(inventoryKey)));
+        displayRevision++;
     }
 
     @Override
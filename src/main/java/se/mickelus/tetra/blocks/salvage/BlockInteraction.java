@@ -104,9 +104,8 @@ public class BlockInteraction {
                 rayTrace.getLocation().z - pos.getZ());
 
         BlockInteraction possibleInteraction = CastOptional.cast(blockState.getBlock(), IInteractiveBlock.class)
-                .map(block -> block.getPotentialInteractions(world, pos, blockState, rayTrace.getDirection(), availableTools))
+                .map(block -> block.getInteractionsAt(world, pos, blockState, rayTrace.getDirection(), hitU, hitV, availableTools))
                 .map(Arrays::stream).orElseGet(Stream::empty)
-                .filter(interaction -> interaction.isWithinBounds(hitU, hitV))
                 .filter(interaction -> PropertyHelper.getItemToolLevel(heldStack, interaction.requiredTool) >= interaction.requiredLevel)
                 .findFirst()
                 .orElse(null);
@@ -173,10 +172,10 @@ public class BlockInteraction {
         double hitV = getHitV(hitFace, boundingBox, hitX, hitY, hitZ);
 
         return CastOptional.cast(blockState.getBlock(), IInteractiveBlock.class)
-                .map(block -> block.getPotentialInteractions(player.level, pos, blockState, hitFace, PropertyHelper.getPlayerTools(player)))
-                .map(Arrays::stream).orElseGet(Stream::empty)
-                .filter(interaction -> interaction.isWithinBounds(hitU * 16, hitV * 16))
-                .findFirst()
+                .map(block -> block.getInteractionsAt(player.level, pos, blockState, hitFace, hitU * 16, hitV * 16,
+                        PropertyHelper.getPlayerTools(player)))
+                .filter(interactions -> interactions.length > 0)
+                .map(interactions -> interactions[0])
                 .orElse(null);
     }
 
@@ -281,6 +280,14 @@ public class BlockInteraction {
         return predicate.test(blockState);
     }
 
+    /**
+     * @return true if the applicability of this interaction only depends on the block state, allowing it to be compiled into an
+     * {@link InteractionTable}. Interactions that depend on anything else are checked using applicableForBlock when looked up.
+     */
+    public boolean isStateOnly() {
+        return predicate != null;
+    }
+
     public boolean isWithinBounds(double x, double y) {
         return minX <= x && x <= maxX && minY <= y && y <= maxY;
     }
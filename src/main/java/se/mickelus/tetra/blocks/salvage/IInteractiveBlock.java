@@ -6,8 +6,20 @@ import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraftforge.common.ToolAction;
 
+import java.util.Arrays;
 import java.util.Collection;
 
 public interface IInteractiveBlock {
     BlockInteraction[] getPotentialInteractions(Level world, BlockPos pos, BlockState blockState, Direction face, Collection<ToolAction> tools);
+
+    /**
+     * Potential interactions that are within bounds at the given point of the hit face, coordinates are in the 0-16 range used by
+     * interaction bounds
+     */
+    default BlockInteraction[] getInteractionsAt(Level world, BlockPos pos, BlockState blockState, Direction face, double hitU, double hitV,
+            Collection<ToolAction> tools) {
+        return Arrays.stream(getPotentialInteractions(world, pos, blockState, face, tools))
+                .filter(interaction -> interaction.isWithinBounds(hitU, hitV))
+                .toArray(BlockInteraction[]::new);
+    }
 }
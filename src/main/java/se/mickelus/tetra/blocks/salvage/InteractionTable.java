@@ -0,0 +1,167 @@
+package se.mickelus.tetra.blocks.salvage;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.common.ToolAction;
+import se.mickelus.mutil.util.RotationHelper;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Interactions of a block compiled per block state and hit face, with the interactions on each face bucketed by where they are on the face.
+ * Looking up the interactions for a hit then only has to check the few interactions in the hit bucket, rather than matching the rotation,
+ * block state and bounds of every interaction of the block. Interactions that depend on more than the block state (e.g. tile entity data)
+ * are kept in the table and checked when looked up.
+ */
+@ParametersAreNonnullByDefault
+public class InteractionTable {
+    private static final int bucketCount = 4;
+    private static final BlockInteraction[] noInteractions = new BlockInteraction[0];
+
+    private final BlockInteraction[] interactions;
+    private final Function<BlockState, Direction> facingGetter;
+
+    private final Map<BlockState, FaceTable[]> tables = new ConcurrentHashMap<>();
+
+    /**
+     * @param facingGetter provides the facing that interactions should be rotated by for a given block state
+     */
+    public InteractionTable(BlockInteraction[] interactions, Function<BlockState, Direction> facingGetter) {
+        this.interactions = interactions;
+        this.facingGetter = facingGetter;
+    }
+
+    /**
+     * Equivalent to filtering all interactions by {@link BlockInteraction#isPotentialInteraction}, the returned array may be shared and
+     * must not be modified
+     */
+    public BlockInteraction[] getPotentialInteractions(Level world, BlockPos pos, BlockState blockState, Direction hitFace,
+            Collection<ToolAction> tools) {
+        FaceTable table = getTable(blockState, hitFace);
+        if (table.isStatic) {
+            return table.interactions;
+        }
+
+        return filter(table.interactions, world, pos, blockState, tools, Double.NaN, Double.NaN);
+    }
+
+    /**
+     * Potential interactions that are within bounds at the given point of the hit face, coordinates are in the 0-16 range used by
+     * interaction bounds
+     */
+    public BlockInteraction[] getInteractionsAt(Level world, BlockPos pos, BlockState blockState, Direction hitFace, double hitU, double hitV,
+            Collection<ToolAction> tools) {
+        FaceTable table = getTable(blockState, hitFace);
+        BlockInteraction[] candidates = table.getBucket(hitU, hitV);
+        if (candidates.length == 0) {
+            return noInteractions;
+        }
+
+        return filter(candidates, world, pos, blockState, tools, hitU, hitV);
+    }
+
+    private BlockInteraction[] filter(BlockInteraction[] candidates, Level world, BlockPos pos, BlockState blockState,
+            Collection<ToolAction> tools, double hitU, double hitV) {
+        List<BlockInteraction> result = new ArrayList<>(candidates.length);
+        for (BlockInteraction interaction : candidates) {
+            if ((Double.isNaN(hitU) || interaction.isWithinBounds(hitU, hitV))
+                    && (interaction.isStateOnly() || interaction.applicableForBlock(world, pos, blockState))
+                    && (interaction.alwaysReveal || tools.contains(interaction.requiredTool))) {
+                result.add(interaction);
+            }
+        }
+
+        return result.toArray(noInteractions);
+    }
+
+    private FaceTable getTable(BlockState blockState, Direction hitFace) {
+        return tables.computeIfAbsent(blockState, this::compile)[hitFace.get3DDataValue()];
+    }
+
+    private FaceTable[] compile(BlockState blockState) {
+        Direction facing = facingGetter.apply(blockState);
+        FaceTable[] result = new FaceTable[Direction.values().length];
+        for (Direction hitFace : Direction.values()) {
+            BlockInteraction[] faceInteractions = Arrays.stream(interactions)
+                    .filter(interaction -> RotationHelper.rotationFromFacing(facing).rotate(interaction.face).equals(hitFace))
+                    .filter(interaction -> !interaction.isStateOnly() || interaction.predicate.test(blockState))
+                    .toArray(BlockInteraction[]::new);
+            result[hitFace.get3DDataValue()] = new FaceTable(faceInteractions);
+        }
+
+        return result;
+    }
+
+    static class FaceTable {
+        final BlockInteraction[] interactions;
+
+        // true if no interactions on this face have to be checked when looked up
+        final boolean isStatic;
+
+        float minU;
+        float minV;
+        float bucketWidth;
+        float bucketHeight;
+        BlockInteraction[][] buckets;
+
+        FaceTable(BlockInteraction[] interactions) {
+            this.interactions = interactions;
+            this.isStatic = Arrays.stream(interactions).allMatch(interaction -> interaction.isStateOnly() && interaction.alwaysReveal);
+
+            if (interactions.length > 0) {
+                minU = (float) Arrays.stream(interactions).mapToDouble(interaction -> interaction.minX).min().getAsDouble();
+                minV = (float) Arrays.stream(interactions).mapToDouble(interaction -> interaction.minY).min().getAsDouble();
+                float maxU = (float) Arrays.stream(interactions).mapToDouble(interaction -> interaction.maxX).max().getAsDouble();
+                float maxV = (float) Arrays.stream(interactions).mapToDouble(interaction -> interaction.maxY).max().getAsDouble();
+
+                bucketWidth = Math.max(maxU - minU, 1) / bucketCount;
+                bucketHeight = Math.max(maxV - minV, 1) / bucketCount;
+
+                buckets = new BlockInteraction[bucketCount * bucketCount][];
+                for (int u = 0; u < bucketCount; u++) {
+                    for (int v = 0; v < bucketCount; v++) {
+                        float bucketMinU = minU + u * bucketWidth;
+                        float bucketMinV = minV + v * bucketHeight;
+                        buckets[u * bucketCount + v] = Arrays.stream(interactions)
+                                .filter(interaction -> interaction.minX <= bucketMinU + bucketWidth && bucketMinU <= interaction.maxX
+                                        && interaction.minY <= bucketMinV + bucketHeight && bucketMinV <= interaction.maxY)
+                                .toArray(BlockInteraction[]::new);
+                    }
+                }
+            }
+        }
+
+        BlockInteraction[] getBucket(double hitU, double hitV) {
+            if (buckets == null) {
+                return noInteractions;
+            }
+
+            int u = getIndex(hitU, minU, bucketWidth);
+            int v = getIndex(hitV, minV, bucketHeight);
+            if (u < 0 || v < 0) {
+                return noInteractions;
+            }
+
+            return buckets[u * bucketCount + v];
+        }
+
+        /**
+         * @return the bucket index for the given coordinate, or -1 if it's outside of all buckets
+         */
+        private static int getIndex(double coordinate, float min, float bucketSize) {
+            int index = (int) Math.floor((coordinate - min) / bucketSize);
+
+            // coordinates on the max edge are within bounds of interactions in the last bucket
+            if (index == bucketCount && coordinate <= min + bucketSize * bucketCount) {
+                return bucketCount - 1;
+            }
+
+            return index >= 0 && index < bucketCount ? index : -1;
+        }
+    }
+}
@@ -23,6 +23,7 @@ public class InteractiveBlockOverlay {
     private BlockPos previousPos;
     private Direction previousFace;
     private BlockState previousState;
+    private int previousInventoryVersion;
 
     public InteractiveBlockOverlay() {
         gui = new InteractiveBlockOverlayGui();
@@ -47,14 +48,19 @@ public class InteractiveBlockOverlay {
 
             BlockState blockState = world.getBlockState(blockPos);
 
+            // revealed interactions depend on the tools in the player inventory
+            int inventoryVersion = mc.player.getInventory().getTimesChanged();
+
             if (!shape.isEmpty()) {
-                if (isDirty || !blockState.equals(previousState) || !blockPos.equals(previousPos) || !face.equals(previousFace)) {
+                if (isDirty || !blockState.equals(previousState) || !blockPos.equals(previousPos) || !face.equals(previousFace)
+                        || inventoryVersion != previousInventoryVersion) {
                     gui.update(world, blockPos, blockState, face, Minecraft.getInstance().player,
                             blockPos.equals(previousPos) && face.equals(previousFace));
 
                     previousPos = blockPos;
                     previousFace = face;
                     previousState = blockState;
+                    previousInventoryVersion = inventoryVersion;
 
                     isDirty = false;
                 }
@@ -1,5 +1,7 @@
 package se.mickelus.tetra.blocks.scroll;
 
+import net.minecraft.client.renderer.ItemBlockRenderTypes;
+import net.minecraft.client.renderer.RenderType;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
@@ -122,7 +124,12 @@ public class ScrollBlock extends TetraBlock implements EntityBlock, ISchematicPr
 
     @Override
     public RenderShape getRenderShape(BlockState state) {
-        return RenderShape.ENTITYBLOCK_ANIMATED;
+        return RenderShape.MODEL;
+    }
+
+    @Override
+    public void clientInit() {
+        ItemBlockRenderTypes.setRenderLayer(this, RenderType.cutout());
     }
 
     @Override
@@ -0,0 +1,206 @@
+package se.mickelus.tetra.blocks.scroll;
+
+import com.mojang.blaze3d.vertex.PoseStack;
+import com.mojang.blaze3d.vertex.VertexConsumer;
+import com.mojang.math.Vector3f;
+import net.minecraft.client.model.geom.ModelPart;
+import net.minecraft.core.Direction;
+import net.minecraft.util.FastColor;
+import net.minecraft.util.Mth;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Scroll geometry shared by the baked scroll model and the block entity renderer, the renderer only draws the geometry as a fallback for
+ * when the baked model is not in use.
+ */
+@ParametersAreNonnullByDefault
+public class ScrollGeometry {
+    static final int availableGlyphs = 16;
+    static final int availableMaterials = 3;
+
+    private final ModelPart[] rolledModel;
+    private final ModelPart ribbonModel;
+    private final ModelPart[] wallModel;
+    private final QuadRenderer[][] wallGlyphs;
+    private final ModelPart[] openModel;
+    private final QuadRenderer[][] openGlyphs;
+
+    public ScrollGeometry(ModelPart model) {
+        rolledModel = new ModelPart[availableMaterials];
+        wallModel = new ModelPart[availableMaterials];
+        openModel = new ModelPart[availableMaterials];
+        for (int i = 0; i < availableMaterials; i++) {
+            rolledModel[i] = model.getChild("rolled" + i);
+            wallModel[i] = model.getChild("wall" + i);
+            openModel[i] = model.getChild("open" + i);
+        }
+
+        ribbonModel = model.getChild("ribbon");
+
+        wallGlyphs = new QuadRenderer[2][];
+        for (int i = 0; i < wallGlyphs.length; i++) {
+            wallGlyphs[i] = new QuadRenderer[availableGlyphs];
+        }
+        for (int i = 0; i < availableGlyphs; i++) {
+            wallGlyphs[0][i] = new QuadRenderer(8, 1, 0.075f, 7, 13, i * 7, 51, 128, 64, true, Direction.SOUTH);
+            wallGlyphs[1][i] = new QuadRenderer(1, 1, 0.075f, 7, 13, i * 7, 51, 128, 64, false, Direction.SOUTH);
+        }
+
+        openGlyphs = new QuadRenderer[4][];
+        for (int i = 0; i < openGlyphs.length; i++) {
+            openGlyphs[i] = new QuadRenderer[availableGlyphs];
+        }
+        for (int i = 0; i < availableGlyphs; i++) {
+            openGlyphs[0][i] = new QuadRenderer(1, 0.075f, 2, 7, 6, i * 7, 58, 128, 64, true, Direction.UP);
+            openGlyphs[1][i] = new QuadRenderer(8, 0.075f, 2, 7, 6, i * 7, 58, 128, 64, false, Direction.UP);
+            openGlyphs[2][i] = new QuadRenderer(1, 0.075f, 2, 7, 6, i * 7, 58, 128, 64, true, Direction.UP);
+            openGlyphs[3][i] = new QuadRenderer(8, 0.075f, 2, 7, 6, i * 7, 58, 128, 64, false, Direction.UP);
+        }
+    }
+
+    /**
+     * Builds a key that is equal for all scroll stacks that would produce the same geometry
+     */
+    public static String getKey(ScrollData[] scrolls, ScrollBlock.Arrangement arrangement, Direction direction) {
+        StringBuilder builder = new StringBuilder()
+                .append(arrangement.ordinal())
+                .append(':')
+                .append(direction.get2DDataValue());
+
+        if (arrangement == ScrollBlock.Arrangement.rolled) {
+            for (int i = 0; i < scrolls.length; i++) {
+                builder.append(':').append(getMaterial(scrolls, i)).append('/').append(scrolls[i].ribbon);
+            }
+        } else {
+            builder.append(':').append(getMaterial(scrolls, 0));
+            int glyphCount = arrangement == ScrollBlock.Arrangement.wall ? 2 : 4;
+            for (int i = 0; i < glyphCount; i++) {
+                builder.append('/').append(getGlyph(scrolls, i));
+            }
+        }
+
+        return builder.toString();
+    }
+
+    private static int getGlyphColor(int material) {
+        switch (material) {
+            case 2:
+                return 0xbfa12a;
+            case 1:
+                return 0x8f9bcc;
+            default:
+            case 0:
+                return 0x665f47;
+        }
+    }
+
+    private static int getGlyph(ScrollData[] data, int index) {
+        if (data.length > 0) {
+            if (data[0].glyphs.size() > index) {
+                return Mth.clamp(data[0].glyphs.get(index), 0, availableGlyphs - 1);
+            }
+            if (data[0].glyphs.size() > 0) {
+                return Mth.clamp(data[0].glyphs.get(0), 0, availableGlyphs - 1);
+            }
+        }
+        return 0;
+    }
+
+    private static int getMaterial(ScrollData[] data, int index) {
+        if (data.length > index) {
+            return Mth.clamp(data[index].material, 0, availableMaterials - 1);
+        }
+        return 0;
+    }
+
+    public void render(ScrollData[] scrolls, ScrollBlock.Arrangement arrangement, Direction direction, PoseStack matrixStack,
+            VertexConsumer vertexBuilder, int combinedLight, int combinedOverlay) {
+        matrixStack.pushPose();
+        matrixStack.translate(0.5, 0, 0.5);
+        matrixStack.mulPose(direction.getRotation());
+        matrixStack.mulPose(Vector3f.XN.rotationDegrees(90));
+        matrixStack.translate(-0.5, 0, -0.5);
+
+        switch (arrangement) {
+            case rolled:
+                renderRolled(scrolls, matrixStack, combinedLight, combinedOverlay, vertexBuilder);
+                break;
+            case wall:
+                renderWall(scrolls, matrixStack, combinedLight, combinedOverlay, vertexBuilder);
+                break;
+            case open:
+                renderOpen(scrolls, matrixStack, combinedLight, combinedOverlay, vertexBuilder);
+                break;
+        }
+
+        matrixStack.popPose();
+    }
+
+    private void renderRolled(ScrollData[] scrolls, PoseStack matrixStack, int combinedLight, int combinedOverlay, VertexConsumer vertexBuilder) {
+        matrixStack.translate(0.5, 0, 0.5);
+        matrixStack.mulPose(Vector3f.YN.rotationDegrees(90));
+        matrixStack.translate(-0.5, 0, -0.5);
+        int offset = Math.min(scrolls.length, 3) - 1;
+        if (offset > 0) {
+            matrixStack.translate(0, 0, offset * -0.125); // 2px
+        }
+
+        for (int i = 0; i < scrolls.length; i++) {
+            int mat = getMaterial(scrolls, i);
+            float red = FastColor.ARGB32.red(scrolls[i].ribbon) / 255f;
+            float green = FastColor.ARGB32.green(scrolls[i].ribbon) / 255f;
+            float blue = FastColor.ARGB32.blue(scrolls[i].ribbon) / 255f;
+
+            rolledModel[mat].render(matrixStack, vertexBuilder, combinedLight, combinedOverlay);
+            ribbonModel.render(matrixStack, vertexBuilder, combinedLight, combinedOverlay, red, green, blue, 1);
+
+            matrixStack.translate(0, 0, 0.25f); // 4px
+
+            if (i == 2) {
+                matrixStack.translate(0, 0.1875, -0.625); // 10px
+            } else if (i == 4) {
+                matrixStack.translate(0, 0.1875, -0.375); // 6px
+            }
+        }
+    }
+
+    private void renderWall(ScrollData[] scrolls, PoseStack matrixStack, int combinedLight, int combinedOverlay, VertexConsumer vertexBuilder) {
+        int mat = getMaterial(scrolls, 0);
+        int color = getGlyphColor(mat);
+        float red = FastColor.ARGB32.red(color) / 255f;
+        float green = FastColor.ARGB32.green(color) / 255f;
+        float blue = FastColor.ARGB32.blue(color) / 255f;
+
+        wallModel[mat].render(matrixStack, vertexBuilder, combinedLight, combinedOverlay);
+        for (int i = 0; i < wallGlyphs.length; i++) {
+            int glyph = getGlyph(scrolls, i);
+            wallGlyphs[i][glyph].render(matrixStack, vertexBuilder, combinedLight, combinedOverlay, red, green, blue, 1);
+        }
+    }
+
+    private void renderOpen(ScrollData[] scrolls, PoseStack matrixStack, int combinedLight, int combinedOverlay, VertexConsumer vertexBuilder) {
+        int mat = getMaterial(scrolls, 0);
+        int color = getGlyphColor(mat);
+        float red = FastColor.ARGB32.red(color) / 255f;
+        float green = FastColor.ARGB32.green(color) / 255f;
+        float blue = FastColor.ARGB32.blue(color) / 255f;
+
+        matrixStack.translate(0.5, 0, 0.5);
+        matrixStack.mulPose(Vector3f.YN.rotationDegrees(90));
+        matrixStack.translate(-0.5, 0, -0.5);
+
+        openModel[mat].render(matrixStack, vertexBuilder, combinedLight, combinedOverlay);
+
+        for (int i = 0; i < openGlyphs.length; i++) {
+            if (i == 2) {
+                matrixStack.translate(0.5, 0, 0.5);
+                matrixStack.mulPose(Vector3f.YN.rotationDegrees(180));
+                matrixStack.translate(-0.5, 0, -0.5);
+            }
+
+            int glyph = getGlyph(scrolls, i);
+            openGlyphs[i][glyph].render(matrixStack, vertexBuilder, combinedLight, combinedOverlay, red, green, blue, 1);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package se.mickelus.tetra.blocks.scroll;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.mojang.blaze3d.vertex.PoseStack;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.block.BlockModelShaper;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.renderer.texture.OverlayTexture;
+import net.minecraft.client.resources.model.BakedModel;
+import net.minecraft.core.Direction;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.client.event.ModelBakeEvent;
+import net.minecraftforge.client.model.BakedModelWrapper;
+import net.minecraftforge.client.model.data.IModelData;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import se.mickelus.tetra.blocks.rack.RackBlock;
+import se.mickelus.tetra.client.model.BakedQuadCollector;
+import se.mickelus.tetra.profiling.TetraProfiler;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Bakes scroll geometry into the chunk mesh based on the scrolls held by the scroll tile, the mesh is only rebuilt as the tile changes
+ * rather than the scrolls being drawn every frame. Quads are cached by appearance so that identical scrolls share the same quads.
+ */
+@ParametersAreNonnullByDefault
+public class ScrollModel extends BakedModelWrapper<BakedModel> {
+    private static final Logger logger = LogManager.getLogger();
+
+    private final Cache<String, List<BakedQuad>> quadCache = CacheBuilder.newBuilder()
+            .maximumSize(1000)
+            .recordStats()
+            .build();
+
+    private volatile ScrollGeometry geometry;
+
+    public ScrollModel(BakedModel originalModel) {
+        super(originalModel);
+
+        TetraProfiler.registerCache("scroll_models", quadCache);
+    }
+
+    public static void replaceModels(ModelBakeEvent event) {
+        Map<ResourceLocation, BakedModel> models = event.getModelRegistry();
+        for (Block block : new Block[]{RolledScrollBlock.instance, WallScrollBlock.instance, OpenScrollBlock.instance}) {
+            for (BlockState state : block.getStateDefinition().getPossibleStates()) {
+                ResourceLocation location = BlockModelShaper.stateToModelLocation(state);
+                BakedModel original = models.get(location);
+                if (original != null) {
+                    models.put(location, new ScrollModel(original));
+                }
+            }
+        }
+    }
+
+    public static boolean isBaked(BlockState state) {
+        return Minecraft.getInstance().getBlockRenderer().getBlockModel(state) instanceof ScrollModel;
+    }
+
+    private ScrollGeometry getGeometry() {
+        if (geometry == null) {
+            geometry = new ScrollGeometry(Minecraft.getInstance().getEntityModels().bakeLayer(ScrollRenderer.layer));
+        }
+
+        return geometry;
+    }
+
+    @Nonnull
+    @Override
+    public List<BakedQuad> getQuads(@Nullable BlockState state, @Nullable Direction side, Random rand, IModelData extraData) {
+        ScrollData[] scrolls = extraData.getData(ScrollTile.scrollsProperty);
+        if (side != null || state == null || scrolls == null || scrolls.length == 0) {
+            return Collections.emptyList();
+        }
+
+        ScrollBlock.Arrangement arrangement = ((ScrollBlock) state.getBlock()).getArrangement();
+        Direction direction = state.getValue(RackBlock.facingProp);
+
+        try {
+            return quadCache.get(ScrollGeometry.getKey(scrolls, arrangement, direction), () -> bakeQuads(scrolls, arrangement, direction));
+        } catch (ExecutionException e) {
+            logger.warn("Failed to bake scroll model", e);
+            return Collections.emptyList();
+        }
+    }
+
+    @Nonnull
+    @Override
+    public List<BakedQuad> getQuads(@Nullable BlockState state, @Nullable Direction side, Random rand) {
+        return Collections.emptyList();
+    }
+
+    private List<BakedQuad> bakeQuads(ScrollData[] scrolls, ScrollBlock.Arrangement arrangement, Direction direction) {
+        BakedQuadCollector collector = new BakedQuadCollector(ScrollRenderer.material.sprite());
+        getGeometry().render(scrolls, arrangement, direction, new PoseStack(), collector, 0, OverlayTexture.NO_OVERLAY);
+        return collector.getQuads();
+    }
+
+    @Override
+    public boolean useAmbientOcclusion() {
+        return false;
+    }
+}
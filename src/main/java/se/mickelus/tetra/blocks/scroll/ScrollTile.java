@@ -2,14 +2,19 @@ package se.mickelus.tetra.blocks.scroll;
 
 import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.Connection;
 import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.shapes.Shapes;
+import net.minecraftforge.client.model.data.IModelData;
+import net.minecraftforge.client.model.data.ModelDataMap;
+import net.minecraftforge.client.model.data.ModelProperty;
 import net.minecraftforge.registries.ObjectHolder;
 import org.apache.commons.lang3.ArrayUtils;
 import se.mickelus.tetra.TetraMod;
@@ -25,6 +30,8 @@ public class ScrollTile extends BlockEntity {
     @ObjectHolder(TetraMod.MOD_ID + ":" + identifier)
     public static BlockEntityType<ScrollTile> type;
 
+    public static final ModelProperty<ScrollData[]> scrollsProperty = new ModelProperty<>();
+
     private ScrollData[] scrolls = new ScrollData[0];
 
     public ScrollTile(BlockPos p_155268_, BlockState p_155269_) {
@@ -39,6 +46,7 @@ public class ScrollTile extends BlockEntity {
         if (scrolls.length < 6) {
             scrolls = ArrayUtils.add(scrolls, ScrollData.read(itemStack));
             setChanged();
+            onScrollsChanged();
             return true;
         }
         return false;
@@ -74,6 +82,30 @@ public class ScrollTile extends BlockEntity {
                 .toArray(CompoundTag[]::new);
     }
 
+    /**
+     * Scrolls are baked into the chunk mesh, so the client has to refresh the model data and rebuild the mesh when they change. The server
+     * syncs the change to other clients.
+     */
+    private void onScrollsChanged() {
+        if (level == null) {
+            return;
+        }
+
+        if (level.isClientSide) {
+            requestModelDataUpdate();
+            level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), Block.UPDATE_IMMEDIATE);
+        } else {
+            level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), Block.UPDATE_CLIENTS);
+        }
+    }
+
+    @Override
+    public IModelData getModelData() {
+        return new ModelDataMap.Builder()
+                .withInitial(scrollsProperty, scrolls)
+                .build();
+    }
+
     @Override
     public AABB getRenderBoundingBox() {
         return Shapes.block().bounds().move(worldPosition);
@@ -90,6 +122,13 @@ public class ScrollTile extends BlockEntity {
         return saveWithoutMetadata();
     }
 
+    @Override
+    public void onDataPacket(Connection net, ClientboundBlockEntityDataPacket packet) {
+        super.onDataPacket(net, packet);
+
+        onScrollsChanged();
+    }
+
     @Override
     public void load(CompoundTag compound) {
         super.load(compound);
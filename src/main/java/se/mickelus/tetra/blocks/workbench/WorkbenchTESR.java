@@ -3,7 +3,6 @@ package se.mickelus.tetra.blocks.workbench;
 import com.mojang.blaze3d.vertex.PoseStack;
 import com.mojang.math.Vector3f;
 import net.minecraft.client.Minecraft;
-import net.minecraft.client.renderer.LevelRenderer;
 import net.minecraft.client.renderer.MultiBufferSource;
 import net.minecraft.client.renderer.block.model.ItemTransforms;
 import net.minecraft.client.renderer.blockentity.BlockEntityRenderer;
@@ -11,17 +10,21 @@ import net.minecraft.client.renderer.blockentity.BlockEntityRendererProvider;
 import net.minecraft.client.renderer.entity.ItemRenderer;
 import net.minecraft.client.resources.model.BakedModel;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
+import se.mickelus.tetra.blocks.DisplayCache;
 import se.mickelus.tetra.items.modular.impl.shield.ModularShieldItem;
 
 import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.Map;
 
 @ParametersAreNonnullByDefault
 @OnlyIn(Dist.CLIENT)
 public class WorkbenchTESR implements BlockEntityRenderer<WorkbenchTile> {
 
     private final ItemRenderer itemRenderer;
+    private final Map<BlockEntity, DisplayCache> displayCaches = DisplayCache.createMap();
 
     public WorkbenchTESR(BlockEntityRendererProvider.Context context) {
         itemRenderer = Minecraft.getInstance().getItemRenderer();
@@ -29,13 +32,21 @@ public class WorkbenchTESR implements BlockEntityRenderer<WorkbenchTile> {
 
     @Override
     public void render(WorkbenchTile workbenchTile, float partialTicks, PoseStack matrixStack, MultiBufferSource buffer, int combinedLight, int combinedOverlay) {
-        ItemStack itemStack = workbenchTile.getTargetItemStack();
-        if (itemStack != null && !itemStack.isEmpty()) {
-            matrixStack.pushPose();
-
+        ItemStack placedStack = workbenchTile.getPlacedItemStack();
+        if (!placedStack.isEmpty()) {
             int renderId = (int) workbenchTile.getBlockPos().asLong();
 
-            BakedModel model = itemRenderer.getModel(itemStack, workbenchTile.getLevel(), null, renderId);
+            DisplayCache cache = DisplayCache.get(displayCaches, workbenchTile, 1);
+            DisplayCache.Entry entry = cache.get(0, placedStack, workbenchTile.getDisplayRevision(), stack -> workbenchTile.getTargetItemStack(),
+                    workbenchTile.getLevel(), renderId);
+            ItemStack itemStack = entry.getItemStack();
+            if (itemStack.isEmpty()) {
+                return;
+            }
+
+            matrixStack.pushPose();
+
+            BakedModel model = entry.getModel(DisplayCache.isDetailed(workbenchTile.getBlockPos()));
             if (itemStack.getItem() instanceof ModularShieldItem) {
                 matrixStack.translate(0.375, 0.9125, 0.5);
                 matrixStack.mulPose(Vector3f.XP.rotationDegrees(90.0F));
@@ -49,11 +60,15 @@ public class WorkbenchTESR implements BlockEntityRenderer<WorkbenchTile> {
                 matrixStack.scale(0.5f, 0.5f, 0.5f);
             }
 
-            Minecraft.getInstance().getItemRenderer().renderStatic(itemStack, ItemTransforms.TransformType.FIXED,
-                    LevelRenderer.getLightColor(workbenchTile.getLevel(), workbenchTile.getBlockPos().above()),
-                    combinedOverlay, matrixStack, buffer, renderId);
+            itemRenderer.render(itemStack, ItemTransforms.TransformType.FIXED, false, matrixStack, buffer,
+                    cache.getLight(workbenchTile.getLevel(), workbenchTile.getBlockPos().above()), combinedOverlay, model);
 
             matrixStack.popPose();
         }
     }
+
+    @Override
+    public int getViewDistance() {
+        return DisplayCache.getRenderDistance();
+    }
 }
@@ -20,6 +20,7 @@ import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.AABB;
 import net.minecraftforge.common.ToolAction;
 import net.minecraftforge.common.util.LazyOptional;
 import net.minecraftforge.items.CapabilityItemHandler;
@@ -29,6 +30,7 @@ import org.apache.commons.lang3.ArrayUtils;
 import org.jetbrains.annotations.NotNull;
 import se.mickelus.mutil.network.PacketHandler;
 import se.mickelus.mutil.util.CastOptional;
+import se.mickelus.tetra.ClientScheduler;
 import se.mickelus.tetra.ConfigHandler;
 import se.mickelus.tetra.TetraMod;
 import se.mickelus.tetra.aspect.TetraEnchantmentHelper;
@@ -50,9 +52,8 @@ import se.mickelus.tetra.properties.PropertyHelper;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
+import java.util.function.Consumer;
 
 @ParametersAreNonnullByDefault
 public class WorkbenchTile extends BlockEntity implements MenuProvider {
@@ -61,6 +62,7 @@ public class WorkbenchTile extends BlockEntity implements MenuProvider {
     private static final String inventoryKey = "inv";
     private static final String currentSlotKey = "current_slot";
     private static final String schematicKey = "schematic";
+    private static final String targetKey = "target";
     private static final WorkbenchAction[] defaultActions = new WorkbenchAction[]{new RepairAction()};
     @ObjectHolder(TetraMod.MOD_ID + ":" + identifier)
     public static MenuType<WorkbenchContainer> containerType;
@@ -79,11 +81,15 @@ public class WorkbenchTile extends BlockEntity implements MenuProvider {
 
     private final LazyOptional<ItemStackHandler> handler;
     private final ItemStack previousTarget = ItemStack.EMPTY;
-    private final Map<String, Runnable> changeListeners;
+    private final Map<String, Consumer<Set<Change>>> changeListeners;
+    private final Set<Change> pendingChanges = EnumSet.noneOf(Change.class);
     private UpgradeSchematic currentSchematic;
     private String currentSlot;
     private ActionInteraction interaction;
 
+    // bumped whenever the workbench changes, allows renderers to cache what's displayed
+    private int displayRevision = 0;
+
     public WorkbenchTile(BlockPos p_155268_, BlockState p_155269_) {
         super(type, p_155268_, p_155269_);
         changeListeners = new HashMap<>();
@@ -159,12 +165,15 @@ public class WorkbenchTile extends BlockEntity implements MenuProvider {
                     currentSlot = null;
 
                     emptyMaterialSlots();
+                    notifyChange(Change.schematic, Change.slot, Change.materials);
                 }
 
                 if (slot == 0) {
                     interaction = ActionInteraction.create(WorkbenchTile.this);
                 }
 
+                notifyChange(slot == 0 ? Change.target : Change.materials);
+
                 setChanged();
                 level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), 3);
             }
@@ -287,7 +296,7 @@ public class WorkbenchTile extends BlockEntity implements MenuProvider {
         this.currentSchematic = schematic;
         this.currentSlot = currentSlot;
 
-        changeListeners.values().forEach(Runnable::run);
+        notifyChange(Change.schematic, Change.slot);
         sync();
     }
 
@@ -327,6 +336,17 @@ public class WorkbenchTile extends BlockEntity implements MenuProvider {
         }
     }
 
+    /**
+     * @return the stack placed in the workbench, unlike {@link #getTargetItemStack()} this does not resolve replacements
+     */
+    public ItemStack getPlacedItemStack() {
+        return handler.map(handler -> handler.getStackInSlot(0)).orElse(ItemStack.EMPTY);
+    }
+
+    public int getDisplayRevision() {
+        return displayRevision;
+    }
+
     public ItemStack getTargetItemStack() {
         return handler.map(handler -> {
                     ItemStack stack = handler.getStackInSlot(0);
@@ -468,8 +488,12 @@ public class WorkbenchTile extends BlockEntity implements MenuProvider {
         });
     }
 
-    public void addChangeListener(String key, Runnable runnable) {
-        changeListeners.put(key, runnable);
+    /**
+     * Listeners are called on the client at the end of the client tick following a change, with the set of all changes that occurred
+     * since listeners were last called
+     */
+    public void addChangeListener(String key, Consumer<Set<Change>> listener) {
+        changeListeners.put(key, listener);
     }
 
     public void removeChangeListener(String key) {
@@ -480,34 +504,77 @@ public class WorkbenchTile extends BlockEntity implements MenuProvider {
     public void setChanged() {
         super.setChanged();
 
+        displayRevision++;
+    }
+
+    /**
+     * Changes are collected and passed to listeners once per tick, a single change to the workbench often cause several inventory updates
+     */
+    private void notifyChange(Change... changes) {
         if (level != null && level.isClientSide) {
-            // TODO: this is called several times everytime a change occurs
+            if (pendingChanges.isEmpty()) {
+                ClientScheduler.schedule(0, this::dispatchChanges);
+            }
 
-            changeListeners.values().forEach(Runnable::run);
+            pendingChanges.addAll(Arrays.asList(changes));
         }
     }
 
+    private void dispatchChanges() {
+        Set<Change> changes = Collections.unmodifiableSet(EnumSet.copyOf(pendingChanges));
+        pendingChanges.clear();
+
+        changeListeners.values().forEach(listener -> listener.accept(changes));
+    }
+
+    @Override
+    public AABB getRenderBoundingBox() {
+        // the target item is displayed on top of the workbench
+        return new AABB(worldPosition, worldPosition.offset(1, 2, 1));
+    }
+
     @Nullable
     @Override
     public ClientboundBlockEntityDataPacket getUpdatePacket() {
         return ClientboundBlockEntityDataPacket.create(this);
     }
 
+    /**
+     * Clients are only sent what's needed to display the workbench, material slots are only needed by players using the workbench in which
+     * case they are synced by the menu
+     */
     @Override
     public CompoundTag getUpdateTag() {
-        return saveWithoutMetadata();
+        CompoundTag compound = new CompoundTag();
+        compound.put(targetKey, getPlacedItemStack().save(new CompoundTag()));
+        writeSchematicData(compound);
+        return compound;
     }
 
     @Override
-    public void onDataPacket(Connection net, ClientboundBlockEntityDataPacket pkt) {
-        load(pkt.getTag());
+    public void handleUpdateTag(CompoundTag compound) {
+        loadView(compound);
     }
 
     @Override
-    public void load(CompoundTag compound) {
-        super.load(compound);
+    public void onDataPacket(Connection net, ClientboundBlockEntityDataPacket pkt) {
+        loadView(pkt.getTag());
+    }
 
-        handler.ifPresent(handler -> handler.deserializeNBT(compound.getCompound(inventoryKey)));
+    private void loadView(CompoundTag compound) {
+        ItemStack targetStack = ItemStack.of(compound.getCompound(targetKey));
+        // material slots are cleared if the target has changed, as on the server
+        handler.ifPresent(handler -> {
+            if (!ItemStack.matches(handler.getStackInSlot(0), targetStack)) {
+                handler.setStackInSlot(0, targetStack);
+            }
+        });
+
+        loadSchematicData(compound);
+    }
+
+    private void loadSchematicData(CompoundTag compound) {
+        displayRevision++;
 
         String schematicKey = compound.getString(WorkbenchTile.schematicKey);
         currentSchematic = SchematicRegistry.getSchematic(schematicKey);
@@ -518,18 +585,10 @@ public class WorkbenchTile extends BlockEntity implements MenuProvider {
 
         interaction = ActionInteraction.create(this);
 
-        // todo : due to the null check perhaps this is not the right place to do this
-        if (level != null && level.isClientSide) {
-            changeListeners.values().forEach(Runnable::run);
-        }
+        notifyChange(Change.schematic, Change.slot);
     }
 
-    @Override
-    public void saveAdditional(CompoundTag compound) {
-        super.saveAdditional(compound);
-
-        handler.ifPresent(handler -> compound.put(inventoryKey, handler.serializeNBT()));
-
+    private void writeSchematicData(CompoundTag compound) {
         if (currentSchematic != null) {
             compound.putString(schematicKey, currentSchematic.getKey());
         }
@@ -539,6 +598,25 @@ public class WorkbenchTile extends BlockEntity implements MenuProvider {
         }
     }
 
+    @Override
+    public void load(CompoundTag compound) {
+        super.load(compound);
+
+        handler.ifPresent(handler -> handler.deserializeNBT(compound.getCompound(inventoryKey)));
+
+        loadSchematicData(compound);
+        notifyChange(Change.target, Change.materials);
+    }
+
+    @Override
+    public void saveAdditional(CompoundTag compound) {
+        super.saveAdditional(compound);
+
+        handler.ifPresent(handler -> compound.put(inventoryKey, handler.serializeNBT()));
+
+        writeSchematicData(compound);
+    }
+
     /**
      * Empties all material slots into the given players inventory.
      *
@@ -598,5 +676,10 @@ public class WorkbenchTile extends BlockEntity implements MenuProvider {
         return new WorkbenchContainer(windowId, this, playerInventory, playerEntity);
     }
 
-
+    public enum Change {
+        target,
+        materials,
+        schematic,
+        slot
+    }
 }
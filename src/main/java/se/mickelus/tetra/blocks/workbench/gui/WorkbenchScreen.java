@@ -56,6 +56,7 @@ public class WorkbenchScreen extends AbstractContainerScreen<WorkbenchContainer>
     private boolean hadItem = false;
 
     private boolean isDirty = false;
+    private final Set<WorkbenchTile.Change> pendingChanges = EnumSet.noneOf(WorkbenchTile.Change.class);
 
     public WorkbenchScreen(WorkbenchContainer container, Inventory playerInventory, Component title) {
         super(container, playerInventory, title);
@@ -105,7 +106,10 @@ public class WorkbenchScreen extends AbstractContainerScreen<WorkbenchContainer>
          * (and this by extent) twice before the content actually changes, which cause the UI to update incorrectly. Dirty marking fixes that issue
          * but might cause long delays if the client is laggy?
          */
-        tileEntity.addChangeListener("gui.workbench", () -> isDirty = true);
+        tileEntity.addChangeListener("gui.workbench", changes -> {
+            pendingChanges.addAll(changes);
+            isDirty = true;
+        });
 
         currentMaterials = new ItemStack[WorkbenchTile.inventorySlots];
         Arrays.fill(currentMaterials, ItemStack.EMPTY);
@@ -213,7 +217,7 @@ public class WorkbenchScreen extends AbstractContainerScreen<WorkbenchContainer>
         tileEntity.applyTweaks(viewingPlayer, selectedSlot, tweakMap);
     }
 
-    private void onTileEntityChange() {
+    private void onTileEntityChange(Set<WorkbenchTile.Change> changes) {
         ItemStack newTarget = tileEntity.getTargetItemStack();
         ItemStack newPreview = ItemStack.EMPTY;
         UpgradeSchematic newSchematic = tileEntity.getCurrentSchematic();
@@ -226,7 +230,7 @@ public class WorkbenchScreen extends AbstractContainerScreen<WorkbenchContainer>
         boolean targetItemChanged = !ItemStack.matches(currentTarget, newTarget);
         boolean previewChanged = !ItemStack.matches(currentPreview, newPreview);
         boolean schematicChanged = !Objects.equals(currentSchematic, newSchematic);
-        boolean materialsChanged = diffMaterials(tileEntity.getMaterials());
+        boolean materialsChanged = changes.contains(WorkbenchTile.Change.materials) && diffMaterials(tileEntity.getMaterials());
 
         currentPreview = newPreview;
         currentSchematic = newSchematic;
@@ -243,7 +247,10 @@ public class WorkbenchScreen extends AbstractContainerScreen<WorkbenchContainer>
             selectedSlot = currentSlot;
         }
 
-        container.updateSlots();
+        // available slots depend on the target & schematic
+        if (targetItemChanged || schematicChanged) {
+            container.updateSlots();
+        }
 
         if (slotChanged || targetItemChanged) {
             actionList.updateActions(currentTarget, tileEntity.getAvailableActions(viewingPlayer), viewingPlayer,
@@ -310,7 +317,8 @@ public class WorkbenchScreen extends AbstractContainerScreen<WorkbenchContainer>
 
         Level world = tileEntity.getLevel();
         if (isDirty) {
-            onTileEntityChange();
+            onTileEntityChange(pendingChanges);
+            pendingChanges.clear();
             isDirty = false;
         } else if (world != null && world.getGameTime() % 20 == 0) {
             BlockPos pos = tileEntity.getBlockPos();
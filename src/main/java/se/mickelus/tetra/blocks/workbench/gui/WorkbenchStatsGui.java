@@ -12,6 +12,7 @@ import se.mickelus.tetra.TetraToolActions;
 import se.mickelus.tetra.gui.stats.AbilityStats;
 import se.mickelus.tetra.gui.stats.GuiStats;
 import se.mickelus.tetra.gui.stats.StatsHelper;
+import se.mickelus.tetra.gui.stats.StatsSnapshot;
 import se.mickelus.tetra.gui.stats.bar.GuiStatBarTool;
 import se.mickelus.tetra.gui.stats.bar.GuiStatBase;
 import se.mickelus.tetra.items.modular.IModularItem;
@@ -119,6 +120,8 @@ public class WorkbenchStatsGui extends GuiElement {
         boolean shouldShow = !itemStack.isEmpty() && itemStack.getItem() instanceof IModularItem;
         setVisible(shouldShow);
         if (shouldShow) {
+            StatsSnapshot.update(player, itemStack, previewStack);
+
             barGroup.clearChildren();
             bars.stream()
                     .filter(bar -> bar.shouldShow(player, itemStack, previewStack, slot, improvement))
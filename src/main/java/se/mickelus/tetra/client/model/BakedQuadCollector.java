@@ -0,0 +1,146 @@
+package se.mickelus.tetra.client.model;
+
+import com.google.common.collect.ImmutableList;
+import com.mojang.blaze3d.vertex.VertexConsumer;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.core.Direction;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Vertex consumer that collects quads drawn through it as baked quads, used to bake geometry built from model parts or other
+ * immediate mode renderers into block models. Texture coordinates are expected to be relative to the given sprite.
+ */
+@ParametersAreNonnullByDefault
+public class BakedQuadCollector implements VertexConsumer {
+    // block vertex format: position (3 floats), color (4 bytes), uv (2 floats), lightmap (2 shorts), normal (3 bytes + padding)
+    private static final int vertexSize = 8;
+
+    private final TextureAtlasSprite sprite;
+    private final ImmutableList.Builder<BakedQuad> quads = ImmutableList.builder();
+
+    private int[] vertexData = new int[vertexSize * 4];
+    private int vertexIndex = 0;
+
+    private float normalX;
+    private float normalY;
+    private float normalZ;
+
+    private boolean hasDefaultColor = false;
+    private int defaultColor;
+
+    public BakedQuadCollector(TextureAtlasSprite sprite) {
+        this.sprite = sprite;
+    }
+
+    public ImmutableList<BakedQuad> getQuads() {
+        return quads.build();
+    }
+
+    private int offset() {
+        return vertexIndex * vertexSize;
+    }
+
+    @Override
+    public VertexConsumer vertex(double x, double y, double z) {
+        int offset = offset();
+        vertexData[offset] = Float.floatToRawIntBits((float) x);
+        vertexData[offset + 1] = Float.floatToRawIntBits((float) y);
+        vertexData[offset + 2] = Float.floatToRawIntBits((float) z);
+        if (hasDefaultColor) {
+            vertexData[offset + 3] = defaultColor;
+        }
+        return this;
+    }
+
+    @Override
+    public VertexConsumer color(int red, int green, int blue, int alpha) {
+        vertexData[offset() + 3] = packColor(red, green, blue, alpha);
+        return this;
+    }
+
+    @Override
+    public VertexConsumer uv(float u, float v) {
+        int offset = offset();
+        vertexData[offset + 4] = Float.floatToRawIntBits(sprite.getU(u * 16));
+        vertexData[offset + 5] = Float.floatToRawIntBits(sprite.getV(v * 16));
+        return this;
+    }
+
+    @Override
+    public VertexConsumer overlayCoords(int u, int v) {
+        // not part of the block format
+        return this;
+    }
+
+    @Override
+    public VertexConsumer uv2(int u, int v) {
+        // lighting is provided by the block renderer
+        vertexData[offset() + 6] = 0;
+        return this;
+    }
+
+    @Override
+    public VertexConsumer normal(float x, float y, float z) {
+        vertexData[offset() + 7] = ((int) (x * 127) & 0xff)
+                | ((int) (y * 127) & 0xff) << 8
+                | ((int) (z * 127) & 0xff) << 16;
+
+        normalX = x;
+        normalY = y;
+        normalZ = z;
+        return this;
+    }
+
+    @Override
+    public void endVertex() {
+        vertexIndex++;
+
+        if (vertexIndex == 4) {
+            if (!isDegenerate()) {
+                quads.add(new BakedQuad(vertexData, -1, Direction.getNearest(normalX, normalY, normalZ), sprite, true));
+            }
+
+            vertexData = new int[vertexSize * 4];
+            vertexIndex = 0;
+        }
+    }
+
+    @Override
+    public void defaultColor(int red, int green, int blue, int alpha) {
+        hasDefaultColor = true;
+        defaultColor = packColor(red, green, blue, alpha);
+    }
+
+    @Override
+    public void unsetDefaultColor() {
+        hasDefaultColor = false;
+    }
+
+    private static int packColor(int red, int green, int blue, int alpha) {
+        return (red & 0xff) | (green & 0xff) << 8 | (blue & 0xff) << 16 | (alpha & 0xff) << 24;
+    }
+
+    private float getCoordinate(int vertex, int axis) {
+        return Float.intBitsToFloat(vertexData[vertex * vertexSize + axis]);
+    }
+
+    /**
+     * Zero thickness boxes produce side faces without any area, those would only add to the mesh size
+     */
+    private boolean isDegenerate() {
+        float ax = getCoordinate(2, 0) - getCoordinate(0, 0);
+        float ay = getCoordinate(2, 1) - getCoordinate(0, 1);
+        float az = getCoordinate(2, 2) - getCoordinate(0, 2);
+        float bx = getCoordinate(3, 0) - getCoordinate(1, 0);
+        float by = getCoordinate(3, 1) - getCoordinate(1, 1);
+        float bz = getCoordinate(3, 2) - getCoordinate(1, 2);
+
+        float cx = ay * bz - az * by;
+        float cy = az * bx - ax * bz;
+        float cz = ax * by - ay * bx;
+
+        return cx * cx + cy * cy + cz * cz < 1e-10f;
+    }
+}
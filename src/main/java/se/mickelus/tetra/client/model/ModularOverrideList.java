@@ -11,6 +11,7 @@ import net.minecraft.client.resources.model.ModelBakery;
 import net.minecraft.client.resources.model.ModelState;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.Mth;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
@@ -19,6 +20,8 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import se.mickelus.tetra.items.modular.IModularItem;
 import se.mickelus.tetra.module.data.ModuleModel;
+import se.mickelus.tetra.profiling.TetraMetrics;
+import se.mickelus.tetra.profiling.TetraProfiler;
 
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
@@ -35,8 +38,15 @@ public class ModularOverrideList extends ItemOverrides {
     private final Cache<CacheKey, BakedModel> bakedModelCache = CacheBuilder.newBuilder()
             .maximumSize(1000)
             .expireAfterWrite(5, TimeUnit.MINUTES)
+            .recordStats()
             .build();
 
+    // items with model stages have all stages baked at once, indexed by stage
+    private final Cache<CacheKey, BakedModel[]> stagedModelCache = CacheBuilder.newBuilder()
+            .maximumSize(250)
+            .expireAfterWrite(5, TimeUnit.MINUTES)
+            .recordStats()
+            .build();
 
     private final ModularItemModel model;
     private final IModelConfiguration owner;
@@ -53,11 +63,15 @@ public class ModularOverrideList extends ItemOverrides {
         this.spriteGetter = spriteGetter;
         this.modelTransform = modelTransform;
         this.modelLocation = modelLocation;
+
+        TetraProfiler.registerCache("item_models", bakedModelCache);
+        TetraProfiler.registerCache("item_models_staged", stagedModelCache);
     }
 
     public void clearCache() {
         logger.debug("Clearing item model cache for " + modelLocation);
         bakedModelCache.invalidateAll();
+        stagedModelCache.invalidateAll();
     }
 
     @Nullable
@@ -67,10 +81,16 @@ public class ModularOverrideList extends ItemOverrides {
         BakedModel result = originalModel;
 
         if (baseTag != null && !baseTag.isEmpty()) {
+            IModularItem item = (IModularItem) stack.getItem();
             CacheKey key = getCacheKey(stack, entity, originalModel);
 
             try {
-                result = bakedModelCache.get(key, () -> getOverrideModel(stack, world, entity));
+                if (item.getModelStageCount() > 1) {
+                    BakedModel[] stages = stagedModelCache.get(key, () -> getStageModels(stack, world, entity));
+                    result = stages[Mth.clamp(item.getModelStage(stack, entity), 0, stages.length - 1)];
+                } else {
+                    result = bakedModelCache.get(key, () -> getOverrideModel(stack, world, entity));
+                }
             } catch (ExecutionException e) {
                 // do nothing, return original model
                 e.printStackTrace();
@@ -85,7 +105,27 @@ public class ModularOverrideList extends ItemOverrides {
         List<ModuleModel> models = item.getModels(itemStack, entity);
         String transformVariant = item.getTransformVariant(itemStack, entity);
 
-        return model.realBake(models, transformVariant, owner, bakery, spriteGetter, modelTransform, ItemOverrides.EMPTY, modelLocation);
+        long start = TetraMetrics.modelBake.start();
+        BakedModel result = model.realBake(models, transformVariant, owner, bakery, spriteGetter, modelTransform, ItemOverrides.EMPTY,
+                modelLocation);
+        TetraMetrics.modelBake.stop(start);
+
+        return result;
+    }
+
+    protected BakedModel[] getStageModels(ItemStack itemStack, @Nullable Level world, @Nullable LivingEntity entity) {
+        IModularItem item = (IModularItem) itemStack.getItem();
+        String transformVariant = item.getTransformVariant(itemStack, entity);
+
+        BakedModel[] result = new BakedModel[item.getModelStageCount()];
+        long start = TetraMetrics.modelBake.start();
+        for (int i = 0; i < result.length; i++) {
+            result[i] = model.realBake(item.getStageModels(itemStack, i), transformVariant, owner, bakery, spriteGetter, modelTransform,
+                    ItemOverrides.EMPTY, modelLocation);
+        }
+        TetraMetrics.modelBake.stop(start);
+
+        return result;
     }
 
     protected CacheKey getCacheKey(ItemStack itemStack, LivingEntity entity, BakedModel original) {
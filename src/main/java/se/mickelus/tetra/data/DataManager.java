@@ -7,6 +7,7 @@ import net.minecraft.advancements.critereon.ItemPredicate;
 import net.minecraft.core.BlockPos;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.packs.resources.PreparableReloadListener;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.enchantment.Enchantment;
 import net.minecraft.world.level.block.Block;
@@ -25,6 +26,7 @@ import se.mickelus.mutil.data.deserializer.ItemDeserializer;
 import se.mickelus.mutil.data.deserializer.ResourceLocationDeserializer;
 import se.mickelus.tetra.TetraMod;
 import se.mickelus.tetra.aspect.ItemAspect;
+import se.mickelus.tetra.aspect.TetraEnchantmentHelper;
 import se.mickelus.tetra.blocks.PropertyMatcher;
 import se.mickelus.tetra.blocks.workbench.action.ConfigActionImpl;
 import se.mickelus.tetra.craftingeffect.CraftingEffect;
@@ -43,10 +45,13 @@ import se.mickelus.tetra.module.schematic.requirement.CraftingRequirement;
 import se.mickelus.tetra.module.schematic.requirement.CraftingRequirementDeserializer;
 import se.mickelus.tetra.module.schematic.requirement.IntegerPredicate;
 import se.mickelus.tetra.module.schematic.requirement.ModuleRequirement;
+import se.mickelus.tetra.profiling.ProfilerMetric;
+import se.mickelus.tetra.profiling.TetraProfiler;
 
 import javax.annotation.ParametersAreNonnullByDefault;
 import java.util.Arrays;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @ParametersAreNonnullByDefault
 public class DataManager implements DataDistributor {
@@ -125,12 +130,37 @@ public class DataManager implements DataDistributor {
     @SubscribeEvent(priority = EventPriority.LOWEST)
     public void addReloadListener(AddReloadListenerEvent event) {
         logger.debug("Setting up datastore reload listeners");
-        Arrays.stream(dataStores).forEach(event::addListener);
+        Arrays.stream(dataStores)
+                .map(this::timeReload)
+                .forEach(event::addListener);
+    }
+
+    /**
+     * Wraps the reload of a datastore to record how long the preparation stage takes, and how long it takes until the reload is done.
+     */
+    private PreparableReloadListener timeReload(DataStore<?> dataStore) {
+        ProfilerMetric prepareMetric = TetraProfiler.metric("reload/" + dataStore.getDirectory() + "/prepare");
+        ProfilerMetric totalMetric = TetraProfiler.metric("reload/" + dataStore.getDirectory() + "/total");
+        return (barrier, resourceManager, preparationsProfiler, reloadProfiler, backgroundExecutor, gameExecutor) -> {
+            long start = System.nanoTime();
+            PreparableReloadListener.PreparationBarrier timedBarrier = new PreparableReloadListener.PreparationBarrier() {
+                @Override
+                public <T> CompletableFuture<T> wait(T value) {
+                    prepareMetric.record(System.nanoTime() - start);
+                    return barrier.wait(value);
+                }
+            };
+
+            return dataStore.reload(timedBarrier, resourceManager, preparationsProfiler, reloadProfiler, backgroundExecutor, gameExecutor)
+                    .thenRun(() -> totalMetric.record(System.nanoTime() - start));
+        };
     }
 
     @SubscribeEvent
     public void tagsUpdated(TagsUpdatedEvent event) {
         logger.debug("Reloaded tags");
+        TetraEnchantmentHelper.invalidateApplicability();
+        MaterialResolver.invalidate();
     }
 
     @SubscribeEvent
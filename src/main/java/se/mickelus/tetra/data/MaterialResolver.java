@@ -0,0 +1,145 @@
+package se.mickelus.tetra.data;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import net.minecraft.advancements.critereon.ItemPredicate;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraftforge.registries.ForgeRegistries;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import se.mickelus.tetra.module.data.MaterialData;
+import se.mickelus.tetra.module.schematic.OutcomeMaterial;
+import se.mickelus.tetra.profiling.TetraProfiler;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves which material an item stack is made of. Materials with item based predicates are indexed by their items and materials with
+ * tag based predicates by the items in their tag, while materials that can't be indexed (e.g. custom predicates) are kept in a residual
+ * list. The candidate materials for an item are memoized, so only the predicates of those few candidates have to be matched against a stack
+ * rather than the predicate of every material. The index is rebuilt lazily after materials or tags are reloaded.
+ */
+@ParametersAreNonnullByDefault
+public class MaterialResolver {
+    private static final Logger logger = LogManager.getLogger();
+
+    private static final MaterialData[] noMaterials = new MaterialData[0];
+
+    private static volatile Index index;
+
+    public static void init() {
+        DataManager.instance.materialData.onReload(MaterialResolver::invalidate);
+    }
+
+    /**
+     * Drops the material index, should be called when materials or item tags are reloaded
+     */
+    public static void invalidate() {
+        index = null;
+    }
+
+    /**
+     * Finds the material that the given item stack is made of, untagged materials take precedence over tagged materials
+     */
+    @Nullable
+    public static MaterialData resolve(ItemStack itemStack) {
+        if (itemStack.isEmpty()) {
+            return null;
+        }
+
+        for (MaterialData material : getIndex().getCandidates(itemStack.getItem())) {
+            if (material.material.getPredicate().matches(itemStack)) {
+                return material;
+            }
+        }
+
+        return null;
+    }
+
+    private static Index getIndex() {
+        Index result = index;
+        if (result == null) {
+            result = new Index(DataManager.instance.materialData.getData().values());
+            index = result;
+        }
+        return result;
+    }
+
+    static class Index {
+        // valid materials, untagged materials are ordered before tagged materials
+        final MaterialData[] materials;
+
+        final Map<Item, BitSet> itemIndex = new HashMap<>();
+        final BitSet residual = new BitSet();
+
+        final Cache<Item, MaterialData[]> candidates = CacheBuilder.newBuilder()
+                .recordStats()
+                .build();
+
+        Index(Collection<MaterialData> data) {
+            materials = data.stream()
+                    .filter(material -> material.material != null && material.material.isValid())
+                    .sorted(Comparator.comparing(material -> material.material.isTagged()))
+                    .toArray(MaterialData[]::new);
+
+            for (int i = 0; i < materials.length; i++) {
+                OutcomeMaterial material = materials[i].material;
+                Collection<Item> items = getItems(material);
+                if (items.isEmpty()) {
+                    residual.set(i);
+                } else {
+                    int materialIndex = i;
+                    items.forEach(item -> itemIndex.computeIfAbsent(item, k -> new BitSet()).set(materialIndex));
+                }
+            }
+
+            TetraProfiler.registerCache("material_candidates", candidates);
+        }
+
+        /**
+         * @return all items that the material may match, or an empty collection if the material can't be indexed
+         */
+        private static Collection<Item> getItems(OutcomeMaterial material) {
+            // items & tags are only indexed for vanilla predicates, subclasses may match other items
+            if (material.getPredicate().getClass() != ItemPredicate.class) {
+                return Collections.emptySet();
+            }
+
+            TagKey<Item> tagKey = material.getTagKey();
+            if (tagKey != null) {
+                return ForgeRegistries.ITEMS.tags().getTag(tagKey).stream().collect(Collectors.toSet());
+            }
+
+            return Arrays.stream(material.getApplicableItemStacks())
+                    .map(ItemStack::getItem)
+                    .collect(Collectors.toSet());
+        }
+
+        MaterialData[] getCandidates(Item item) {
+            try {
+                return candidates.get(item, () -> findCandidates(item));
+            } catch (ExecutionException e) {
+                logger.warn("Failed to resolve material candidates for " + item, e);
+                return noMaterials;
+            }
+        }
+
+        private MaterialData[] findCandidates(Item item) {
+            BitSet result = (BitSet) residual.clone();
+            BitSet indexed = itemIndex.get(item);
+            if (indexed != null) {
+                result.or(indexed);
+            }
+
+            return result.stream()
+                    .mapToObj(i -> materials[i])
+                    .toArray(MaterialData[]::new);
+        }
+    }
+}
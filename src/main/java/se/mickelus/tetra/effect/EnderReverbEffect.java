@@ -9,9 +9,9 @@ import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.phys.AABB;
 import se.mickelus.mutil.util.CastOptional;
+import se.mickelus.tetra.effect.targeting.AreaTargeting;
 
 import javax.annotation.ParametersAreNonnullByDefault;
-import java.util.List;
 
 @ParametersAreNonnullByDefault
 public class EnderReverbEffect {
@@ -22,11 +22,12 @@ public class EnderReverbEffect {
                     && !CastOptional.cast(entity, Player.class).map(Player::isCreative).orElse(false)
                     && entity.getRandom().nextDouble() < effectProbability * multiplier) {
                 AABB aabb = new AABB(entity.blockPosition()).inflate(24);
-                List<LivingEntity> nearbyTargets = entity.level.getEntitiesOfClass(LivingEntity.class, aabb,
-                        target -> target instanceof EnderMan || target instanceof Endermite
-                                || target instanceof Shulker || target instanceof EnderDragon);
-                if (nearbyTargets.size() > 0) {
-                    nearbyTargets.get(entity.getRandom().nextInt(nearbyTargets.size())).setLastHurtByMob(entity);
+                LivingEntity target = AreaTargeting.pickRandom(entity.level, aabb,
+                        nearby -> nearby instanceof EnderMan || nearby instanceof Endermite
+                                || nearby instanceof Shulker || nearby instanceof EnderDragon,
+                        entity.getRandom());
+                if (target != null) {
+                    target.setLastHurtByMob(entity);
                 }
             }
         }
@@ -49,6 +49,8 @@ import se.mickelus.tetra.items.modular.impl.bow.ModularBowItem;
 import se.mickelus.tetra.items.modular.impl.toolbelt.ToolbeltHelper;
 import se.mickelus.tetra.items.modular.impl.toolbelt.inventory.QuiverInventory;
 import se.mickelus.tetra.properties.PropertyHelper;
+import se.mickelus.tetra.profiling.ProfilerMetric;
+import se.mickelus.tetra.profiling.TetraProfiler;
 
 import javax.annotation.ParametersAreNonnullByDefault;
 import java.util.Collection;
@@ -61,6 +63,16 @@ public class ItemEffectHandler {
 
     public static ItemEffectHandler instance;
 
+    private static final ProfilerMetric attackEntityMetric = TetraProfiler.metric("effect_handler/attack_entity");
+    private static final ProfilerMetric livingAttackMetric = TetraProfiler.metric("effect_handler/living_attack");
+    private static final ProfilerMetric playerTickMetric = TetraProfiler.metric("effect_handler/player_tick");
+    private static final ProfilerMetric livingHurtMetric = TetraProfiler.metric("effect_handler/living_hurt");
+    private static final ProfilerMetric livingDamageMetric = TetraProfiler.metric("effect_handler/living_damage");
+    private static final ProfilerMetric criticalHitMetric = TetraProfiler.metric("effect_handler/critical_hit");
+    private static final ProfilerMetric leftClickBlockMetric = TetraProfiler.metric("effect_handler/left_click_block");
+    private static final ProfilerMetric breakSpeedMetric = TetraProfiler.metric("effect_handler/break_speed");
+    private static final ProfilerMetric enderTeleportMetric = TetraProfiler.metric("effect_handler/ender_teleport");
+
     public ItemEffectHandler() {
         instance = this;
     }
@@ -123,13 +135,19 @@ public class ItemEffectHandler {
 
     @SubscribeEvent(priority = EventPriority.LOWEST)
     public void onAttackEntity(AttackEntityEvent event) {
+        long start = attackEntityMetric.start();
+
         if (!event.isCanceled()) {
             ComboPoints.onAttackEntity(event);
         }
+
+        attackEntityMetric.stop(start);
     }
 
     @SubscribeEvent
     public void onLivingAttack(LivingAttackEvent event) {
+        long start = livingAttackMetric.start();
+
         if (!event.getSource().isBypassArmor() && event.getEntityLiving().isBlocking()) {
             Optional.ofNullable(event.getEntityLiving())
                     .map(LivingEntity::getUseItem)
@@ -172,13 +190,19 @@ public class ItemEffectHandler {
         }
 
         RevengeTracker.onAttackEntity(event);
+
+        livingAttackMetric.stop(start);
     }
 
     @SubscribeEvent
     public void onPlayerTick(TickEvent.PlayerTickEvent event) {
+        long start = playerTickMetric.start();
+
         if (TickEvent.Phase.START == event.phase) {
             LungeEffect.onPlayerTick(event.player);
         }
+
+        playerTickMetric.stop(start);
     }
 
     @SubscribeEvent
@@ -188,6 +212,8 @@ public class ItemEffectHandler {
 
     @SubscribeEvent
     public void onLivingHurt(LivingHurtEvent event) {
+        long start = livingHurtMetric.start();
+
         Optional.ofNullable(event.getSource().getEntity())
                 .filter(entity -> entity instanceof LivingEntity)
                 .map(entity -> (LivingEntity) entity)
@@ -228,10 +254,14 @@ public class ItemEffectHandler {
                         }
                     });
         }
+
+        livingHurtMetric.stop(start);
     }
 
     @SubscribeEvent
     public void onLivingDamage(LivingDamageEvent event) {
+        long start = livingDamageMetric.start();
+
         Optional.ofNullable(event.getSource().getEntity())
                 .filter(entity -> entity instanceof Player)
                 .map(entity -> (LivingEntity) entity)
@@ -250,6 +280,8 @@ public class ItemEffectHandler {
                 });
 
         ArmorPenetrationEffect.onLivingDamage(event);
+
+        livingDamageMetric.stop(start);
     }
 
 
@@ -261,6 +293,8 @@ public class ItemEffectHandler {
 
     @SubscribeEvent
     public void onCriticalHit(CriticalHitEvent event) {
+        long start = criticalHitMetric.start();
+
         Optional.ofNullable(event.getEntityLiving())
                 .map(LivingEntity::getMainHandItem)
                 .filter(itemStack -> !itemStack.isEmpty())
@@ -281,6 +315,8 @@ public class ItemEffectHandler {
                         CritEffect.critEntity(event, itemStack, critLevel);
                     }
                 });
+
+        criticalHitMetric.stop(start);
     }
 
     @OnlyIn(Dist.CLIENT)
@@ -317,6 +353,8 @@ public class ItemEffectHandler {
 
     @SubscribeEvent
     public void onLeftClickBlock(PlayerInteractEvent.LeftClickBlock event) {
+        long start = leftClickBlockMetric.start();
+
         Optional.of(event.getItemStack())
                 .filter(itemStack -> !itemStack.isEmpty())
                 .filter(itemStack -> itemStack.getItem() instanceof ItemModularHandheld)
@@ -354,15 +392,23 @@ public class ItemEffectHandler {
                         }
                     }
                 });
+
+        leftClickBlockMetric.stop(start);
     }
 
     @SubscribeEvent
     public void onBreakSpeed(PlayerEvent.BreakSpeed event) {
+        long start = breakSpeedMetric.start();
+
         ExhaustedPotionEffect.onBreakSpeed(event);
+
+        breakSpeedMetric.stop(start);
     }
 
     @SubscribeEvent
     public void onEnderTeleport(EntityTeleportEvent event) {
+        long start = enderTeleportMetric.start();
+
         if (!event.getEntity().getCommandSenderWorld().isClientSide) {
             AABB aabb = new AABB(
                     event.getTargetX() - 24, event.getTargetY() - 24, event.getTargetZ() - 24,
@@ -381,6 +427,8 @@ public class ItemEffectHandler {
                 }
             });
         }
+
+        enderTeleportMetric.stop(start);
     }
 
     @SubscribeEvent(priority = EventPriority.LOW)
@@ -12,7 +12,6 @@ import net.minecraft.sounds.SoundSource;
 import net.minecraft.util.Mth;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.effect.MobEffectInstance;
-import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.MoverType;
 import net.minecraft.world.entity.player.Player;
@@ -30,6 +29,8 @@ import se.mickelus.tetra.TetraMod;
 import se.mickelus.tetra.effect.potion.ExhaustedPotionEffect;
 import se.mickelus.tetra.effect.potion.StunPotionEffect;
 import se.mickelus.tetra.effect.revenge.RevengeTracker;
+import se.mickelus.tetra.effect.targeting.AreaTargeting;
+import se.mickelus.tetra.effect.targeting.TargetShape;
 import se.mickelus.tetra.items.modular.ItemModularHandheld;
 
 import javax.annotation.Nullable;
@@ -53,15 +54,20 @@ public class LungeEffect extends ChargedAbilityEffect {
         LungeData data = activeCache.getIfPresent(getIdentifier(player));
         if (data != null && !player.isPassenger()) {
             if (!player.isOnGround()) {
-                AABB axisalignedbb = player.getBoundingBox().inflate(0.2, 0, 0.2).move(player.getDeltaMovement());
-
-                player.level.getEntitiesOfClass(LivingEntity.class, axisalignedbb).stream()
-                        .filter(Entity::isAlive)
-                        .filter(Entity::isPickable)
-                        .filter(Entity::isAttackable)
-                        .filter(entity -> !player.equals(entity))
-                        .findAny()
-                        .ifPresent(entity -> onEntityImpact(player, entity, data));
+                // targets anywhere along the path moved this tick are hit, the swept box is trimmed to the path by a capsule
+                Vec3 motion = player.getDeltaMovement();
+                AABB axisalignedbb = player.getBoundingBox().inflate(0.2, 0, 0.2).expandTowards(motion);
+                TargetShape path = TargetShape.capsule(player.position(), player.position().add(motion), player.getBbHeight() + 0.5);
+
+                LivingEntity target = AreaTargeting.findFirst(player.level, axisalignedbb, entity -> entity.isAlive()
+                        && entity.isPickable()
+                        && entity.isAttackable()
+                        && !player.equals(entity)
+                        && path.contains(entity));
+
+                if (target != null) {
+                    onEntityImpact(player, target, data);
+                }
             } else {
                 activeCache.invalidate(getIdentifier(player));
 
@@ -15,6 +15,7 @@ import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
 import se.mickelus.tetra.effect.potion.*;
 import se.mickelus.tetra.effect.revenge.RevengeTracker;
+import se.mickelus.tetra.effect.targeting.AreaTargeting;
 import se.mickelus.tetra.items.modular.ItemModularHandheld;
 
 import javax.annotation.Nullable;
@@ -113,10 +114,9 @@ public class ReapEffect extends ChargedAbilityEffect {
             double damageMultiplier, int revengeLevel, boolean overextend, int overextendLevel, double momentumEfficiency,
             AtomicInteger kills, AtomicInteger revengeKills, AtomicInteger hits) {
         Collection<LivingEntity> momentumTargets = new LinkedList<>();
-        player.level.getEntitiesOfClass(LivingEntity.class, aoe).stream()
-                .filter(entity -> entity != player)
-                .filter(entity -> !player.isAlliedTo(entity))
-                .forEach(entity -> {
+        AreaTargeting.forEachTarget(player.level, aoe,
+                entity -> entity != player && !player.isAlliedTo(entity),
+                entity -> {
                     double individualDamageMultiplier = damageMultiplier;
 
                     boolean canRevenge = revengeLevel > 0 && RevengeTracker.canRevenge(player, entity);
@@ -11,7 +11,6 @@ import net.minecraft.util.Mth;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.effect.MobEffectInstance;
 import net.minecraft.world.effect.MobEffects;
-import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.ai.attributes.Attributes;
 import net.minecraft.world.entity.player.Player;
@@ -26,12 +25,13 @@ import se.mickelus.tetra.ServerScheduler;
 import se.mickelus.tetra.effect.potion.SmallStrengthPotionEffect;
 import se.mickelus.tetra.effect.potion.StunPotionEffect;
 import se.mickelus.tetra.effect.revenge.RevengeTracker;
+import se.mickelus.tetra.effect.targeting.AreaTargeting;
+import se.mickelus.tetra.effect.targeting.TargetShape;
 import se.mickelus.tetra.items.modular.ItemModularHandheld;
 
 import javax.annotation.ParametersAreNonnullByDefault;
-import java.util.List;
 import java.util.Random;
-import java.util.stream.Collectors;
+import java.util.function.Predicate;
 
 @ParametersAreNonnullByDefault
 public class SlamEffect extends ChargedAbilityEffect {
@@ -215,16 +215,17 @@ public class SlamEffect extends ChargedAbilityEffect {
             Vec3 direction = hitVec.subtract(attacker.position()).multiply(1, 0, 1).normalize();
             double yaw = Mth.atan2(direction.x, direction.z);
             AABB boundingBox = new AABB(hitVec, hitVec).inflate(range + 1, 4, range + 1).move(direction.scale(range / 2));
-            List<LivingEntity> targets = attacker.level.getEntitiesOfClass(LivingEntity.class, boundingBox).stream()
-                    .filter(Entity::isAlive)
-                    .filter(Entity::isAttackable)
-                    .filter(entity -> !attacker.equals(entity))
-                    .filter(entity -> inRange(hitVec, entity, yaw, range))
-                    .collect(Collectors.toList());
+            TargetShape arc = TargetShape.arc(hitVec, yaw, Math.PI / 6, range, 4);
+            Predicate<LivingEntity> predicate = entity -> entity.isAlive()
+                    && entity.isAttackable()
+                    && !attacker.equals(entity)
+                    && arc.contains(entity);
 
-            double damageMultiplier = getAoeDamageMultiplier(attacker, item, itemStack, slowDuration > 0, overchargeBonus, targets);
+            int targetCount = AreaTargeting.count(attacker.level, boundingBox, predicate);
+            double damageMultiplier = getAoeDamageMultiplier(attacker, item, itemStack, slowDuration > 0, overchargeBonus, targetCount);
 
-            targets.forEach(entity -> groundSlamEntity(attacker, entity, item, itemStack, hitVec, damageMultiplier, slowDuration, momentumEfficiency, revengeLevel));
+            AreaTargeting.forEachTarget(attacker.level, boundingBox, predicate,
+                    entity -> groundSlamEntity(attacker, entity, item, itemStack, hitVec, damageMultiplier, slowDuration, momentumEfficiency, revengeLevel));
 
             spawnGroundParticles(attacker.level, hitVec, direction, yaw, range);
 
@@ -248,13 +249,9 @@ public class SlamEffect extends ChargedAbilityEffect {
             double range, double damageMultiplier, int slowDuration, double momentumEfficiency, int revengeLevel) {
         EchoHelper.echo(attacker, 60, () -> {
             AABB boundingBox = new AABB(hitVec, hitVec).inflate(range + 1, 4, range + 1).move(direction.scale(range / 2));
-            List<LivingEntity> targets = attacker.level.getEntitiesOfClass(LivingEntity.class, boundingBox).stream()
-                    .filter(Entity::isAlive)
-                    .filter(Entity::isAttackable)
-                    .filter(entity -> inRange(hitVec, entity, yaw, range))
-                    .collect(Collectors.toList());
-
-            targets.forEach(entity -> groundSlamEntity(attacker, entity, item, itemStack, hitVec, damageMultiplier, slowDuration, momentumEfficiency, revengeLevel));
+            TargetShape arc = TargetShape.arc(hitVec, yaw, Math.PI / 6, range, 4);
+            AreaTargeting.forEachTarget(attacker.level, boundingBox, entity -> entity.isAlive() && entity.isAttackable() && arc.contains(entity),
+                    entity -> groundSlamEntity(attacker, entity, item, itemStack, hitVec, damageMultiplier, slowDuration, momentumEfficiency, revengeLevel));
 
             spawnGroundParticles(attacker.level, hitVec, direction, yaw, range);
         });
@@ -274,7 +271,7 @@ public class SlamEffect extends ChargedAbilityEffect {
     }
 
     private double getAoeDamageMultiplier(Player attacker, ItemModularHandheld item, ItemStack itemStack, boolean isDefensive, int overchargeBonus,
-            List<LivingEntity> targets) {
+            int targetCount) {
         double damageMultiplier = item.getEffectLevel(itemStack, ItemEffect.slam) / 100f;
 
         if (isDefensive) {
@@ -292,7 +289,7 @@ public class SlamEffect extends ChargedAbilityEffect {
 
         int exhilarationLevel = item.getEffectLevel(itemStack, ItemEffect.abilityExhilaration);
         if (exhilarationLevel > 0) {
-            damageMultiplier += targets.size() * exhilarationLevel / 100d;
+            damageMultiplier += targetCount * exhilarationLevel / 100d;
         }
 
         return damageMultiplier;
@@ -361,17 +358,6 @@ public class SlamEffect extends ChargedAbilityEffect {
         }
     }
 
-    private boolean inRange(Vec3 origin, Entity entity, double originYaw, double range) {
-        if (origin.closerThan(entity.position(), range)) {
-            Vec3 direction = entity.position().subtract(origin);
-            double entityYaw = Mth.atan2(direction.x, direction.z);
-            double yawDiff = Math.abs((originYaw - entityYaw + 3 * Math.PI) % (Math.PI * 2) - Math.PI);
-
-            return yawDiff < Math.PI / 6;
-        }
-        return false;
-    }
-
     private boolean compareAngle(Vec3 originPos, BlockPos.MutableBlockPos offsetPos, double originYaw) {
         Vec3 direction = Vec3.atBottomCenterOf(offsetPos).subtract(originPos);
         double offsetYaw = Mth.atan2(direction.x(), direction.z());
@@ -17,6 +17,8 @@ import net.minecraftforge.common.ForgeMod;
 import net.minecraftforge.event.entity.player.CriticalHitEvent;
 import se.mickelus.mutil.util.CastOptional;
 import se.mickelus.tetra.TetraMod;
+import se.mickelus.tetra.effect.targeting.AreaTargeting;
+import se.mickelus.tetra.effect.targeting.TargetShape;
 
 import javax.annotation.ParametersAreNonnullByDefault;
 
@@ -42,13 +44,15 @@ public class SweepingEffect {
         double range = 1 + EffectHelper.getEffectEfficiency(itemStack, ItemEffect.sweeping);
         double reach = attacker.getAttributeValue(ForgeMod.REACH_DISTANCE.get());
 
+        TargetShape reachShape = TargetShape.sphere(attacker.position(), range + reach);
+
         // range values set up to mimic vanilla behaviour
-        attacker.level.getEntitiesOfClass(LivingEntity.class, target.getBoundingBox().inflate(range, 0.25d, range)).stream()
-                .filter(entity -> entity != attacker)
-                .filter(entity -> entity != target)
-                .filter(entity -> !attacker.isAlliedTo(entity))
-                .filter(entity -> attacker.distanceToSqr(entity) < (range + reach) * (range + reach))
-                .forEach(entity -> {
+        AreaTargeting.forEachTarget(attacker.level, target.getBoundingBox().inflate(range, 0.25d, range),
+                entity -> entity != attacker
+                        && entity != target
+                        && !attacker.isAlliedTo(entity)
+                        && reachShape.contains(entity),
+                entity -> {
                     entity.knockback(knockback,
                             Mth.sin(attacker.getYRot() * (float) Math.PI / 180F),
                             -Mth.cos(attacker.getYRot() * (float) Math.PI / 180F));
@@ -96,10 +100,9 @@ public class SweepingEffect {
         AABB aoe = new AABB(target, target);
 
         // range values set up to mimic vanilla behaviour
-        attacker.level.getEntitiesOfClass(LivingEntity.class, aoe.inflate(range, 1d, range)).stream()
-                .filter(entity -> entity != attacker)
-                .filter(entity -> !attacker.isAlliedTo(entity))
-                .forEach(entity -> {
+        AreaTargeting.forEachTarget(attacker.level, aoe.inflate(range, 1d, range),
+                entity -> entity != attacker && !attacker.isAlliedTo(entity),
+                entity -> {
                     entity.knockback(knockback,
                             Mth.sin(attacker.getYRot() * (float) Math.PI / 180F),
                             -Mth.cos(attacker.getXRot() * (float) Math.PI / 180F));
@@ -1,21 +1,20 @@
 package se.mickelus.tetra.effect.potion;
 
-import com.mojang.math.Vector3f;
 import net.minecraft.client.resources.language.I18n;
-import net.minecraft.core.particles.DustParticleOptions;
-import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.effect.MobEffect;
 import net.minecraft.world.effect.MobEffectCategory;
 import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.ai.attributes.AttributeMap;
 import net.minecraft.world.entity.ai.attributes.AttributeModifier;
 import net.minecraft.world.entity.ai.attributes.Attributes;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
 import net.minecraftforge.client.EffectRenderer;
 import se.mickelus.tetra.effect.gui.EffectTooltipRenderer;
+import se.mickelus.tetra.effect.visual.EffectVisual;
+import se.mickelus.tetra.effect.visual.EffectVisuals;
 
 import javax.annotation.ParametersAreNonnullByDefault;
-import java.util.Random;
 import java.util.function.Consumer;
 
 @ParametersAreNonnullByDefault
@@ -32,21 +31,18 @@ public class SeveredPotionEffect extends MobEffect {
         instance = this;
     }
 
-    public void applyEffectTick(LivingEntity entity, int amplifier) {
-        if (!entity.getCommandSenderWorld().isClientSide) {
-            Random rand = entity.getRandom();
-            ((ServerLevel) entity.level).sendParticles(new DustParticleOptions(new Vector3f(0.5f, 0, 0), 0.5f),
-                    entity.getX() + entity.getBbWidth() * (0.3 + rand.nextGaussian() * 0.4),
-                    entity.getY() + entity.getBbHeight() * (0.2 + rand.nextGaussian() * 0.4),
-                    entity.getZ() + entity.getBbWidth() * (0.3 + rand.nextGaussian() * 0.4),
-                    20,
-                    0, 0, 0, 0f);
-        }
+    @Override
+    public void addAttributeModifiers(LivingEntity entity, AttributeMap attributeMap, int amplifier) {
+        super.addAttributeModifiers(entity, attributeMap, amplifier);
+        EffectVisuals.start(entity, EffectVisual.severed, entity.getEffect(this).getDuration());
     }
 
     @Override
-    public boolean isDurationEffectTick(int duration, int amplifier) {
-        return duration % 10 == 0;
+    public void removeAttributeModifiers(LivingEntity entity, AttributeMap attributeMap, int amplifier) {
+        super.removeAttributeModifiers(entity, attributeMap, amplifier);
+        if (!entity.hasEffect(this)) {
+            EffectVisuals.stop(entity, EffectVisual.severed);
+        }
     }
 
     @Override
@@ -1,17 +1,17 @@
 package se.mickelus.tetra.effect.potion;
 
-import net.minecraft.core.particles.ParticleTypes;
-import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.effect.MobEffect;
 import net.minecraft.world.effect.MobEffectCategory;
 import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.ai.attributes.AttributeMap;
 import net.minecraft.world.entity.ai.attributes.AttributeModifier;
 import net.minecraft.world.entity.ai.attributes.Attributes;
-import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
 import net.minecraftforge.client.EffectRenderer;
 import se.mickelus.tetra.effect.gui.EffectUnRenderer;
+import se.mickelus.tetra.effect.visual.EffectVisual;
+import se.mickelus.tetra.effect.visual.EffectVisuals;
 
 import javax.annotation.ParametersAreNonnullByDefault;
 import java.util.function.Consumer;
@@ -31,23 +31,17 @@ public class StunPotionEffect extends MobEffect {
     }
 
     @Override
-    public void applyEffectTick(LivingEntity entity, int amplifier) {
-        if (!entity.getCommandSenderWorld().isClientSide) {
-            Vec3 pos = entity.getEyePosition(0);
-            double time = System.currentTimeMillis() / 1000d * Math.PI;
-            double xOffset = Math.cos(time) * 0.4;
-            double zOffset = Math.sin(time) * 0.4;
-
-            ((ServerLevel) entity.getCommandSenderWorld()).sendParticles(ParticleTypes.ENTITY_EFFECT, pos.x + xOffset, pos.y + 0.1, pos.z + zOffset,
-                    1, 0, 0, 0, 0);
-            ((ServerLevel) entity.getCommandSenderWorld()).sendParticles(ParticleTypes.ENTITY_EFFECT, pos.x - xOffset, pos.y + 0.4, pos.z - zOffset,
-                    1, 0, 0, 0, 0);
-        }
+    public void addAttributeModifiers(LivingEntity entity, AttributeMap attributeMap, int amplifier) {
+        super.addAttributeModifiers(entity, attributeMap, amplifier);
+        EffectVisuals.start(entity, EffectVisual.stun, entity.getEffect(this).getDuration());
     }
 
     @Override
-    public boolean isDurationEffectTick(int duration, int amplifier) {
-        return duration % 4 == 0;
+    public void removeAttributeModifiers(LivingEntity entity, AttributeMap attributeMap, int amplifier) {
+        super.removeAttributeModifiers(entity, attributeMap, amplifier);
+        if (!entity.hasEffect(this)) {
+            EffectVisuals.stop(entity, EffectVisual.stun);
+        }
     }
 
     @Override
@@ -0,0 +1,150 @@
+package se.mickelus.tetra.effect.targeting;
+
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Spatial queries for area of effect abilities. Entity lookups are memoized per level for the duration of a tick, a query that falls
+ * within the bounds of an earlier query from the same tick is answered by filtering the earlier result rather than querying the level
+ * again. Memoized entities are tested against their current bounding box, so entities that have moved since the earlier query are only
+ * matched where they are now. Memos are dropped when the level has ticked.
+ * <p>
+ * Results are iterated in place without collecting them, callbacks may trigger further queries.
+ */
+@ParametersAreNonnullByDefault
+public class AreaTargeting {
+    // queried bounds are padded slightly to increase the chance that later queries nearby can reuse the result, and to catch entities
+    // moving into the queried bounds later during the same tick
+    private static final double queryMargin = 1;
+    private static final int maxQueries = 32;
+
+    private static final Map<Level, TickMemo> memos = Collections.synchronizedMap(new WeakHashMap<>());
+
+    public static void forEachTarget(Level level, AABB bounds, Predicate<LivingEntity> predicate, Consumer<LivingEntity> consumer) {
+        List<LivingEntity> candidates = getCandidates(level, bounds);
+        for (int i = 0; i < candidates.size(); i++) {
+            LivingEntity entity = candidates.get(i);
+            if (matches(entity, bounds) && predicate.test(entity)) {
+                consumer.accept(entity);
+            }
+        }
+    }
+
+    public static void forEachTarget(Level level, TargetShape shape, Predicate<LivingEntity> predicate, Consumer<LivingEntity> consumer) {
+        forEachTarget(level, shape.getBounds(), entity -> shape.contains(entity) && predicate.test(entity), consumer);
+    }
+
+    /**
+     * Counts matching entities without collecting them, e.g. for effects that scale with the number of targets before hitting them
+     */
+    public static int count(Level level, AABB bounds, Predicate<LivingEntity> predicate) {
+        List<LivingEntity> candidates = getCandidates(level, bounds);
+        int result = 0;
+        for (int i = 0; i < candidates.size(); i++) {
+            LivingEntity entity = candidates.get(i);
+            if (matches(entity, bounds) && predicate.test(entity)) {
+                result++;
+            }
+        }
+        return result;
+    }
+
+    @Nullable
+    public static LivingEntity findFirst(Level level, AABB bounds, Predicate<LivingEntity> predicate) {
+        List<LivingEntity> candidates = getCandidates(level, bounds);
+        for (int i = 0; i < candidates.size(); i++) {
+            LivingEntity entity = candidates.get(i);
+            if (matches(entity, bounds) && predicate.test(entity)) {
+                return entity;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Picks a random matching entity without collecting all matches, each match has the same probability of being picked.
+     */
+    @Nullable
+    public static LivingEntity pickRandom(Level level, AABB bounds, Predicate<LivingEntity> predicate, Random random) {
+        List<LivingEntity> candidates = getCandidates(level, bounds);
+        LivingEntity result = null;
+        int matchCount = 0;
+        for (int i = 0; i < candidates.size(); i++) {
+            LivingEntity entity = candidates.get(i);
+            if (matches(entity, bounds) && predicate.test(entity)) {
+                matchCount++;
+                if (random.nextInt(matchCount) == 0) {
+                    result = entity;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static boolean matches(LivingEntity entity, AABB bounds) {
+        return !entity.isRemoved() && entity.getBoundingBox().intersects(bounds);
+    }
+
+    private static List<LivingEntity> getCandidates(Level level, AABB bounds) {
+        TickMemo memo = memos.computeIfAbsent(level, l -> new TickMemo());
+        synchronized (memo) {
+            return memo.get(level, bounds);
+        }
+    }
+
+    private static boolean encloses(AABB outer, AABB inner) {
+        return outer.minX <= inner.minX && outer.minY <= inner.minY && outer.minZ <= inner.minZ
+                && outer.maxX >= inner.maxX && outer.maxY >= inner.maxY && outer.maxZ >= inner.maxZ;
+    }
+
+    @SubscribeEvent
+    public static void onWorldTick(TickEvent.WorldTickEvent event) {
+        if (event.phase == TickEvent.Phase.END) {
+            memos.remove(event.world);
+        }
+    }
+
+    static class TickMemo {
+        private long gameTime = Long.MIN_VALUE;
+        private final List<AABB> bounds = new ArrayList<>(maxQueries);
+        private final List<List<LivingEntity>> results = new ArrayList<>(maxQueries);
+
+        List<LivingEntity> get(Level level, AABB queryBounds) {
+            // queries made outside of the level tick (e.g. from packets) are dropped once the game time moves on
+            long currentTime = level.getGameTime();
+            if (currentTime != gameTime) {
+                gameTime = currentTime;
+                bounds.clear();
+                results.clear();
+            }
+
+            for (int i = bounds.size() - 1; i >= 0; i--) {
+                if (encloses(bounds.get(i), queryBounds)) {
+                    return results.get(i);
+                }
+            }
+
+            AABB paddedBounds = queryBounds.inflate(queryMargin);
+            // results are never modified after this point, making them safe to iterate while further queries are made
+            List<LivingEntity> result = level.getEntitiesOfClass(LivingEntity.class, paddedBounds);
+
+            if (bounds.size() >= maxQueries) {
+                bounds.remove(0);
+                results.remove(0);
+            }
+            bounds.add(paddedBounds);
+            results.add(result);
+
+            return result;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package se.mickelus.tetra.effect.targeting;
+
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Area used to select targets for abilities and effects, all shapes test against the position of the entity (at its feet).
+ */
+@ParametersAreNonnullByDefault
+public interface TargetShape {
+    /**
+     * @return a box enclosing the full shape, used for the spatial query
+     */
+    AABB getBounds();
+
+    boolean contains(Entity entity);
+
+    /**
+     * Entities closer than the given radius to the center.
+     */
+    static TargetShape sphere(Vec3 center, double radius) {
+        double radiusSqr = radius * radius;
+        AABB bounds = new AABB(center, center).inflate(radius);
+        return new TargetShape() {
+            @Override
+            public AABB getBounds() {
+                return bounds;
+            }
+
+            @Override
+            public boolean contains(Entity entity) {
+                return entity.position().distanceToSqr(center) < radiusSqr;
+            }
+        };
+    }
+
+    /**
+     * Horizontal slice of a circle, entities within range and where the yaw from the origin differs less than the given angle from the
+     * yaw of the arc. Vertical position is not considered beyond the bounds.
+     *
+     * @param yaw       yaw of the arc center, in radians as given by Mth.atan2(x, z)
+     * @param halfAngle max yaw difference, in radians
+     * @param height    vertical extent of the bounds, in each direction
+     */
+    static TargetShape arc(Vec3 origin, double yaw, double halfAngle, double range, double height) {
+        AABB bounds = new AABB(origin, origin).inflate(range, height, range);
+        return new TargetShape() {
+            @Override
+            public AABB getBounds() {
+                return bounds;
+            }
+
+            @Override
+            public boolean contains(Entity entity) {
+                if (origin.closerThan(entity.position(), range)) {
+                    double entityYaw = Mth.atan2(entity.getX() - origin.x, entity.getZ() - origin.z);
+                    double yawDiff = Math.abs((yaw - entityYaw + 3 * Math.PI) % (Math.PI * 2) - Math.PI);
+
+                    return yawDiff < halfAngle;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Entities within range and within the given angle of the direction.
+     *
+     * @param direction normalized direction of the cone
+     * @param halfAngle max angle from the direction, in radians
+     */
+    static TargetShape cone(Vec3 origin, Vec3 direction, double halfAngle, double range) {
+        double rangeSqr = range * range;
+        double cosAngle = Math.cos(halfAngle);
+        AABB bounds = new AABB(origin, origin).inflate(range);
+        return new TargetShape() {
+            @Override
+            public AABB getBounds() {
+                return bounds;
+            }
+
+            @Override
+            public boolean contains(Entity entity) {
+                double dx = entity.getX() - origin.x;
+                double dy = entity.getY() - origin.y;
+                double dz = entity.getZ() - origin.z;
+                double distanceSqr = dx * dx + dy * dy + dz * dz;
+
+                if (distanceSqr >= rangeSqr) {
+                    return false;
+                }
+
+                if (distanceSqr == 0) {
+                    return true;
+                }
+
+                return (dx * direction.x + dy * direction.y + dz * direction.z) / Math.sqrt(distanceSqr) >= cosAngle;
+            }
+        };
+    }
+
+    /**
+     * Entities closer than the given radius to the line segment between from and to.
+     */
+    static TargetShape capsule(Vec3 from, Vec3 to, double radius) {
+        double radiusSqr = radius * radius;
+        Vec3 segment = to.subtract(from);
+        double segmentLengthSqr = segment.lengthSqr();
+        AABB bounds = new AABB(from, to).inflate(radius);
+        return new TargetShape() {
+            @Override
+            public AABB getBounds() {
+                return bounds;
+            }
+
+            @Override
+            public boolean contains(Entity entity) {
+                double dx = entity.getX() - from.x;
+                double dy = entity.getY() - from.y;
+                double dz = entity.getZ() - from.z;
+
+                double progress = segmentLengthSqr > 0
+                        ? Mth.clamp((dx * segment.x + dy * segment.y + dz * segment.z) / segmentLengthSqr, 0, 1)
+                        : 0;
+
+                dx -= segment.x * progress;
+                dy -= segment.y * progress;
+                dz -= segment.z * progress;
+
+                return dx * dx + dy * dy + dz * dz < radiusSqr;
+            }
+        };
+    }
+}
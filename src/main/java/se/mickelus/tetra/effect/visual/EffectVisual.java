@@ -0,0 +1,138 @@
+package se.mickelus.tetra.effect.visual;
+
+import com.mojang.math.Vector3f;
+import net.minecraft.core.particles.DustParticleOptions;
+import net.minecraft.core.particles.ItemParticleOption;
+import net.minecraft.core.particles.ParticleOptions;
+import net.minecraft.core.particles.ParticleTypes;
+import net.minecraft.world.effect.MobEffect;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EquipmentSlot;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.Vec3;
+import se.mickelus.tetra.effect.potion.PuncturedPotionEffect;
+import se.mickelus.tetra.effect.potion.SeveredPotionEffect;
+import se.mickelus.tetra.effect.potion.StunPotionEffect;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Visuals that are spawned client side for entities, the server only sends an event when a visual starts or stops (see
+ * {@link EffectVisuals}) rather than sending particles for every tick the visual is active.
+ */
+@ParametersAreNonnullByDefault
+public enum EffectVisual {
+    stun(4, () -> StunPotionEffect.instance) {
+        @Override
+        void spawn(Entity entity, Random random) {
+            Vec3 pos = entity.getEyePosition();
+            double time = System.currentTimeMillis() / 1000d * Math.PI;
+            double xOffset = Math.cos(time) * 0.4;
+            double zOffset = Math.sin(time) * 0.4;
+
+            entity.level.addParticle(ParticleTypes.ENTITY_EFFECT, pos.x + xOffset, pos.y + 0.1, pos.z + zOffset, 0, 0, 0);
+            entity.level.addParticle(ParticleTypes.ENTITY_EFFECT, pos.x - xOffset, pos.y + 0.4, pos.z - zOffset, 0, 0, 0);
+        }
+    },
+    severed(10, () -> SeveredPotionEffect.instance) {
+        private final DustParticleOptions particle = new DustParticleOptions(new Vector3f(0.5f, 0, 0), 0.5f);
+
+        @Override
+        void spawn(Entity entity, Random random) {
+            spread(entity.level, random, particle,
+                    entity.getX() + entity.getBbWidth() * (0.3 + random.nextGaussian() * 0.4),
+                    entity.getY() + entity.getBbHeight() * (0.2 + random.nextGaussian() * 0.4),
+                    entity.getZ() + entity.getBbWidth() * (0.3 + random.nextGaussian() * 0.4),
+                    20, 0, 0, 0, 0);
+        }
+    },
+    punctured(10, () -> PuncturedPotionEffect.instance) {
+        @Override
+        void spawn(Entity entity, Random random) {
+            if (entity instanceof LivingEntity livingEntity) {
+                ItemStack itemStack = livingEntity.getItemBySlot(EquipmentSlot.values()[2 + random.nextInt(4)]);
+                if (!itemStack.isEmpty()) {
+                    spread(entity.level, random, new ItemParticleOption(ParticleTypes.ITEM, itemStack),
+                            entity.getX() + entity.getBbWidth() * (0.3 + random.nextGaussian() * 0.4),
+                            entity.getY() + entity.getBbHeight() * (0.2 + random.nextGaussian() * 0.4),
+                            entity.getZ() + entity.getBbWidth() * (0.3 + random.nextGaussian() * 0.4),
+                            10, 0, 0, 0, 0);
+                }
+            }
+        }
+    },
+    booster(1, null) {
+        @Override
+        void spawn(Entity entity, Random random) {
+            spread(entity.level, random, ParticleTypes.SMOKE,
+                    entity.getX() - 0.2 + random.nextDouble() * 0.4,
+                    entity.getY() + random.nextDouble() * 0.2,
+                    entity.getZ() - 0.2 + random.nextDouble() * 0.4,
+                    8, 0, -0.3, 0, 0.1);
+
+            if (random.nextDouble() > 0.3) {
+                spread(entity.level, random, ParticleTypes.FLAME,
+                        entity.getX() - 0.2 + random.nextDouble() * 0.4,
+                        entity.getY() + random.nextDouble() * 0.2,
+                        entity.getZ() - 0.2 + random.nextDouble() * 0.4,
+                        1, 0, -0.3, 0, 0.1);
+            }
+        }
+    },
+    boosterCharged(0, null) {
+        @Override
+        void spawn(Entity entity, Random random) {
+            spread(entity.level, random, ParticleTypes.LARGE_SMOKE, entity.getX(), entity.getY() + entity.getBbHeight() * 0.4, entity.getZ(),
+                    10, 0, -0.1, 0, 0.1);
+            spread(entity.level, random, ParticleTypes.FLAME, entity.getX(), entity.getY() + entity.getBbHeight() * 0.4, entity.getZ(),
+                    3, 0, -0.1, 0, 0.1);
+        }
+    };
+
+    /**
+     * Spawn interval in ticks while the visual is active, visuals with an interval of 0 are only spawned once
+     */
+    final int interval;
+
+    private final Supplier<MobEffect> effect;
+
+    EffectVisual(int interval, @Nullable Supplier<MobEffect> effect) {
+        this.interval = interval;
+        this.effect = effect;
+    }
+
+    abstract void spawn(Entity entity, Random random);
+
+    /**
+     * @return the mob effect this visual is displayed for, or null if the visual is not tied to a mob effect
+     */
+    @Nullable
+    public MobEffect getEffect() {
+        return effect != null ? effect.get() : null;
+    }
+
+    public boolean isOneShot() {
+        return interval == 0;
+    }
+
+    /**
+     * Spawns particles spread the same way as particles sent using ServerLevel.sendParticles
+     */
+    private static void spread(Level level, Random random, ParticleOptions particle, double x, double y, double z, int count,
+            double xDist, double yDist, double zDist, double speed) {
+        for (int i = 0; i < count; i++) {
+            level.addParticle(particle,
+                    x + random.nextGaussian() * xDist,
+                    y + random.nextGaussian() * yDist,
+                    z + random.nextGaussian() * zDist,
+                    random.nextGaussian() * speed,
+                    random.nextGaussian() * speed,
+                    random.nextGaussian() * speed);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package se.mickelus.tetra.effect.visual;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.player.Player;
+import se.mickelus.mutil.network.AbstractPacket;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Starts or stops a visual for an entity, a negative duration keeps the visual active until stopped. One shot visuals are spawned once
+ * regardless of duration
+ */
+@ParametersAreNonnullByDefault
+public class EffectVisualPacket extends AbstractPacket {
+    private int entityId;
+    private EffectVisual visual;
+    private int duration;
+    private boolean stop;
+
+    public EffectVisualPacket() {
+    }
+
+    public EffectVisualPacket(Entity entity, EffectVisual visual, int duration) {
+        this(entity, visual, duration, false);
+    }
+
+    public EffectVisualPacket(Entity entity, EffectVisual visual, int duration, boolean stop) {
+        this.entityId = entity.getId();
+        this.visual = visual;
+        this.duration = duration;
+        this.stop = stop;
+    }
+
+    @Override
+    public void toBytes(FriendlyByteBuf buffer) {
+        buffer.writeVarInt(entityId);
+        buffer.writeEnum(visual);
+        buffer.writeVarInt(duration);
+        buffer.writeBoolean(stop);
+    }
+
+    @Override
+    public void fromBytes(FriendlyByteBuf buffer) {
+        entityId = buffer.readVarInt();
+        visual = buffer.readEnum(EffectVisual.class);
+        duration = buffer.readVarInt();
+        stop = buffer.readBoolean();
+    }
+
+    @Override
+    public void handle(Player player) {
+        EffectVisualTracker.receive(player.level, entityId, visual, duration, stop);
+    }
+}
@@ -0,0 +1,90 @@
+package se.mickelus.tetra.effect.visual;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minecraft.client.Minecraft;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.Level;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Keeps track of visuals active for entities on the client and spawns their particles every tick. Visuals are dropped when they expire,
+ * are stopped by the server or when their entity is removed, the server sends them again if the entity starts being tracked again.
+ */
+@ParametersAreNonnullByDefault
+@OnlyIn(Dist.CLIENT)
+public class EffectVisualTracker {
+    private static final Random random = new Random();
+
+    // entity id -> visual -> expiry tick, -1 for visuals that are active until stopped
+    private static final Int2ObjectMap<Map<EffectVisual, Long>> active = new Int2ObjectOpenHashMap<>();
+    private static long counter;
+
+    public static void receive(Level level, int entityId, EffectVisual visual, int duration, boolean stop) {
+        if (stop) {
+            Map<EffectVisual, Long> visuals = active.get(entityId);
+            if (visuals != null) {
+                visuals.remove(visual);
+                if (visuals.isEmpty()) {
+                    active.remove(entityId);
+                }
+            }
+        } else if (visual.isOneShot()) {
+            Entity entity = level.getEntity(entityId);
+            if (entity != null) {
+                visual.spawn(entity, random);
+            }
+        } else {
+            active.computeIfAbsent(entityId, id -> new EnumMap<>(EffectVisual.class))
+                    .put(visual, duration >= 0 ? counter + duration : -1);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onClientTick(TickEvent.ClientTickEvent event) {
+        Minecraft mc = Minecraft.getInstance();
+        if (event.phase != TickEvent.Phase.END || mc.level == null || mc.isPaused()) {
+            return;
+        }
+
+        counter++;
+
+        for (Iterator<Int2ObjectMap.Entry<Map<EffectVisual, Long>>> it = active.int2ObjectEntrySet().iterator(); it.hasNext(); ) {
+            Int2ObjectMap.Entry<Map<EffectVisual, Long>> entry = it.next();
+            Entity entity = mc.level.getEntity(entry.getIntKey());
+            if (entity == null || entity.isRemoved()) {
+                it.remove();
+                continue;
+            }
+
+            entry.getValue().entrySet().removeIf(visual -> visual.getValue() >= 0 && visual.getValue() <= counter);
+            if (entry.getValue().isEmpty()) {
+                it.remove();
+                continue;
+            }
+
+            for (EffectVisual visual : entry.getValue().keySet()) {
+                if (counter % visual.interval == 0) {
+                    visual.spawn(entity, random);
+                }
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        if (event.getWorld().isClientSide()) {
+            active.clear();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package se.mickelus.tetra.effect.visual;
+
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.effect.MobEffectInstance;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import se.mickelus.tetra.TetraMod;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Server side entry point for visuals, sends a single event when a visual starts or stops and lets clients spawn the particles. Events are
+ * sent to all players that may be tracking the entity, so that clients that have visuals active never miss the event stopping them. Clients
+ * that start tracking an entity later on are sent the visuals active for that entity.
+ */
+@ParametersAreNonnullByDefault
+public class EffectVisuals {
+    // visuals that are active until stopped, visuals tied to mob effects are derived from the active effects instead
+    private static final Map<Entity, Set<EffectVisual>> sustained = new WeakHashMap<>();
+
+    /**
+     * Starts a visual for the given entity, a negative duration keeps the visual active until stopped
+     */
+    public static void start(Entity entity, EffectVisual visual, int duration) {
+        send(entity, new EffectVisualPacket(entity, visual, duration));
+    }
+
+    public static void stop(Entity entity, EffectVisual visual) {
+        send(entity, new EffectVisualPacket(entity, visual, 0, true));
+    }
+
+    /**
+     * Spawns a one shot visual for the given entity
+     */
+    public static void burst(Entity entity, EffectVisual visual) {
+        send(entity, new EffectVisualPacket(entity, visual, 0));
+    }
+
+    /**
+     * Starts or stops a visual that's active until stopped, only sends an event when the state of the visual changes
+     */
+    public static void setActive(Entity entity, EffectVisual visual, boolean active) {
+        if (!(entity.level instanceof ServerLevel)) {
+            return;
+        }
+
+        Set<EffectVisual> visuals = sustained.get(entity);
+        if (active && (visuals == null || !visuals.contains(visual))) {
+            sustained.computeIfAbsent(entity, e -> EnumSet.noneOf(EffectVisual.class)).add(visual);
+            start(entity, visual, -1);
+        } else if (!active && visuals != null && visuals.remove(visual)) {
+            if (visuals.isEmpty()) {
+                sustained.remove(entity);
+            }
+            stop(entity, visual);
+        }
+    }
+
+    private static void send(Entity entity, EffectVisualPacket packet) {
+        if (entity.level instanceof ServerLevel serverLevel) {
+            serverLevel.getChunkSource().chunkMap.getPlayers(entity.chunkPosition(), false)
+                    .forEach(player -> TetraMod.packetHandler.sendTo(packet, player));
+        }
+    }
+
+    private static void sendActive(Entity entity, ServerPlayer player) {
+        if (entity instanceof LivingEntity livingEntity) {
+            Arrays.stream(EffectVisual.values())
+                    .filter(visual -> visual.getEffect() != null)
+                    .forEach(visual -> {
+                        MobEffectInstance instance = livingEntity.getEffect(visual.getEffect());
+                        if (instance != null) {
+                            TetraMod.packetHandler.sendTo(new EffectVisualPacket(entity, visual, instance.getDuration()), player);
+                        }
+                    });
+        }
+
+        Set<EffectVisual> visuals = sustained.get(entity);
+        if (visuals != null) {
+            visuals.forEach(visual -> TetraMod.packetHandler.sendTo(new EffectVisualPacket(entity, visual, -1), player));
+        }
+    }
+
+    @SubscribeEvent
+    public static void onStartTracking(PlayerEvent.StartTracking event) {
+        if (event.getPlayer() instanceof ServerPlayer player) {
+            sendActive(event.getTarget(), player);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event) {
+        if (event.getPlayer() instanceof ServerPlayer player) {
+            sendActive(player, player);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerChangedDimension(PlayerEvent.PlayerChangedDimensionEvent event) {
+        if (event.getPlayer() instanceof ServerPlayer player) {
+            sendActive(player, player);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        sustained.remove(event.getPlayer());
+    }
+}
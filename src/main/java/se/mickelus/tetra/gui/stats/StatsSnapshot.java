@@ -0,0 +1,165 @@
+package se.mickelus.tetra.gui.stats;
+
+import it.unimi.dsi.fastutil.objects.Object2DoubleMap;
+import it.unimi.dsi.fastutil.objects.Object2DoubleOpenHashMap;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import se.mickelus.tetra.gui.stats.getter.IStatGetter;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.Map;
+
+/**
+ * Holds stat values computed for the stacks currently displayed by the stats GUIs, the same values would otherwise be computed several
+ * times for every bar each time the displayed stacks change (e.g. when hovering schematic variants). Values for the current stack are
+ * kept as long as the current stack is unchanged, and values for the most recent preview stacks are kept so that hovering back and forth
+ * between variants doesn't recompute them. All values are dropped when the player changes or after a short while, as some stats depend
+ * on the state of the player.
+ */
+@ParametersAreNonnullByDefault
+@OnlyIn(Dist.CLIENT)
+public class StatsSnapshot {
+    private static final int previewCapacity = 8;
+    private static final int lifetime = 20;
+
+    private static Player player;
+    private static long timestamp;
+
+    private static final Values empty = new Values(ItemStack.EMPTY);
+    private static Values current;
+    private static Values preview;
+    private static final LinkedList<Values> previews = new LinkedList<>();
+
+    /**
+     * Should be called before stat bars are updated, stat values for the given stacks are cached until this is called with other stacks
+     */
+    public static void update(Player player, ItemStack currentStack, ItemStack previewStack) {
+        long time = player.level.getGameTime();
+        if (player != StatsSnapshot.player || time - timestamp > lifetime || time < timestamp) {
+            clear();
+            StatsSnapshot.player = player;
+            timestamp = time;
+        }
+
+        if (current == null || !current.matches(currentStack)) {
+            // whether stats should show depends on both stacks
+            previews.clear();
+            current = new Values(currentStack);
+        }
+        current.reference = currentStack;
+
+        preview = previews.stream()
+                .filter(values -> values.matches(previewStack))
+                .findFirst()
+                .orElse(null);
+        if (preview == null) {
+            preview = new Values(previewStack);
+            previews.addFirst(preview);
+            if (previews.size() > previewCapacity) {
+                previews.removeLast();
+            }
+        }
+        preview.reference = previewStack;
+    }
+
+    public static void clear() {
+        player = null;
+        current = null;
+        preview = null;
+        previews.clear();
+        empty.clear();
+    }
+
+    @Nullable
+    static Values get(Player player, ItemStack itemStack) {
+        if (player != StatsSnapshot.player) {
+            return null;
+        }
+
+        if (current != null && itemStack == current.reference) {
+            return current;
+        }
+
+        if (preview != null && itemStack == preview.reference) {
+            return preview;
+        }
+
+        if (itemStack.isEmpty()) {
+            return empty;
+        }
+
+        return null;
+    }
+
+    public static double getValue(IStatGetter getter, Player player, ItemStack itemStack) {
+        Values values = get(player, itemStack);
+        if (values == null) {
+            return getter.getValue(player, itemStack);
+        }
+
+        if (values.values.containsKey(getter)) {
+            return values.values.getDouble(getter);
+        }
+
+        double value = getter.getValue(player, itemStack);
+        values.values.put(getter, value);
+        return value;
+    }
+
+    public static double getValue(IStatGetter getter, Player player, ItemStack itemStack, String slot, @Nullable String improvement) {
+        Values values = get(player, itemStack);
+        if (values == null) {
+            return improvement != null ? getter.getValue(player, itemStack, slot, improvement) : getter.getValue(player, itemStack, slot);
+        }
+
+        Object2DoubleMap<IStatGetter> slotValues = values.slotValues.computeIfAbsent(slot + ":" + improvement,
+                key -> new Object2DoubleOpenHashMap<>());
+        if (slotValues.containsKey(getter)) {
+            return slotValues.getDouble(getter);
+        }
+
+        double value = improvement != null ? getter.getValue(player, itemStack, slot, improvement) : getter.getValue(player, itemStack, slot);
+        slotValues.put(getter, value);
+        return value;
+    }
+
+    public static boolean shouldShow(IStatGetter getter, Player player, ItemStack currentStack, ItemStack previewStack) {
+        // visibility is cached with the preview values, preview values are dropped when the current stack changes
+        Values values = get(player, previewStack);
+        if (values == null || values == empty || get(player, currentStack) != current) {
+            return getter.shouldShow(player, currentStack, previewStack);
+        }
+
+        return values.visibility.computeIfAbsent(getter, g -> g.shouldShow(player, currentStack, previewStack));
+    }
+
+    static class Values {
+        ItemStack reference;
+        final ItemStack copy;
+
+        final Object2DoubleMap<IStatGetter> values = new Object2DoubleOpenHashMap<>();
+        final Map<String, Object2DoubleMap<IStatGetter>> slotValues = new HashMap<>();
+        final Map<IStatGetter, Boolean> visibility = new IdentityHashMap<>();
+
+        Values(ItemStack itemStack) {
+            reference = itemStack;
+            copy = itemStack.copy();
+        }
+
+        boolean matches(ItemStack itemStack) {
+            return ItemStack.matches(copy, itemStack);
+        }
+
+        void clear() {
+            values.clear();
+            slotValues.clear();
+            visibility.clear();
+        }
+    }
+}
@@ -18,6 +18,7 @@ import se.mickelus.tetra.Tooltips;
 import se.mickelus.tetra.gui.stats.getter.ILabelGetter;
 import se.mickelus.tetra.gui.stats.getter.IStatGetter;
 import se.mickelus.tetra.gui.stats.getter.ITooltipGetter;
+import se.mickelus.tetra.gui.stats.getter.StatGetterCached;
 import se.mickelus.tetra.items.modular.IModularItem;
 
 import javax.annotation.Nullable;
@@ -86,7 +87,7 @@ public class GuiStatBar extends GuiStatBase {
         addChild(bar);
         addChild(indicatorGroup);
 
-        this.statGetter = statGetter;
+        this.statGetter = StatGetterCached.of(statGetter);
         this.labelGetter = labelGetter;
         this.tooltipGetter = tooltipGetter;
 
@@ -55,7 +55,7 @@ public class GuiStatBarIntegrity extends GuiStatBase {
 
         addChild(new GuiRect(29, 5, 1, 3, GuiColors.muted));
 
-        statGetter = new StatGetterIntegrity();
+        statGetter = StatGetterCached.of(new StatGetterIntegrity());
         labelGetter = LabelGetterBasic.integerLabel;
         tooltipGetterPositive = new TooltipGetterInteger("tetra.stats.integrity.tooltip_positive", statGetter);
         tooltipGetterNegative = new TooltipGetterInteger("tetra.stats.integrity.tooltip_negative", statGetter, true);
@@ -8,6 +8,7 @@ import se.mickelus.tetra.gui.GuiColors;
 import se.mickelus.tetra.gui.GuiTextures;
 import se.mickelus.tetra.gui.stats.getter.IStatGetter;
 import se.mickelus.tetra.gui.stats.getter.ITooltipGetter;
+import se.mickelus.tetra.gui.stats.getter.StatGetterCached;
 
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
@@ -22,7 +23,7 @@ public class GuiStatIndicator extends GuiTexture {
         super(x, y, 7, 7, textureIndex * 7, 144, GuiTextures.workbench);
 
         this.label = I18n.get(label);
-        this.statGetter = statGetter;
+        this.statGetter = StatGetterCached.of(statGetter);
         this.tooltipGetter = tooltipGetter;
     }
 
@@ -0,0 +1,51 @@
+package se.mickelus.tetra.gui.stats.getter;
+
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import se.mickelus.tetra.gui.stats.StatsSnapshot;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Reads values for the stacks displayed by the stats GUIs from the {@link StatsSnapshot}, falls back to the wrapped getter for other
+ * stacks
+ */
+@ParametersAreNonnullByDefault
+@OnlyIn(Dist.CLIENT)
+public class StatGetterCached implements IStatGetter {
+    private final IStatGetter getter;
+
+    public StatGetterCached(IStatGetter getter) {
+        this.getter = getter;
+    }
+
+    public static IStatGetter of(IStatGetter getter) {
+        if (getter instanceof StatGetterCached) {
+            return getter;
+        }
+
+        return new StatGetterCached(getter);
+    }
+
+    @Override
+    public boolean shouldShow(Player player, ItemStack currentStack, ItemStack previewStack) {
+        return StatsSnapshot.shouldShow(getter, player, currentStack, previewStack);
+    }
+
+    @Override
+    public double getValue(Player player, ItemStack itemStack) {
+        return StatsSnapshot.getValue(getter, player, itemStack);
+    }
+
+    @Override
+    public double getValue(Player player, ItemStack itemStack, String slot) {
+        return StatsSnapshot.getValue(getter, player, itemStack, slot, null);
+    }
+
+    @Override
+    public double getValue(Player player, ItemStack itemStack, String slot, String improvement) {
+        return StatsSnapshot.getValue(getter, player, itemStack, slot, improvement);
+    }
+}
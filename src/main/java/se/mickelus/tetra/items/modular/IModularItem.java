@@ -44,8 +44,11 @@ import se.mickelus.tetra.module.ItemUpgradeRegistry;
 import se.mickelus.tetra.module.data.*;
 import se.mickelus.tetra.module.improvement.DestabilizationEffect;
 import se.mickelus.tetra.module.improvement.HonePacket;
+import se.mickelus.tetra.module.improvement.ProgressionBuffer;
 import se.mickelus.tetra.module.schematic.RepairDefinition;
 import se.mickelus.tetra.properties.AttributeHelper;
+import se.mickelus.tetra.properties.AttributeVector;
+import se.mickelus.tetra.profiling.TetraMetrics;
 
 import javax.annotation.Nullable;
 import java.util.*;
@@ -325,6 +328,19 @@ public interface IModularItem {
             return;
         }
 
+        // progression for players is buffered server side to avoid writing to the stack (and syncing it) on every use
+        if (entity instanceof ServerPlayer) {
+            ProgressionBuffer.tick((ServerPlayer) entity, itemStack, multiplier);
+            return;
+        }
+
+        applyProgression(entity, itemStack, multiplier);
+    }
+
+    /**
+     * Applies honing & settling progression directly to the given stack, {@link #tickProgression} should typically be used instead.
+     */
+    default void applyProgression(LivingEntity entity, ItemStack itemStack, int multiplier) {
         tickHoningProgression(entity, itemStack, multiplier);
 
         for (ItemModuleMajor module : getMajorModules(itemStack)) {
@@ -332,6 +348,26 @@ public interface IModularItem {
         }
     }
 
+    /**
+     * Returns the number of uses left until the item becomes honeable or one of its modules settles, whichever comes first.
+     *
+     * @return the number of uses left, or Integer.MAX_VALUE if the item will neither hone nor settle
+     */
+    default int getProgressionHeadroom(ItemStack itemStack) {
+        int result = Integer.MAX_VALUE;
+        if (canGainHoneProgress() && !isHoneable(itemStack)) {
+            result = getHoningProgress(itemStack);
+        }
+
+        for (ItemModuleMajor module : getMajorModules(itemStack)) {
+            if (module != null) {
+                result = Math.min(result, module.getSettleHeadroom(itemStack));
+            }
+        }
+
+        return result;
+    }
+
     default void tickHoningProgression(LivingEntity entity, ItemStack itemStack, int multiplier) {
         if (!ConfigHandler.moduleProgression.get() || !canGainHoneProgress()) {
             return;
@@ -466,31 +502,7 @@ public interface IModularItem {
         }
 
         if (Screen.hasShiftDown()) {
-            tooltip.add(Tooltips.expanded);
-            Arrays.stream(getMajorModules(itemStack))
-                    .filter(Objects::nonNull)
-                    .forEach(module -> {
-
-                        tooltip.add(new TextComponent("\u00BB ").withStyle(ChatFormatting.DARK_GRAY)
-                                .append(new TextComponent(module.getName(itemStack)).withStyle(ChatFormatting.GRAY)));
-
-                        module.getEnchantments(itemStack).entrySet().stream()
-                                .map(entry -> entry.getKey().getFullname(entry.getValue()))
-                                .map(text -> new TextComponent("  - " + text.getString()))
-                                .map(text -> text.withStyle(ChatFormatting.DARK_GRAY))
-                                .forEach(tooltip::add);
-
-                        Arrays.stream(module.getImprovements(itemStack))
-                                .map(improvement -> "  - " + getImprovementTooltip(improvement.key, improvement.level, true))
-                                .map(TextComponent::new)
-                                .map(textComponent -> textComponent.withStyle(ChatFormatting.DARK_GRAY))
-                                .forEach(tooltip::add);
-                    });
-            Arrays.stream(getMinorModules(itemStack))
-                    .filter(Objects::nonNull)
-                    .map(module -> new TextComponent(" * ").withStyle(ChatFormatting.DARK_GRAY)
-                            .append(new TextComponent(module.getName(itemStack)).withStyle(ChatFormatting.GRAY)))
-                    .forEach(tooltip::add);
+            tooltip.addAll(ModularItemLocalization.getTooltipLines(this, itemStack, "expanded", () -> getModuleTooltip(itemStack)));
 
             // honing tooltip
             if (ConfigHandler.moduleProgression.get() && canGainHoneProgress()) {
@@ -506,14 +518,55 @@ public interface IModularItem {
                 }
             }
         } else {
-            ItemStack.appendEnchantmentNames(tooltip, itemStack.getEnchantmentTags());
-
-            tooltip.add(Tooltips.expand);
+            // vanilla enchantments are not part of the data cache key
+            tooltip.addAll(ModularItemLocalization.getTooltipLines(this, itemStack, "collapsed:" + itemStack.getEnchantmentTags().hashCode(),
+                    () -> {
+                        List<Component> lines = Lists.newArrayList();
+                        ItemStack.appendEnchantmentNames(lines, itemStack.getEnchantmentTags());
+                        lines.add(Tooltips.expand);
+                        return lines;
+                    }));
         }
 
         return tooltip;
     }
 
+    /**
+     * Lists the modules of the item along with their enchantments & improvements, displayed in the expanded tooltip. Results are cached per
+     * composition so this should not include parts that change with use.
+     */
+    @OnlyIn(Dist.CLIENT)
+    default List<Component> getModuleTooltip(ItemStack itemStack) {
+        List<Component> tooltip = Lists.newArrayList();
+        tooltip.add(Tooltips.expanded);
+        Arrays.stream(getMajorModules(itemStack))
+                .filter(Objects::nonNull)
+                .forEach(module -> {
+
+                    tooltip.add(new TextComponent("\u00BB ").withStyle(ChatFormatting.DARK_GRAY)
+                            .append(new TextComponent(module.getName(itemStack)).withStyle(ChatFormatting.GRAY)));
+
+                    module.getEnchantments(itemStack).entrySet().stream()
+                            .map(entry -> entry.getKey().getFullname(entry.getValue()))
+                            .map(text -> new TextComponent("  - " + text.getString()))
+                            .map(text -> text.withStyle(ChatFormatting.DARK_GRAY))
+                            .forEach(tooltip::add);
+
+                    Arrays.stream(module.getImprovements(itemStack))
+                            .map(improvement -> "  - " + getImprovementTooltip(improvement.key, improvement.level, true))
+                            .map(TextComponent::new)
+                            .map(textComponent -> textComponent.withStyle(ChatFormatting.DARK_GRAY))
+                            .forEach(tooltip::add);
+                });
+        Arrays.stream(getMinorModules(itemStack))
+                .filter(Objects::nonNull)
+                .map(module -> new TextComponent(" * ").withStyle(ChatFormatting.DARK_GRAY)
+                        .append(new TextComponent(module.getName(itemStack)).withStyle(ChatFormatting.GRAY)))
+                .forEach(tooltip::add);
+
+        return tooltip;
+    }
+
     default String getImprovementTooltip(String key, int level, boolean clearFormatting) {
         if (clearFormatting) {
             return ChatFormatting.stripFormatting(getImprovementName(key, level));
@@ -750,19 +803,31 @@ public interface IModularItem {
                 .reduce(attributes, AttributeHelper::merge);
     }
 
+    /**
+     * Aggregates the same modifiers as getAttributeModifiers, but merges them in place into a vector
+     */
+    default AttributeVector getAttributeVector(ItemStack itemStack) {
+        AttributeVector result = new AttributeVector();
+        for (ItemModule module : getAllModules(itemStack)) {
+            module.addAttributeModifiers(itemStack, result);
+        }
+
+        result.add(getEffectAttributes(itemStack));
+
+        for (SynergyData synergy : getSynergyData(itemStack)) {
+            result.add(synergy.attributes);
+        }
+
+        return result;
+    }
+
     default Multimap<Attribute, AttributeModifier> getAttributeModifiersCollapsed(ItemStack itemStack) {
         if (logger.isDebugEnabled()) {
             logger.debug("Gathering attribute modifiers for {} ({})", getItemName(itemStack), getDataCacheKey(itemStack));
         }
-        return Optional.ofNullable(getAttributeModifiers(itemStack))
-                .map(modifiers -> modifiers
-                        .asMap()
-                        .entrySet()
-                        .stream()
-                        .collect(Multimaps.flatteningToMultimap(
-                                Map.Entry::getKey,
-                                entry -> AttributeHelper.collapse(entry.getValue()).stream(),
-                                ArrayListMultimap::create)))
+        return Optional.of(getAttributeVector(itemStack))
+                .filter(vector -> !vector.isEmpty())
+                .map(AttributeVector::toModifiers)
                 .map(this::fixIdentifiers)
                 .orElse(null);
     }
@@ -775,8 +840,13 @@ public interface IModularItem {
 
     default Multimap<Attribute, AttributeModifier> getAttributeModifiersCached(ItemStack itemStack) {
         try {
-            return getAttributeModifierCache().get(getDataCacheKey(itemStack),
-                    () -> Optional.ofNullable(getAttributeModifiersCollapsed(itemStack)).orElseGet(ImmutableMultimap::of));
+            return getAttributeModifierCache().get(getDataCacheKey(itemStack), () -> {
+                long start = TetraMetrics.attributes.start();
+                Multimap<Attribute, AttributeModifier> result = Optional.ofNullable(getAttributeModifiersCollapsed(itemStack))
+                        .orElseGet(ImmutableMultimap::of);
+                TetraMetrics.attributes.stop(start);
+                return result;
+            });
         } catch (ExecutionException e) {
             e.printStackTrace();
             return getAttributeModifiersCollapsed(itemStack);
@@ -816,8 +886,12 @@ public interface IModularItem {
 
     default EffectData getEffectDataCached(ItemStack itemStack) {
         try {
-            return getEffectDataCache().get(getDataCacheKey(itemStack),
-                    () -> Optional.ofNullable(getEffectData(itemStack)).orElseGet(EffectData::new));
+            return getEffectDataCache().get(getDataCacheKey(itemStack), () -> {
+                long start = TetraMetrics.effectData.start();
+                EffectData result = Optional.ofNullable(getEffectData(itemStack)).orElseGet(EffectData::new);
+                TetraMetrics.effectData.stop(start);
+                return result;
+            });
         } catch (ExecutionException e) {
             e.printStackTrace();
             return Optional.ofNullable(getEffectData(itemStack)).orElseGet(EffectData::new);
@@ -839,7 +913,12 @@ public interface IModularItem {
 
     default ItemProperties getPropertiesCached(ItemStack itemStack) {
         try {
-            return getPropertyCache().get(getDataCacheKey(itemStack), () -> getProperties(itemStack));
+            return getPropertyCache().get(getDataCacheKey(itemStack), () -> {
+                long start = TetraMetrics.properties.start();
+                ItemProperties result = getProperties(itemStack);
+                TetraMetrics.properties.stop(start);
+                return result;
+            });
         } catch (ExecutionException e) {
             e.printStackTrace();
             return getProperties(itemStack);
@@ -898,6 +977,14 @@ public interface IModularItem {
             return "";
         }
 
+        return ModularItemLocalization.getName(this, itemStack, () -> getItemNameUncached(itemStack));
+    }
+
+    /**
+     * Resolves the name of the item from its synergies, modules & improvements, use {@link #getItemName(ItemStack)} which caches the
+     * result per composition
+     */
+    default String getItemNameUncached(ItemStack itemStack) {
         String name = Arrays.stream(getSynergyData(itemStack))
                 .map(synergyData -> synergyData.name)
                 .filter(Objects::nonNull)
@@ -1067,6 +1154,29 @@ public interface IModularItem {
                 .collect(Collectors.collectingAndThen(Collectors.toList(), ImmutableList::copyOf));
     }
 
+    /**
+     * Items that switch between a fixed set of models based on how they are held (e.g. bows as they are drawn) can expose those as
+     * stages, all stages are then baked at once and the model for the current stage is picked by index without any per frame lookups.
+     * @return the number of model stages, 1 if the item does not use stages
+     */
+    @OnlyIn(Dist.CLIENT)
+    default int getModelStageCount() {
+        return 1;
+    }
+
+    /**
+     * @return the index of the model stage that should currently be used, between 0 and getModelStageCount() - 1
+     */
+    @OnlyIn(Dist.CLIENT)
+    default int getModelStage(ItemStack itemStack, @Nullable LivingEntity entity) {
+        return 0;
+    }
+
+    @OnlyIn(Dist.CLIENT)
+    default ImmutableList<ModuleModel> getStageModels(ItemStack itemStack, int stage) {
+        return getModels(itemStack, null);
+    }
+
     @OnlyIn(Dist.CLIENT)
     default String getTransformVariant(ItemStack itemStack, @Nullable LivingEntity entity) {
         return null;
@@ -3,11 +3,10 @@ package se.mickelus.tetra.items.modular;
 import com.google.gson.JsonObject;
 import net.minecraft.advancements.critereon.ItemPredicate;
 import net.minecraft.world.item.ItemStack;
-import se.mickelus.tetra.data.DataManager;
+import se.mickelus.tetra.data.MaterialResolver;
 import se.mickelus.tetra.module.data.MaterialData;
 
 import javax.annotation.ParametersAreNonnullByDefault;
-import java.util.Comparator;
 
 @ParametersAreNonnullByDefault
 public class MaterialItemPredicate extends ItemPredicate {
@@ -20,12 +19,7 @@ public class MaterialItemPredicate extends ItemPredicate {
 
     @Override
     public boolean matches(ItemStack itemStack) {
-        MaterialData materialData = DataManager.instance.materialData.getData().values().stream()
-                .sorted(Comparator.comparing(data -> data.material.isTagged()))
-                .filter(data -> data.material.isValid())
-                .filter(data -> data.material.getPredicate().matches(itemStack))
-                .findFirst()
-                .orElse(null);
+        MaterialData materialData = MaterialResolver.resolve(itemStack);
         if (materialData != null) {
             return category == null || category.equals(materialData.category);
         }
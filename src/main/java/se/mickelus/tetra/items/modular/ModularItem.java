@@ -26,6 +26,8 @@ import se.mickelus.tetra.module.data.EffectData;
 import se.mickelus.tetra.module.data.ItemProperties;
 import se.mickelus.tetra.module.data.SynergyData;
 import se.mickelus.tetra.module.data.ToolData;
+import se.mickelus.tetra.profiling.ProfilerMetric;
+import se.mickelus.tetra.profiling.TetraProfiler;
 import se.mickelus.tetra.properties.IToolProvider;
 
 import javax.annotation.Nonnull;
@@ -40,21 +42,26 @@ public abstract class ModularItem extends TetraItem implements IModularItem, ITo
     public static final UUID attackDamageModifier = Item.BASE_ATTACK_DAMAGE_UUID;
     public static final UUID attackSpeedModifier = Item.BASE_ATTACK_SPEED_UUID;
     private static final Logger logger = LogManager.getLogger();
+    private static final ProfilerMetric cacheClearMetric = TetraProfiler.metric("item/cache_clear");
     private final Cache<String, Multimap<Attribute, AttributeModifier>> attributeCache = CacheBuilder.newBuilder()
             .maximumSize(1000)
             .expireAfterWrite(5, TimeUnit.MINUTES)
+            .recordStats()
             .build();
     private final Cache<String, ToolData> toolCache = CacheBuilder.newBuilder()
             .maximumSize(1000)
             .expireAfterWrite(5, TimeUnit.MINUTES)
+            .recordStats()
             .build();
     private final Cache<String, EffectData> effectCache = CacheBuilder.newBuilder()
             .maximumSize(1000)
             .expireAfterWrite(5, TimeUnit.MINUTES)
+            .recordStats()
             .build();
     private final Cache<String, ItemProperties> propertyCache = CacheBuilder.newBuilder()
             .maximumSize(1000)
             .expireAfterWrite(5, TimeUnit.MINUTES)
+            .recordStats()
             .build();
     protected int honeBase = 450;
     protected int honeIntegrityMultiplier = 200;
@@ -71,10 +78,16 @@ public abstract class ModularItem extends TetraItem implements IModularItem, ITo
         super(properties);
 
         DataManager.instance.moduleData.onReload(this::clearCaches);
+
+        TetraProfiler.registerCache("item_attributes", attributeCache);
+        TetraProfiler.registerCache("item_tools", toolCache);
+        TetraProfiler.registerCache("item_effects", effectCache);
+        TetraProfiler.registerCache("item_properties", propertyCache);
     }
 
     public void clearCaches() {
         logger.debug("Clearing item data caches for {}...", getRegistryName());
+        cacheClearMetric.increment();
         attributeCache.invalidateAll();
         toolCache.invalidateAll();
         effectCache.invalidateAll();
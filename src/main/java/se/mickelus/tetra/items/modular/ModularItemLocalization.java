@@ -0,0 +1,78 @@
+package se.mickelus.tetra.items.modular;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import net.minecraft.locale.Language;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.item.ItemStack;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import se.mickelus.tetra.profiling.TetraProfiler;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Caches localized names and tooltip lines for modular items per composition, resolving these requires translation lookups for every
+ * module, variant and improvement on the item. Entries are keyed by the data cache key of the item and the active language, and are
+ * dropped when module data or resources are reloaded. Parts that change as the item is used (e.g. durability & honing progress) are
+ * not cached.
+ */
+@ParametersAreNonnullByDefault
+public class ModularItemLocalization {
+    private static final Logger logger = LogManager.getLogger();
+
+    private static final Cache<String, String> nameCache = CacheBuilder.newBuilder()
+            .maximumSize(1000)
+            .expireAfterAccess(5, TimeUnit.MINUTES)
+            .recordStats()
+            .build();
+
+    private static final Cache<String, List<Component>> tooltipCache = CacheBuilder.newBuilder()
+            .maximumSize(1000)
+            .expireAfterAccess(5, TimeUnit.MINUTES)
+            .recordStats()
+            .build();
+
+    static {
+        TetraProfiler.registerCache("item_names", nameCache);
+        TetraProfiler.registerCache("item_tooltips", tooltipCache);
+    }
+
+    public static void invalidate() {
+        nameCache.invalidateAll();
+        tooltipCache.invalidateAll();
+    }
+
+    private static String getKey(IModularItem item, ItemStack itemStack) {
+        // the language instance is replaced when the language is changed
+        return item.getItem().getRegistryName() + ":" + item.getDataCacheKey(itemStack) + ":"
+                + System.identityHashCode(Language.getInstance());
+    }
+
+    public static String getName(IModularItem item, ItemStack itemStack, Supplier<String> nameSupplier) {
+        try {
+            return nameCache.get(getKey(item, itemStack), nameSupplier::get);
+        } catch (ExecutionException e) {
+            logger.warn("Failed to resolve name for modular item", e);
+            return nameSupplier.get();
+        }
+    }
+
+    /**
+     * @param variant distinguishes different sets of lines for the same item, e.g. expanded tooltips or tooltips with advanced info
+     */
+    public static List<Component> getTooltipLines(IModularItem item, ItemStack itemStack, String variant,
+            Supplier<List<Component>> linesSupplier) {
+        try {
+            return tooltipCache.get(getKey(item, itemStack) + ":" + variant, () -> ImmutableList.copyOf(linesSupplier.get()));
+        } catch (ExecutionException e) {
+            logger.warn("Failed to resolve tooltip for modular item", e);
+            return linesSupplier.get();
+        }
+    }
+}
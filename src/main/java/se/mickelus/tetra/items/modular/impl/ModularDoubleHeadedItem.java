@@ -36,10 +36,12 @@ import se.mickelus.tetra.items.TetraItemGroup;
 import se.mickelus.tetra.items.modular.IModularItem;
 import se.mickelus.tetra.items.modular.ItemModularHandheld;
 import se.mickelus.tetra.module.SchematicRegistry;
+import se.mickelus.tetra.module.data.SynergyData;
 import se.mickelus.tetra.module.data.ToolData;
 import se.mickelus.tetra.module.schematic.RemoveSchematic;
 import se.mickelus.tetra.module.schematic.RepairSchematic;
 import se.mickelus.tetra.properties.AttributeHelper;
+import se.mickelus.tetra.properties.AttributeVector;
 
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
@@ -172,6 +174,58 @@ public class ModularDoubleHeadedItem extends ItemModularHandheld {
                 .reduce(moduleAttributes, AttributeHelper::merge);
     }
 
+    // overridden to not stack the damage attribute between heads, mirrors getAttributeModifiers
+    @Override
+    public AttributeVector getAttributeVector(ItemStack itemStack) {
+        AttributeVector result = new AttributeVector();
+        double[] headDamage = {Double.NaN, Double.NaN};
+
+        Stream.of(getModuleFromSlot(itemStack, headLeftKey), getModuleFromSlot(itemStack, headRightKey))
+                .filter(Objects::nonNull)
+                .forEach(module -> {
+                    AttributeVector headVector = new AttributeVector();
+                    module.addAttributeModifiers(itemStack, headVector);
+                    headVector.forEach((attribute, addition, multiplier) -> {
+                        if (Attributes.ATTACK_DAMAGE.equals(attribute)) {
+                            if (addition != 0) {
+                                headDamage[0] = Double.isNaN(headDamage[0]) ? addition : Math.max(headDamage[0], addition);
+                            }
+                            if (multiplier - 1 != 0) {
+                                headDamage[1] = Double.isNaN(headDamage[1]) ? multiplier - 1 : Math.max(headDamage[1], multiplier - 1);
+                            }
+                        } else {
+                            addCollapsed(result, attribute, addition, multiplier);
+                        }
+                    });
+                });
+
+        if (!Double.isNaN(headDamage[0])) {
+            result.add(Attributes.ATTACK_DAMAGE, AttributeModifier.Operation.ADDITION, headDamage[0]);
+        }
+        if (!Double.isNaN(headDamage[1])) {
+            result.add(Attributes.ATTACK_DAMAGE, AttributeModifier.Operation.MULTIPLY_TOTAL, headDamage[1]);
+        }
+
+        getAllModules(itemStack).stream()
+                .filter(itemModule -> !(headLeftKey.equals(itemModule.getSlot()) || headRightKey.equals(itemModule.getSlot())))
+                .forEach(module -> module.addAttributeModifiers(itemStack, result));
+
+        for (SynergyData synergy : getSynergyData(itemStack)) {
+            result.add(synergy.attributes);
+        }
+
+        return result;
+    }
+
+    private static void addCollapsed(AttributeVector vector, Attribute attribute, double addition, double multiplier) {
+        if (addition != 0) {
+            vector.add(attribute, AttributeModifier.Operation.ADDITION, addition);
+        }
+        if (multiplier - 1 != 0) {
+            vector.add(attribute, AttributeModifier.Operation.MULTIPLY_TOTAL, multiplier - 1);
+        }
+    }
+
     // overridden to not stack the tool level/efficiency attribute between heads
     @Override
     public ToolData getToolDataRaw(ItemStack itemStack) {
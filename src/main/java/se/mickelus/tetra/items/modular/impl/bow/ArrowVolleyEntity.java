@@ -0,0 +1,493 @@
+package se.mickelus.tetra.items.modular.impl.bow;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.particles.ParticleTypes;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.projectile.AbstractArrow;
+import net.minecraft.world.entity.projectile.Arrow;
+import net.minecraft.world.entity.projectile.SpectralArrow;
+import net.minecraft.world.level.ClipContext;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.BlockHitResult;
+import net.minecraft.world.phys.HitResult;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.entity.IEntityAdditionalSpawnData;
+import net.minecraftforge.network.NetworkHooks;
+import net.minecraftforge.network.PlayMessages;
+import net.minecraftforge.registries.ObjectHolder;
+import se.mickelus.tetra.TetraMod;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.List;
+
+/**
+ * Simulates the flight of several arrows fired at once within a single entity, rather than each arrow being tracked, ticked and synced as
+ * an entity of its own. Trajectories are kept in primitive arrays and simulated the same way arrows are, collisions for all trajectories
+ * are checked against a single shared entity query. A trajectory is split off into its original arrow entity as soon as it would hit
+ * something (or enter a fluid or unloaded area), the arrow is then ticked immediately so that it hits exactly what it would have hit had
+ * it been an entity all along. All hit handling is thus left to the arrows themselves.
+ */
+@ParametersAreNonnullByDefault
+public class ArrowVolleyEntity extends Entity implements IEntityAdditionalSpawnData {
+    public static final String unlocalizedName = "arrow_volley";
+    @ObjectHolder(TetraMod.MOD_ID + ":" + unlocalizedName)
+    public static EntityType<ArrowVolleyEntity> type;
+
+    // volleys are only used when at least this many arrows are fired at once
+    public static final int minimumCount = 8;
+    // trajectories are stored in a bitmask, so a volley can't hold more than this
+    public static final int maximumCount = 64;
+
+    public static final int textureNormal = 0;
+    public static final int textureTipped = 1;
+    public static final int textureSpectral = 2;
+
+    private static final String arrowsKey = "arrows";
+
+    // arrows split off into entities once they have been in flight for this long, in case they never hit anything
+    private static final int maxAge = 1200;
+
+    private int count;
+    private long alive;
+    private long leftOwner;
+
+    private double[] positions;
+    private double[] previousPositions;
+    private double[] motions;
+
+    private boolean noGravity;
+    private boolean crit;
+    private int texture;
+
+    // server only, the arrows that trajectories are split off into
+    private AbstractArrow[] arrows;
+
+    private AABB cullingBounds;
+
+    public ArrowVolleyEntity(EntityType<? extends ArrowVolleyEntity> type, Level level) {
+        super(type, level);
+
+        noPhysics = true;
+        setArrays(0);
+    }
+
+    public ArrowVolleyEntity(PlayMessages.SpawnEntity packet, Level level) {
+        this(type, level);
+    }
+
+    public ArrowVolleyEntity(Level level, List<AbstractArrow> arrows) {
+        this(type, level);
+
+        setArrows(arrows.toArray(new AbstractArrow[0]));
+        moveTo(this.arrows[0].getX(), this.arrows[0].getY(), this.arrows[0].getZ());
+    }
+
+    /**
+     * Only plain arrows are simulated by volleys, other arrows may rely on behaviour that happens while in flight
+     */
+    public static boolean canVolley(AbstractArrow arrow) {
+        return arrow.getClass() == Arrow.class || arrow.getClass() == SpectralArrow.class;
+    }
+
+    private void setArrays(int count) {
+        this.count = count;
+        alive = count >= maximumCount ? -1L : (1L << count) - 1;
+        positions = new double[count * 3];
+        previousPositions = new double[count * 3];
+        motions = new double[count * 3];
+    }
+
+    private void setArrows(AbstractArrow[] arrows) {
+        this.arrows = arrows;
+        setArrays(arrows.length);
+
+        for (int i = 0; i < count; i++) {
+            AbstractArrow arrow = arrows[i];
+            Vec3 motion = arrow.getDeltaMovement();
+            positions[i * 3] = arrow.getX();
+            positions[i * 3 + 1] = arrow.getY();
+            positions[i * 3 + 2] = arrow.getZ();
+            motions[i * 3] = motion.x;
+            motions[i * 3 + 1] = motion.y;
+            motions[i * 3 + 2] = motion.z;
+        }
+        System.arraycopy(positions, 0, previousPositions, 0, positions.length);
+
+        noGravity = arrows[0].isNoGravity();
+        crit = arrows[0].isCritArrow();
+        if (arrows[0] instanceof SpectralArrow) {
+            texture = textureSpectral;
+        } else if (arrows[0] instanceof Arrow && ((Arrow) arrows[0]).getColor() > 0) {
+            texture = textureTipped;
+        } else {
+            texture = textureNormal;
+        }
+    }
+
+    public boolean isAlive(int index) {
+        return (alive & 1L << index) != 0;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getTexture() {
+        return texture;
+    }
+
+    public double getX(int index, float partialTicks) {
+        return Mth.lerp(partialTicks, previousPositions[index * 3], positions[index * 3]);
+    }
+
+    public double getY(int index, float partialTicks) {
+        return Mth.lerp(partialTicks, previousPositions[index * 3 + 1], positions[index * 3 + 1]);
+    }
+
+    public double getZ(int index, float partialTicks) {
+        return Mth.lerp(partialTicks, previousPositions[index * 3 + 2], positions[index * 3 + 2]);
+    }
+
+    public Vec3 getMotion(int index) {
+        return new Vec3(motions[index * 3], motions[index * 3 + 1], motions[index * 3 + 2]);
+    }
+
+    private Vec3 getPosition(int index) {
+        return new Vec3(positions[index * 3], positions[index * 3 + 1], positions[index * 3 + 2]);
+    }
+
+    @Nullable
+    private Entity getOwner() {
+        if (arrows != null) {
+            for (int i = 0; i < count; i++) {
+                if (isAlive(i)) {
+                    return arrows[i].getOwner();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Called on the client when the server has split trajectories off into arrow entities
+     */
+    public void removeTrajectories(long mask) {
+        alive &= ~mask;
+    }
+
+    @Override
+    public void tick() {
+        super.tick();
+
+        System.arraycopy(positions, 0, previousPositions, 0, positions.length);
+
+        if (level.isClientSide) {
+            tickClient();
+        } else {
+            tickServer();
+        }
+
+        updateBounds();
+    }
+
+    private void tickServer() {
+        if (alive == 0) {
+            discard();
+            return;
+        }
+
+        AABB bounds = getTrajectoryBounds(true);
+        Entity owner = getOwner();
+        List<Entity> candidates = level.getEntities(this, bounds.inflate(1),
+                entity -> !entity.isSpectator() && entity.isAlive() && entity.isPickable() && !(entity instanceof ArrowVolleyEntity));
+
+        long split = 0;
+        for (int i = 0; i < count; i++) {
+            if (!isAlive(i)) {
+                continue;
+            }
+
+            Vec3 start = getPosition(i);
+            Vec3 end = start.add(getMotion(i));
+
+            if (owner != null && (leftOwner & 1L << i) == 0
+                    && !owner.getBoundingBox().inflate(1).intersects(new AABB(start, end))) {
+                leftOwner |= 1L << i;
+            }
+
+            if (shouldSplit(i, start, end, candidates, owner)) {
+                split |= 1L << i;
+                continue;
+            }
+
+            move(i);
+        }
+
+        if (split != 0) {
+            alive &= ~split;
+            for (int i = 0; i < count; i++) {
+                if ((split & 1L << i) != 0) {
+                    splitArrow(i);
+                }
+            }
+
+            TetraMod.packetHandler.sendToAllPlayersNear(new VolleySplitPacket(this, split), blockPosition(), 512, level.dimension());
+        }
+
+        for (int i = 0; i < count; i++) {
+            if (isAlive(i)) {
+                setPos(positions[i * 3], positions[i * 3 + 1], positions[i * 3 + 2]);
+                break;
+            }
+        }
+    }
+
+    private boolean shouldSplit(int index, Vec3 start, Vec3 end, List<Entity> candidates, @Nullable Entity owner) {
+        BlockPos endPos = new BlockPos(end);
+        if (tickCount >= maxAge
+                || !((ServerLevel) level).isPositionEntityTicking(endPos)
+                || !level.getFluidState(endPos).isEmpty()
+                || !level.getFluidState(new BlockPos(start)).isEmpty()) {
+            return true;
+        }
+
+        if (level.clip(new ClipContext(start, end, ClipContext.Block.COLLIDER, ClipContext.Fluid.NONE, arrows[index])).getType()
+                != HitResult.Type.MISS) {
+            return true;
+        }
+
+        for (Entity candidate : candidates) {
+            if (candidate == owner && (leftOwner & 1L << index) == 0) {
+                continue;
+            }
+
+            // arrows inflate the bounding box of entities by 0.3 when checking for hits
+            if (candidate.getBoundingBox().inflate(0.3).clip(start, end).isPresent()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Moves the trajectory the same way arrows move while in flight
+     */
+    private void move(int index) {
+        int offset = index * 3;
+        positions[offset] += motions[offset];
+        positions[offset + 1] += motions[offset + 1];
+        positions[offset + 2] += motions[offset + 2];
+
+        motions[offset] *= 0.99;
+        motions[offset + 1] *= 0.99;
+        motions[offset + 2] *= 0.99;
+
+        if (!noGravity) {
+            motions[offset + 1] -= 0.05;
+        }
+    }
+
+    private void splitArrow(int index) {
+        AbstractArrow arrow = arrows[index];
+        syncArrow(index);
+
+        level.addFreshEntity(arrow);
+
+        // tick the arrow right away as the volley did not move it this tick
+        arrow.setOldPosAndRot();
+        arrow.tickCount++;
+        arrow.tick();
+
+        // vanilla velocity sync breaks when velocity is >3.9 on any axis
+        if (!arrow.isRemoved() && arrow.getDeltaMovement().length() > 3.9) {
+            TetraMod.packetHandler.sendToAllPlayersNear(new ProjectileMotionPacket(arrow), arrow.blockPosition(), 512, level.dimension());
+        }
+    }
+
+    private void syncArrow(int index) {
+        AbstractArrow arrow = arrows[index];
+        Vec3 motion = getMotion(index);
+        float yRot = (float) (Mth.atan2(motion.x, motion.z) * (180 / Math.PI));
+        float xRot = (float) (Mth.atan2(motion.y, motion.horizontalDistance()) * (180 / Math.PI));
+
+        arrow.moveTo(positions[index * 3], positions[index * 3 + 1], positions[index * 3 + 2], yRot, xRot);
+        arrow.setDeltaMovement(motion);
+    }
+
+    private void tickClient() {
+        for (int i = 0; i < count; i++) {
+            if (!isAlive(i)) {
+                continue;
+            }
+
+            int offset = i * 3;
+            if (motions[offset] == 0 && motions[offset + 1] == 0 && motions[offset + 2] == 0) {
+                continue;
+            }
+
+            Vec3 start = getPosition(i);
+            Vec3 end = start.add(getMotion(i));
+
+            // stop at blocks until the server splits the arrow off, to avoid arrows visibly passing through walls
+            BlockHitResult hitResult = level.clip(new ClipContext(start, end, ClipContext.Block.COLLIDER, ClipContext.Fluid.NONE, this));
+            if (hitResult.getType() != HitResult.Type.MISS) {
+                Vec3 location = hitResult.getLocation();
+                positions[offset] = location.x;
+                positions[offset + 1] = location.y;
+                positions[offset + 2] = location.z;
+                motions[offset] = 0;
+                motions[offset + 1] = 0;
+                motions[offset + 2] = 0;
+                continue;
+            }
+
+            if (crit) {
+                for (int j = 0; j < 4; ++j) {
+                    level.addParticle(ParticleTypes.CRIT,
+                            start.x + motions[offset] * j / 4d,
+                            start.y + motions[offset + 1] * j / 4d,
+                            start.z + motions[offset + 2] * j / 4d,
+                            -motions[offset], -motions[offset + 1] + 0.2, -motions[offset + 2]);
+                }
+            }
+
+            move(i);
+        }
+    }
+
+    private AABB getTrajectoryBounds(boolean includeMotion) {
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, minZ = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE, maxZ = -Double.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            if (isAlive(i)) {
+                int offset = i * 3;
+                for (int j = 0; j < (includeMotion ? 2 : 1); j++) {
+                    double x = positions[offset] + motions[offset] * j;
+                    double y = positions[offset + 1] + motions[offset + 1] * j;
+                    double z = positions[offset + 2] + motions[offset + 2] * j;
+                    minX = Math.min(minX, x);
+                    minY = Math.min(minY, y);
+                    minZ = Math.min(minZ, z);
+                    maxX = Math.max(maxX, x);
+                    maxY = Math.max(maxY, y);
+                    maxZ = Math.max(maxZ, z);
+                }
+            }
+        }
+
+        if (minX > maxX) {
+            return getBoundingBox();
+        }
+
+        return new AABB(minX, minY, minZ, maxX, maxY, maxZ);
+    }
+
+    private void updateBounds() {
+        cullingBounds = getTrajectoryBounds(false).inflate(0.5);
+    }
+
+    @Override
+    public AABB getBoundingBoxForCulling() {
+        return cullingBounds != null ? cullingBounds : super.getBoundingBoxForCulling();
+    }
+
+    @Override
+    protected void defineSynchedData() {
+    }
+
+    @Override
+    public boolean isPickable() {
+        return false;
+    }
+
+    @Override
+    public boolean isPushable() {
+        return false;
+    }
+
+    /**
+     * Remaining trajectories are saved as the arrows they would be split into, so that volleys survive being unloaded
+     */
+    @Override
+    protected void addAdditionalSaveData(CompoundTag compound) {
+        ListTag list = new ListTag();
+        if (arrows != null) {
+            for (int i = 0; i < count; i++) {
+                if (isAlive(i)) {
+                    syncArrow(i);
+                    CompoundTag arrowTag = new CompoundTag();
+                    if (arrows[i].save(arrowTag)) {
+                        list.add(arrowTag);
+                    }
+                }
+            }
+        }
+
+        compound.put(arrowsKey, list);
+    }
+
+    @Override
+    protected void readAdditionalSaveData(CompoundTag compound) {
+        AbstractArrow[] loaded = compound.getList(arrowsKey, Tag.TAG_COMPOUND).stream()
+                .map(tag -> EntityType.create((CompoundTag) tag, level))
+                .filter(optional -> optional.filter(entity -> entity instanceof AbstractArrow).isPresent())
+                .map(optional -> (AbstractArrow) optional.get())
+                .limit(maximumCount)
+                .toArray(AbstractArrow[]::new);
+
+        if (loaded.length > 0) {
+            setArrows(loaded);
+            // arrows have already had the chance to leave the owner when the volley was saved
+            leftOwner = -1L;
+        } else {
+            setArrays(0);
+        }
+    }
+
+    @Override
+    public Packet<?> getAddEntityPacket() {
+        return NetworkHooks.getEntitySpawningPacket(this);
+    }
+
+    @Override
+    public void writeSpawnData(FriendlyByteBuf buffer) {
+        buffer.writeByte(count);
+        buffer.writeLong(alive);
+        buffer.writeBoolean(noGravity);
+        buffer.writeBoolean(crit);
+        buffer.writeByte(texture);
+
+        for (int i = 0; i < count * 3; i++) {
+            buffer.writeDouble(positions[i]);
+            buffer.writeDouble(motions[i]);
+        }
+    }
+
+    @Override
+    public void readSpawnData(FriendlyByteBuf buffer) {
+        setArrays(buffer.readByte());
+        alive = buffer.readLong();
+        noGravity = buffer.readBoolean();
+        crit = buffer.readBoolean();
+        texture = buffer.readByte();
+
+        for (int i = 0; i < count * 3; i++) {
+            positions[i] = buffer.readDouble();
+            motions[i] = buffer.readDouble();
+        }
+        System.arraycopy(positions, 0, previousPositions, 0, positions.length);
+
+        updateBounds();
+    }
+}
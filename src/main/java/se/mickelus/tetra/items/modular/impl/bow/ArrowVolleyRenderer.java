@@ -0,0 +1,111 @@
+package se.mickelus.tetra.items.modular.impl.bow;
+
+import com.mojang.blaze3d.vertex.PoseStack;
+import com.mojang.blaze3d.vertex.VertexConsumer;
+import com.mojang.math.Matrix3f;
+import com.mojang.math.Matrix4f;
+import com.mojang.math.Vector3f;
+import net.minecraft.client.renderer.MultiBufferSource;
+import net.minecraft.client.renderer.RenderType;
+import net.minecraft.client.renderer.entity.EntityRenderer;
+import net.minecraft.client.renderer.entity.EntityRendererProvider;
+import net.minecraft.client.renderer.texture.OverlayTexture;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.Mth;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Draws all trajectories of a volley the same way vanilla arrows are drawn, all arrows share the light level of the volley entity
+ */
+@ParametersAreNonnullByDefault
+@OnlyIn(Dist.CLIENT)
+public class ArrowVolleyRenderer extends EntityRenderer<ArrowVolleyEntity> {
+    private static final ResourceLocation[] textures = new ResourceLocation[]{
+            new ResourceLocation("textures/entity/projectiles/arrow.png"),
+            new ResourceLocation("textures/entity/projectiles/tipped_arrow.png"),
+            new ResourceLocation("textures/entity/projectiles/spectral_arrow.png")
+    };
+
+    public ArrowVolleyRenderer(EntityRendererProvider.Context renderContext) {
+        super(renderContext);
+    }
+
+    @Override
+    public void render(ArrowVolleyEntity entity, float entityYaw, float partialTicks, PoseStack matrixStack, MultiBufferSource renderTypeBuffer, int packedLightIn) {
+        VertexConsumer vertexConsumer = renderTypeBuffer.getBuffer(RenderType.entityCutout(getTextureLocation(entity)));
+
+        double entityX = Mth.lerp(partialTicks, entity.xOld, entity.getX());
+        double entityY = Mth.lerp(partialTicks, entity.yOld, entity.getY());
+        double entityZ = Mth.lerp(partialTicks, entity.zOld, entity.getZ());
+
+        for (int i = 0; i < entity.getCount(); i++) {
+            if (!entity.isAlive(i)) {
+                continue;
+            }
+
+            Vec3 motion = entity.getMotion(i);
+            float yRot = (float) (Mth.atan2(motion.x, motion.z) * (180 / Math.PI));
+            float xRot = (float) (Mth.atan2(motion.y, motion.horizontalDistance()) * (180 / Math.PI));
+
+            matrixStack.pushPose();
+            matrixStack.translate(entity.getX(i, partialTicks) - entityX, entity.getY(i, partialTicks) - entityY,
+                    entity.getZ(i, partialTicks) - entityZ);
+            matrixStack.mulPose(Vector3f.YP.rotationDegrees(yRot - 90.0F));
+            matrixStack.mulPose(Vector3f.ZP.rotationDegrees(xRot));
+            renderArrow(matrixStack, vertexConsumer, packedLightIn);
+            matrixStack.popPose();
+        }
+
+        super.render(entity, entityYaw, partialTicks, matrixStack, renderTypeBuffer, packedLightIn);
+    }
+
+    /**
+     * Same geometry as drawn by the vanilla arrow renderer
+     */
+    private void renderArrow(PoseStack matrixStack, VertexConsumer vertexConsumer, int light) {
+        matrixStack.mulPose(Vector3f.XP.rotationDegrees(45.0F));
+        matrixStack.scale(0.05625F, 0.05625F, 0.05625F);
+        matrixStack.translate(-4.0D, 0.0D, 0.0D);
+
+        PoseStack.Pose pose = matrixStack.last();
+        vertex(pose, vertexConsumer, -7, -2, -2, 0.0F, 0.15625F, -1, 0, 0, light);
+        vertex(pose, vertexConsumer, -7, -2, 2, 0.15625F, 0.15625F, -1, 0, 0, light);
+        vertex(pose, vertexConsumer, -7, 2, 2, 0.15625F, 0.3125F, -1, 0, 0, light);
+        vertex(pose, vertexConsumer, -7, 2, -2, 0.0F, 0.3125F, -1, 0, 0, light);
+        vertex(pose, vertexConsumer, -7, 2, -2, 0.0F, 0.15625F, 1, 0, 0, light);
+        vertex(pose, vertexConsumer, -7, 2, 2, 0.15625F, 0.15625F, 1, 0, 0, light);
+        vertex(pose, vertexConsumer, -7, -2, 2, 0.15625F, 0.3125F, 1, 0, 0, light);
+        vertex(pose, vertexConsumer, -7, -2, -2, 0.0F, 0.3125F, 1, 0, 0, light);
+
+        for (int j = 0; j < 4; ++j) {
+            matrixStack.mulPose(Vector3f.XP.rotationDegrees(90.0F));
+            pose = matrixStack.last();
+            vertex(pose, vertexConsumer, -8, -2, 0, 0.0F, 0.0F, 0, 1, 0, light);
+            vertex(pose, vertexConsumer, 8, -2, 0, 0.5F, 0.0F, 0, 1, 0, light);
+            vertex(pose, vertexConsumer, 8, 2, 0, 0.5F, 0.15625F, 0, 1, 0, light);
+            vertex(pose, vertexConsumer, -8, 2, 0, 0.0F, 0.15625F, 0, 1, 0, light);
+        }
+    }
+
+    private void vertex(PoseStack.Pose pose, VertexConsumer vertexConsumer, int x, int y, int z, float u, float v, int normalX, int normalZ,
+            int normalY, int light) {
+        Matrix4f matrix = pose.pose();
+        Matrix3f normal = pose.normal();
+        vertexConsumer.vertex(matrix, x, y, z)
+                .color(255, 255, 255, 255)
+                .uv(u, v)
+                .overlayCoords(OverlayTexture.NO_OVERLAY)
+                .uv2(light)
+                .normal(normal, normalX, normalY, normalZ)
+                .endVertex();
+    }
+
+    @Override
+    public ResourceLocation getTextureLocation(ArrowVolleyEntity entity) {
+        return textures[Mth.clamp(entity.getTexture(), 0, textures.length - 1)];
+    }
+}
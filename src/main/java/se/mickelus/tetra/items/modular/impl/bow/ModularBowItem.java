@@ -69,6 +69,10 @@ public class ModularBowItem extends ModularItem {
     protected ModuleModel arrowModel0 = new ModuleModel("draw_0", new ResourceLocation(TetraMod.MOD_ID, "items/module/bow/arrow_0"));
     protected ModuleModel arrowModel1 = new ModuleModel("draw_1", new ResourceLocation(TetraMod.MOD_ID, "items/module/bow/arrow_1"));
     protected ModuleModel arrowModel2 = new ModuleModel("draw_2", new ResourceLocation(TetraMod.MOD_ID, "items/module/bow/arrow_2"));
+
+    // model variants for each draw stage, the first stage is used when the bow is not being drawn
+    private static final String[] drawVariants = new String[]{"item", "draw_0", "draw_1", "draw_2"};
+
     protected ItemStack vanillaBow;
 
     public ModularBowItem() {
@@ -218,6 +222,9 @@ public class ModularBowItem extends ModularItem {
                         int flameLevel = EnchantmentHelper.getItemEnchantmentLevel(Enchantments.FLAMING_ARROWS, itemStack);
                         int piercingLevel = getEffectLevel(itemStack, ItemEffect.piercing) + EnchantmentHelper.getItemEnchantmentLevel(Enchantments.PIERCING, itemStack);
 
+                        // large multishots are simulated as a single volley entity until the arrows hit something
+                        List<AbstractArrow> volley = count >= ArrowVolleyEntity.minimumCount ? new ArrayList<>(count) : null;
+
                         for (int i = 0; i < count; i++) {
                             double yaw = player.getYRot() - spread * (count - 1) / 2f + spread * i;
                             AbstractArrow projectile = ammoItem.createArrow(world, ammoStack, player);
@@ -271,6 +278,11 @@ public class ModularBowItem extends ModularItem {
                                 }
                             }
 
+                            if (volley != null && ArrowVolleyEntity.canVolley(projectile)) {
+                                volley.add(projectile);
+                                continue;
+                            }
+
                             world.addFreshEntity(projectile);
 
                             // vanilla velocity sync breaks when velocity is >3.9 on any axis
@@ -279,6 +291,10 @@ public class ModularBowItem extends ModularItem {
                             }
                         }
 
+                        if (volley != null && !volley.isEmpty()) {
+                            world.addFreshEntity(new ArrowVolleyEntity(world, volley));
+                        }
+
 
                         applyDamage(1, itemStack, player);
                         applyNegativeUsageEffects(entity, itemStack, 1);
@@ -400,41 +416,53 @@ public class ModularBowItem extends ModularItem {
         }
     }
 
-    private String getDrawVariant(ItemStack itemStack, @Nullable LivingEntity entity) {
+    private int getDrawStage(ItemStack itemStack, @Nullable LivingEntity entity) {
         float progress = getProgress(itemStack, entity);
 
         if (progress == 0) {
-            return "item";
+            return 0;
         } else if (progress < 0.65) {
-            return "draw_0";
+            return 1;
         } else if (progress < 0.9) {
-            return "draw_1";
+            return 2;
         }
-        return "draw_2";
+        return 3;
     }
 
-    private ModuleModel getArrowModel(String drawVariant) {
-        switch (drawVariant) {
-            case "draw_0":
-                return arrowModel0;
-            case "draw_1":
+    private ModuleModel getArrowModel(int drawStage) {
+        switch (drawStage) {
+            case 2:
                 return arrowModel1;
-            case "draw_2":
+            case 3:
                 return arrowModel2;
+            case 1:
             default:
                 return arrowModel0;
         }
     }
 
     @Override
-    public String getModelCacheKey(ItemStack itemStack, LivingEntity entity) {
-        return super.getModelCacheKey(itemStack, entity) + ":" + getDrawVariant(itemStack, entity);
+    @OnlyIn(Dist.CLIENT)
+    public int getModelStageCount() {
+        return drawVariants.length;
+    }
+
+    @Override
+    @OnlyIn(Dist.CLIENT)
+    public int getModelStage(ItemStack itemStack, @Nullable LivingEntity entity) {
+        return getDrawStage(itemStack, entity);
     }
 
     @Override
     @OnlyIn(Dist.CLIENT)
     public ImmutableList<ModuleModel> getModels(ItemStack itemStack, @Nullable LivingEntity entity) {
-        String modelType = getDrawVariant(itemStack, entity);
+        return getStageModels(itemStack, getDrawStage(itemStack, entity));
+    }
+
+    @Override
+    @OnlyIn(Dist.CLIENT)
+    public ImmutableList<ModuleModel> getStageModels(ItemStack itemStack, int stage) {
+        String modelType = drawVariants[Mth.clamp(stage, 0, drawVariants.length - 1)];
 
         ImmutableList<ModuleModel> models = getAllModules(itemStack).stream()
                 .sorted(Comparator.comparing(ItemModule::getRenderLayer))
@@ -443,10 +471,10 @@ public class ModularBowItem extends ModularItem {
                 .filter(model -> model.type.equals(modelType) || model.type.equals("static"))
                 .collect(Collectors.collectingAndThen(Collectors.toList(), ImmutableList::copyOf));
 
-        if (!modelType.equals("item")) {
+        if (stage > 0) {
             return ImmutableList.<ModuleModel>builder()
                     .addAll(models)
-                    .add(getArrowModel(modelType))
+                    .add(getArrowModel(stage))
                     .build();
         }
 
@@ -0,0 +1,48 @@
+package se.mickelus.tetra.items.modular.impl.bow;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.entity.player.Player;
+import se.mickelus.mutil.network.AbstractPacket;
+import se.mickelus.mutil.util.CastOptional;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.Optional;
+
+/**
+ * Sent when arrows are split off from a volley, the split arrows are spawned as regular entities and should no longer be drawn as part
+ * of the volley
+ */
+@ParametersAreNonnullByDefault
+public class VolleySplitPacket extends AbstractPacket {
+    private int entityId = -1;
+    private long mask;
+
+    public VolleySplitPacket() {
+    }
+
+    public VolleySplitPacket(ArrowVolleyEntity volley, long mask) {
+        entityId = volley.getId();
+        this.mask = mask;
+    }
+
+    @Override
+    public void toBytes(FriendlyByteBuf buffer) {
+        buffer.writeVarInt(entityId);
+        buffer.writeLong(mask);
+    }
+
+    @Override
+    public void fromBytes(FriendlyByteBuf buffer) {
+        entityId = buffer.readVarInt();
+        mask = buffer.readLong();
+    }
+
+    @Override
+    public void handle(Player player) {
+        Optional.of(entityId)
+                .filter(id -> id != -1)
+                .map(id -> player.level.getEntity(id))
+                .flatMap(entity -> CastOptional.cast(entity, ArrowVolleyEntity.class))
+                .ifPresent(volley -> volley.removeTrajectories(mask));
+    }
+}
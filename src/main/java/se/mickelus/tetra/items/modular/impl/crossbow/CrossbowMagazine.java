@@ -0,0 +1,174 @@
+package se.mickelus.tetra.items.modular.impl.crossbow;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import se.mickelus.tetra.profiling.TetraProfiler;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Projectiles loaded into a crossbow, stored as runs of identical projectiles rather than one stack per loaded projectile. Each entry in
+ * the projectile list is a single projectile stack with an additional shot count, entries without a shot count (written by older versions)
+ * count as a single shot. Decoded magazines are cached per projectile list, the list is replaced whenever the magazine changes.
+ */
+@ParametersAreNonnullByDefault
+class CrossbowMagazine {
+    private static final Logger logger = LogManager.getLogger();
+
+    public static final String projectilesKey = "ChargedProjectiles";
+    private static final String shotsKey = "tetra:shots";
+
+    private static final CrossbowMagazine empty = new CrossbowMagazine(ImmutableList.of());
+
+    // weak keys are compared by identity, so the decoded magazine is kept for as long as the stack holds on to the list
+    private static final Cache<ListTag, CrossbowMagazine> cache = CacheBuilder.newBuilder()
+            .weakKeys()
+            .maximumSize(1000)
+            .recordStats()
+            .build();
+
+    static {
+        TetraProfiler.registerCache("crossbow_magazines", cache);
+    }
+
+    private final List<Run> runs;
+
+    private CrossbowMagazine(List<Run> runs) {
+        this.runs = runs;
+    }
+
+    public static CrossbowMagazine of(ItemStack crossbowStack) {
+        CompoundTag tag = crossbowStack.getTag();
+        if (tag == null || !tag.contains(projectilesKey, Tag.TAG_LIST)) {
+            return empty;
+        }
+
+        ListTag list = tag.getList(projectilesKey, Tag.TAG_COMPOUND);
+        if (list.isEmpty()) {
+            return empty;
+        }
+
+        try {
+            return cache.get(list, () -> decode(list));
+        } catch (ExecutionException e) {
+            logger.warn("Failed to decode crossbow projectiles", e);
+            return empty;
+        }
+    }
+
+    private static CrossbowMagazine decode(ListTag list) {
+        List<Run> runs = new ArrayList<>();
+        for (int i = 0; i < list.size(); i++) {
+            CompoundTag projectileTag = list.getCompound(i);
+            ItemStack projectile = ItemStack.of(projectileTag);
+            if (projectile.isEmpty()) {
+                continue;
+            }
+
+            int shots = projectileTag.contains(shotsKey, Tag.TAG_INT) ? projectileTag.getInt(shotsKey) : 1;
+            append(runs, projectile, shots);
+        }
+
+        return new CrossbowMagazine(ImmutableList.copyOf(runs));
+    }
+
+    private static void append(List<Run> runs, ItemStack projectile, int shots) {
+        if (!runs.isEmpty()) {
+            Run last = runs.get(runs.size() - 1);
+            if (ItemStack.isSameItemSameTags(last.projectile, projectile)) {
+                runs.set(runs.size() - 1, new Run(last.projectile, last.shots + shots));
+                return;
+            }
+        }
+
+        ItemStack single = projectile.copy();
+        single.setCount(1);
+        runs.add(new Run(single, shots));
+    }
+
+    private static void write(ItemStack crossbowStack, List<Run> runs) {
+        CompoundTag tag = crossbowStack.getOrCreateTag();
+        if (runs.isEmpty()) {
+            tag.remove(projectilesKey);
+            return;
+        }
+
+        ListTag list = new ListTag();
+        for (Run run : runs) {
+            CompoundTag projectileTag = run.projectile.save(new CompoundTag());
+            projectileTag.putInt(shotsKey, run.shots);
+            list.add(projectileTag);
+        }
+        tag.put(projectilesKey, list);
+
+        cache.put(list, new CrossbowMagazine(ImmutableList.copyOf(runs)));
+    }
+
+    /**
+     * Loads a single projectile into the magazine of the given crossbow
+     */
+    public static void load(ItemStack crossbowStack, ItemStack projectile) {
+        List<Run> runs = new ArrayList<>(of(crossbowStack).runs);
+        append(runs, projectile, 1);
+        write(crossbowStack, runs);
+    }
+
+    /**
+     * Takes the next projectile from the magazine of the given crossbow
+     *
+     * @return a new stack holding the projectile, or an empty stack if the magazine is empty
+     */
+    public static ItemStack take(ItemStack crossbowStack) {
+        CrossbowMagazine magazine = of(crossbowStack);
+        if (magazine.isEmpty()) {
+            return ItemStack.EMPTY;
+        }
+
+        List<Run> runs = new ArrayList<>(magazine.runs);
+        Run first = runs.get(0);
+        if (first.shots > 1) {
+            runs.set(0, new Run(first.projectile, first.shots - 1));
+        } else {
+            runs.remove(0);
+        }
+        write(crossbowStack, runs);
+
+        return first.projectile.copy();
+    }
+
+    public boolean isEmpty() {
+        return runs.isEmpty();
+    }
+
+    /**
+     * @return the next projectile, shared between all lookups so it must not be modified
+     */
+    public ItemStack peek() {
+        return runs.isEmpty() ? ItemStack.EMPTY : runs.get(0).projectile;
+    }
+
+    public boolean contains(Item item) {
+        return runs.stream().anyMatch(run -> run.projectile.getItem() == item);
+    }
+
+    static class Run {
+        final ItemStack projectile;
+        final int shots;
+
+        Run(ItemStack projectile, int shots) {
+            this.projectile = projectile;
+            this.shots = shots;
+        }
+    }
+}
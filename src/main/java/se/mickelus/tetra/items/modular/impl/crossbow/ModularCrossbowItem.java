@@ -6,7 +6,6 @@ import net.minecraft.advancements.CriteriaTriggers;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.screens.Screen;
 import net.minecraft.nbt.CompoundTag;
-import net.minecraft.nbt.ListTag;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.TextComponent;
 import net.minecraft.network.chat.TranslatableComponent;
@@ -131,9 +130,8 @@ public class ModularCrossbowItem extends ModularItem {
 
     @OnlyIn(Dist.CLIENT)
     public void appendHoverText(ItemStack stack, @Nullable Level worldIn, List<Component> tooltip, TooltipFlag flagIn) {
-        List<ItemStack> list = getProjectiles(stack);
-        if (isLoaded(stack) && !list.isEmpty()) {
-            ItemStack itemstack = list.get(0);
+        ItemStack itemstack = getFirstProjectile(stack);
+        if (isLoaded(stack) && !itemstack.isEmpty()) {
             tooltip.add((new TranslatableComponent("item.minecraft.crossbow.projectile")).append(" ").append(itemstack.getDisplayName()));
             if (flagIn.isAdvanced() && itemstack.getItem() == Items.FIREWORK_ROCKET) {
                 List<Component> list1 = Lists.newArrayList();
@@ -250,9 +248,9 @@ public class ModularCrossbowItem extends ModularItem {
             ItemStack advancementCopy = itemStack.copy();
             int multishotEnchantLevel = EnchantmentHelper.getItemEnchantmentLevel(Enchantments.MULTISHOT, itemStack) * 3;
             int count = Math.max(getEffectLevel(itemStack, ItemEffect.multishot) + multishotEnchantLevel, 1);
-            List<ItemStack> list = takeProjectiles(itemStack, 1);
+            ItemStack ammoStack = CrossbowMagazine.take(itemStack);
 
-            if (!list.isEmpty()) {
+            if (!ammoStack.isEmpty()) {
                 double spread = getEffectEfficiency(itemStack, ItemEffect.multishot);
 
                 if (spread == 0 && multishotEnchantLevel > 0) {
@@ -260,7 +258,6 @@ public class ModularCrossbowItem extends ModularItem {
                 }
 
                 for (int i = 0; i < count; i++) {
-                    ItemStack ammoStack = list.get(0);
                     double yaw = player.getYRot() - spread * (count - 1) / 2f + spread * i;
                     boolean isDupe = player.getAbilities().instabuild || count > 1 && i != count / 2;
                     fireProjectile(world, itemStack, ammoStack, player, yaw, isDupe);
@@ -367,68 +364,12 @@ public class ModularCrossbowItem extends ModularItem {
         compoundnbt.putBoolean("Charged", chargedIn);
     }
 
-    private ListTag getProjectilesNBT(ItemStack itemStack) {
-        if (itemStack.hasTag()) {
-            return getProjectilesNBT(itemStack.getTag());
-        }
-        return new ListTag();
-    }
-
-    private ListTag getProjectilesNBT(CompoundTag nbt) {
-        if (nbt.contains("ChargedProjectiles", 9)) {
-            return nbt.getList("ChargedProjectiles", 10);
-        }
-        return new ListTag();
-    }
-
-    private void writeProjectile(ItemStack crossbowStack, ItemStack projectileStack) {
-        CompoundTag crossbowTag = crossbowStack.getOrCreateTag();
-        ListTag list = getProjectilesNBT(crossbowTag);
-
-        CompoundTag projectileTag = new CompoundTag();
-        projectileStack.save(projectileTag);
-        list.add(projectileTag);
-
-        crossbowTag.put("ChargedProjectiles", list);
-    }
-
     private ItemStack getFirstProjectile(ItemStack itemStack) {
-        ListTag projectiles = getProjectilesNBT(itemStack);
-        if (projectiles.size() > 0) {
-            return ItemStack.of(projectiles.getCompound(0));
-        }
-
-        return ItemStack.EMPTY;
-    }
-
-    private List<ItemStack> getProjectiles(ItemStack itemStack) {
-        List<ItemStack> result = Lists.newArrayList();
-        ListTag projectileTags = getProjectilesNBT(itemStack);
-
-        for (int i = 0; i < projectileTags.size(); ++i) {
-            CompoundTag stackNbt = projectileTags.getCompound(i);
-            result.add(ItemStack.of(stackNbt));
-        }
-
-        return result;
-    }
-
-    private List<ItemStack> takeProjectiles(ItemStack itemStack, int count) {
-        ListTag nbtList = getProjectilesNBT(itemStack);
-        int size = Math.min(nbtList.size(), count);
-        List<ItemStack> result = new ArrayList<>(size);
-
-        for (int i = 0; i < size; ++i) {
-            CompoundTag stackNbt = nbtList.getCompound(0);
-            nbtList.remove(0);
-            result.add(ItemStack.of(stackNbt));
-        }
-
-        return result;
+        return CrossbowMagazine.of(itemStack).peek();
     }
 
     public boolean hasProjectiles(ItemStack stack, Item ammoItem) {
-        return getProjectiles(stack).stream().anyMatch(s -> s.getItem() == ammoItem);
+        return CrossbowMagazine.of(stack).contains(ammoItem);
     }
 
     private SoundEvent getSoundEvent(float velocity) {
@@ -587,7 +528,7 @@ public class ModularCrossbowItem extends ModularItem {
                 itemstack = ammoStack.copy();
             }
 
-            writeProjectile(crossbowStack, itemstack);
+            CrossbowMagazine.load(crossbowStack, itemstack);
             return true;
         }
     }
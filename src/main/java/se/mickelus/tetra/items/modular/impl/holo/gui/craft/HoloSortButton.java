@@ -50,7 +50,7 @@ public class HoloSortButton extends GuiElement {
             Player player = Minecraft.getInstance().player;
 
             popover.update(StatSorters.sorters.stream()
-                    .filter(sorter -> Arrays.stream(previews).anyMatch(preview -> sorter.getWeight(player, preview.itemStack) > 0))
+                    .filter(sorter -> Arrays.stream(previews).anyMatch(preview -> sorter.getWeight(player, preview.getItemStack()) > 0))
                     .toArray(IStatSorter[]::new));
         }
 
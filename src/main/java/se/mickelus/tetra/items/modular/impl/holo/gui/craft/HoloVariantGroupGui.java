@@ -46,7 +46,7 @@ public class HoloVariantGroupGui extends GuiElement {
         for (int i = 0; i < outcomes.size(); i++) {
             OutcomePreview outcome = outcomes.get(i);
             if (SchematicType.minor.equals(outcome.type)) {
-                HoloVariantItemGui variant = new HoloVariantItemGui((i / 2) * 15, (i % 2) * 15, outcome, sorter.getValue(player, outcome.itemStack),
+                HoloVariantItemGui variant = new HoloVariantItemGui((i / 2) * 15, (i % 2) * 15, outcome, sorter.getValue(player, outcome.getItemStack()),
                         onVariantHover, onVariantBlur, onVariantSelect);
                 variantsContainer.addChild(variant);
 
@@ -58,7 +58,7 @@ public class HoloVariantGroupGui extends GuiElement {
                 width = variant.getX() + variant.getWidth();
             } else {
                 HoloVariantMajorItemGui variant = new HoloVariantMajorItemGui((i / 2) * 20 + (i % 2) * 10, (i % 2) * 15, outcome,
-                        sorter.getValue(player, outcome.itemStack), onVariantHover, onVariantBlur, onVariantSelect);
+                        sorter.getValue(player, outcome.getItemStack()), onVariantHover, onVariantBlur, onVariantSelect);
                 variantsContainer.addChild(variant);
 
                 itemAnimations[i] = new KeyframeAnimation(80, variant)
@@ -68,7 +68,7 @@ public class HoloVariantListGui extends GuiElement {
 
         // categories start moving around if it's sorted before it's split up, so it's better to do it after
         if (sorter != StatSorters.none) {
-            result.values().forEach(category -> category.sort(sorter.compare(player, preview -> preview.itemStack)));
+            result.values().forEach(category -> category.sort(sorter.compare(player, preview -> preview.getItemStack())));
         }
 
         // some wonk needed to do staggered animations of variants
@@ -0,0 +1,234 @@
+package se.mickelus.tetra.items.modular.impl.holo.gui.scan;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Index of scannable blocks per chunk section, used by the scanner to test its rays against the few scannable blocks in range rather
+ * than raytracing through the world. Sections are indexed lazily when first queried, dropped when their chunk is loaded or unloaded and
+ * indexed again after a while as there's no client side event for block changes. Indexed positions are checked against the current
+ * block state when hit so that removed blocks are never reported.
+ */
+@ParametersAreNonnullByDefault
+@OnlyIn(Dist.CLIENT)
+public class ScannerIndex {
+    private static final long[] emptySection = new long[0];
+
+    // sections are indexed again after this many ticks to pick up blocks placed since they were indexed
+    private static final int sectionLifetime = 200;
+
+    private final TagKey<Block> tag;
+    private final Long2ObjectMap<Section> sections = new Long2ObjectOpenHashMap<>();
+
+    private long[] candidates = emptySection;
+    private long candidateSection = Long.MIN_VALUE;
+    private int candidateRange = -1;
+    private long candidateTimestamp = Long.MIN_VALUE;
+    private boolean candidatesValid = false;
+
+    public ScannerIndex(TagKey<Block> tag) {
+        this.tag = tag;
+    }
+
+    /**
+     * Finds the closest scannable block intersecting the line between the given positions, equivalent to
+     * {@link Level#isBlockInLine} with a context matching the scannable tag
+     */
+    @Nullable
+    public BlockPos clip(Level level, Vec3 from, Vec3 to, int range) {
+        long[] positions = getCandidates(level, from, range);
+        if (positions.length == 0) {
+            return null;
+        }
+
+        Vec3 direction = to.subtract(from);
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        BlockPos result = null;
+        double closest = Double.MAX_VALUE;
+        for (long position : positions) {
+            pos.set(position);
+
+            // cheap cone check, skips blocks behind the ray
+            if ((pos.getX() + 0.5 - from.x) * direction.x + (pos.getY() + 0.5 - from.y) * direction.y
+                    + (pos.getZ() + 0.5 - from.z) * direction.z < -1) {
+                continue;
+            }
+
+            Optional<Vec3> hit = new AABB(pos).clip(from, to);
+            if (hit.isPresent()) {
+                double distance = hit.get().distanceToSqr(from);
+                if (distance < closest && level.getBlockState(pos).is(tag)) {
+                    closest = distance;
+                    result = pos.immutable();
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Scannable positions within range of the given position, the candidates are reused until the position moves to another section or
+     * the index changes
+     */
+    private long[] getCandidates(Level level, Vec3 origin, int range) {
+        long originSection = SectionPos.asLong(new BlockPos(origin));
+        long timestamp = level.getGameTime();
+        if (candidatesValid && originSection == candidateSection && range == candidateRange
+                && timestamp - candidateTimestamp < sectionLifetime) {
+            return candidates;
+        }
+
+        // include everything in range from anywhere in the origin section (28 > diagonal of a section), so that candidates stay valid
+        // while within the section
+        int reach = range + 28;
+        int minX = SectionPos.blockToSectionCoord(origin.x - reach);
+        int maxX = SectionPos.blockToSectionCoord(origin.x + reach);
+        int minY = Math.max(SectionPos.blockToSectionCoord(origin.y - reach), level.getMinSection());
+        int maxY = Math.min(SectionPos.blockToSectionCoord(origin.y + reach), level.getMaxSection() - 1);
+        int minZ = SectionPos.blockToSectionCoord(origin.z - reach);
+        int maxZ = SectionPos.blockToSectionCoord(origin.z + reach);
+
+        double reachSq = (reach + 1) * (reach + 1);
+        long[] result = new long[16];
+        int count = 0;
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                for (int y = minY; y <= maxY; y++) {
+                    for (long position : getSection(level, x, y, z, timestamp)) {
+                        if (Vec3.atCenterOf(BlockPos.of(position)).distanceToSqr(origin) <= reachSq) {
+                            if (count == result.length) {
+                                result = Arrays.copyOf(result, count * 2);
+                            }
+                            result[count++] = position;
+                        }
+                    }
+                }
+            }
+        }
+
+        candidates = Arrays.copyOf(result, count);
+        candidateSection = originSection;
+        candidateRange = range;
+        candidateTimestamp = timestamp;
+        candidatesValid = true;
+
+        return candidates;
+    }
+
+    private long[] getSection(Level level, int x, int y, int z, long timestamp) {
+        long key = SectionPos.asLong(x, y, z);
+        Section section = sections.get(key);
+        if (section != null && timestamp - section.timestamp < sectionLifetime) {
+            return section.positions;
+        }
+
+        ChunkAccess chunk = level.getChunkSource().getChunk(x, z, false);
+        if (chunk == null) {
+            // not loaded yet, indexed when the chunk has been loaded
+            sections.remove(key);
+            return emptySection;
+        }
+
+        long[] positions = indexSection(chunk.getSection(level.getSectionIndexFromSectionY(y)), x, y, z);
+        sections.put(key, new Section(positions, timestamp));
+        return positions;
+    }
+
+    private long[] indexSection(LevelChunkSection section, int sectionX, int sectionY, int sectionZ) {
+        // palettes allow most sections to be skipped without looking at individual blocks
+        if (section.hasOnlyAir() || !section.maybeHas(blockState -> blockState.is(tag))) {
+            return emptySection;
+        }
+
+        int originX = SectionPos.sectionToBlockCoord(sectionX);
+        int originY = SectionPos.sectionToBlockCoord(sectionY);
+        int originZ = SectionPos.sectionToBlockCoord(sectionZ);
+        long[] result = new long[4];
+        int count = 0;
+        for (int y = 0; y < 16; y++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    if (section.getBlockState(x, y, z).is(tag)) {
+                        if (count == result.length) {
+                            result = Arrays.copyOf(result, count * 2);
+                        }
+                        result[count++] = BlockPos.asLong(originX + x, originY + y, originZ + z);
+                    }
+                }
+            }
+        }
+
+        return Arrays.copyOf(result, count);
+    }
+
+    private void invalidate(Level level, ChunkPos chunkPos) {
+        for (int y = level.getMinSection(); y < level.getMaxSection(); y++) {
+            sections.remove(SectionPos.asLong(chunkPos.x, y, chunkPos.z));
+        }
+        candidatesValid = false;
+    }
+
+    public void clear() {
+        sections.clear();
+        candidates = emptySection;
+        candidatesValid = false;
+    }
+
+    @SubscribeEvent
+    public void onChunkLoad(ChunkEvent.Load event) {
+        if (event.getWorld() instanceof Level level && level.isClientSide()) {
+            invalidate(level, event.getChunk().getPos());
+        }
+    }
+
+    @SubscribeEvent
+    public void onChunkUnload(ChunkEvent.Unload event) {
+        if (event.getWorld() instanceof Level level && level.isClientSide()) {
+            invalidate(level, event.getChunk().getPos());
+        }
+    }
+
+    @SubscribeEvent
+    public void onWorldUnload(WorldEvent.Unload event) {
+        if (event.getWorld().isClientSide()) {
+            clear();
+        }
+    }
+
+    @SubscribeEvent
+    public void onTagsUpdated(TagsUpdatedEvent event) {
+        clear();
+    }
+
+    static class Section {
+        final long[] positions;
+        final long timestamp;
+
+        Section(long[] positions, long timestamp) {
+            this.positions = positions;
+            this.timestamp = timestamp;
+        }
+    }
+}
@@ -13,11 +13,8 @@ import net.minecraft.tags.TagKey;
 import net.minecraft.util.Mth;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.level.ClipBlockStateContext;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
-import net.minecraft.world.phys.BlockHitResult;
-import net.minecraft.world.phys.HitResult;
 import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.client.event.RenderGameOverlayEvent;
 import net.minecraftforge.common.MinecraftForge;
@@ -32,7 +29,9 @@ import se.mickelus.tetra.effect.ItemEffect;
 import se.mickelus.tetra.items.modular.IModularItem;
 import se.mickelus.tetra.items.modular.impl.holo.ModularHolosphereItem;
 
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.Objects;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
@@ -42,6 +41,7 @@ public class ScannerOverlayGui extends GuiRoot {
     private static final int snoozeLength = 6000; // 5 min
     public static ScannerOverlayGui instance;
     private final ScannerBarGui scanner;
+    private final ScannerIndex index = new ScannerIndex(tag);
     BlockPos upHighlight;
     BlockPos midHighlight;
     BlockPos downHighlight;
@@ -67,6 +67,8 @@ public class ScannerOverlayGui extends GuiRoot {
 
         sound = new ScannerSound(mc);
 
+        MinecraftForge.EVENT_BUS.register(index);
+
         if (ConfigHandler.development.get()) {
             MinecraftForge.EVENT_BUS.register(new ScannerDebugRenderer(this));
         }
@@ -188,9 +190,8 @@ public class ScannerOverlayGui extends GuiRoot {
                     if (verticalSpread > 0) {
                         upHighlight = IntStream.range(0, verticalSpread)
                                 .map(i -> i * -5 - 25)
-                                .mapToObj(pitch -> getPositions(player, world, pitch, yawOffset))
-                                .filter(result -> result.getType() != HitResult.Type.MISS)
-                                .map(BlockHitResult::getBlockPos)
+                                .mapToObj(pitch -> getPosition(player, world, pitch, yawOffset))
+                                .filter(Objects::nonNull)
                                 .findAny()
                                 .orElse(null);
                         scanner.highlightUp(offset / 2, upHighlight != null);
@@ -200,9 +201,8 @@ public class ScannerOverlayGui extends GuiRoot {
 
                         downHighlight = IntStream.range(0, verticalSpread)
                                 .map(i -> i * 5 + 25)
-                                .mapToObj(pitch -> getPositions(player, world, pitch, yawOffset))
-                                .filter(result -> result.getType() != HitResult.Type.MISS)
-                                .map(BlockHitResult::getBlockPos)
+                                .mapToObj(pitch -> getPosition(player, world, pitch, yawOffset))
+                                .filter(Objects::nonNull)
                                 .findAny()
                                 .orElse(null);
                         scanner.highlightDown(offset / 2, downHighlight != null);
@@ -213,9 +213,8 @@ public class ScannerOverlayGui extends GuiRoot {
                 } else if (offset / 2 < horizontalSpread - 1) {
                     midHighlight = IntStream.range(-1, 2)
                             .map(i -> i * 10)
-                            .mapToObj(pitch -> getPositions(player, world, pitch, yawOffset))
-                            .filter(result -> result.getType() != HitResult.Type.MISS)
-                            .map(BlockHitResult::getBlockPos)
+                            .mapToObj(pitch -> getPosition(player, world, pitch, yawOffset))
+                            .filter(Objects::nonNull)
                             .findAny()
                             .orElse(null);
 
@@ -229,13 +228,13 @@ public class ScannerOverlayGui extends GuiRoot {
         }
     }
 
-    private BlockHitResult getPositions(Player player, Level world, int pitchOffset, int yawOffset) {
+    @Nullable
+    private BlockPos getPosition(Player player, Level world, int pitchOffset, int yawOffset) {
         Vec3 eyePosition = player.getEyePosition(0);
         Vec3 lookVector = getVectorForRotation(player.getViewXRot(1) + pitchOffset, player.getViewYRot(1) + yawOffset);
         Vec3 endVector = eyePosition.add(lookVector.x * range, lookVector.y * range, lookVector.z * range);
 
-        return world.isBlockInLine(new ClipBlockStateContext(eyePosition, endVector,
-                blockState -> blockState.is(tag)));
+        return index.clip(world, eyePosition, endVector, range);
     }
 
     private Vec3 getVectorForRotation(float pitch, float yaw) {
@@ -1,5 +1,7 @@
 package se.mickelus.tetra.items.modular.impl.shield;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.mojang.blaze3d.vertex.PoseStack;
 import com.mojang.blaze3d.vertex.VertexConsumer;
@@ -15,7 +17,9 @@ import net.minecraft.client.renderer.Sheets;
 import net.minecraft.client.renderer.block.model.ItemTransforms;
 import net.minecraft.client.renderer.entity.ItemRenderer;
 import net.minecraft.client.renderer.texture.TextureAtlas;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
 import net.minecraft.client.resources.model.Material;
+import net.minecraft.nbt.CompoundTag;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.packs.resources.ReloadableResourceManager;
 import net.minecraft.server.packs.resources.ResourceManager;
@@ -26,19 +30,33 @@ import net.minecraft.world.level.block.entity.BannerBlockEntity;
 import net.minecraft.world.level.block.entity.BannerPattern;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import se.mickelus.mutil.util.CastOptional;
 import se.mickelus.tetra.TetraMod;
+import se.mickelus.tetra.data.DataManager;
 import se.mickelus.tetra.module.data.ModuleModel;
+import se.mickelus.tetra.profiling.TetraProfiler;
 
 import javax.annotation.ParametersAreNonnullByDefault;
-import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 @ParametersAreNonnullByDefault
 @OnlyIn(Dist.CLIENT)
 public class ModularShieldRenderer extends BlockEntityWithoutLevelRenderer {
     public static ModelLayerLocation layer = new ModelLayerLocation(new ResourceLocation(TetraMod.MOD_ID, "items/shield"), "main");
     public static ModelLayerLocation bannerLayer = new ModelLayerLocation(new ResourceLocation(TetraMod.MOD_ID, "items/shield_banner"), "main");
+    private static final Logger logger = LogManager.getLogger();
+
+    // resolved parts per shield composition & banner, so that rendering a shield doesn't have to look up models, sprites or patterns
+    private final Cache<String, List<PlannedPart>> renderPlans = CacheBuilder.newBuilder()
+            .maximumSize(500)
+            .expireAfterAccess(5, TimeUnit.MINUTES)
+            .recordStats()
+            .build();
+
     private final EntityModelSet modelSet;
     public ModularShieldBannerModel bannerModel;
     private ModularShieldModel model;
@@ -52,39 +70,67 @@ public class ModularShieldRenderer extends BlockEntityWithoutLevelRenderer {
         this.bannerModel = new ModularShieldBannerModel(modelSet.bakeLayer(bannerLayer));
 
         ((ReloadableResourceManager) Minecraft.getInstance().getResourceManager()).registerReloadListener(this);
+        DataManager.instance.moduleData.onReload(renderPlans::invalidateAll);
+
+        TetraProfiler.registerCache("shield_render_plans", renderPlans);
     }
 
     @Override
     public void onResourceManagerReload(ResourceManager p_172555_) {
         this.model = new ModularShieldModel(modelSet.bakeLayer(layer));
         this.bannerModel = new ModularShieldBannerModel(modelSet.bakeLayer(bannerLayer));
+
+        // plans hold on to parts of the old models & sprites from the old atlases
+        renderPlans.invalidateAll();
     }
 
     @Override
     public void renderByItem(ItemStack itemStack, ItemTransforms.TransformType transformType, PoseStack matrixStack, MultiBufferSource buffer, int combinedLight, int combinedOverlay) {
-//        boolean flag = itemStack.getChildTag("BlockEntityTag") != null;
+        List<PlannedPart> plan = CastOptional.cast(itemStack.getItem(), ModularShieldItem.class)
+                .map(item -> getRenderPlan(item, itemStack))
+                .orElse(ImmutableList.of());
+
         matrixStack.pushPose();
         matrixStack.scale(1.0F, -1.0F, -1.0F);
 
-        Collection<ModuleModel> models = CastOptional.cast(itemStack.getItem(), ModularShieldItem.class)
-                .map(item -> item.getModels(itemStack, null))
-                .orElse(ImmutableList.of());
+        boolean hasFoil = itemStack.hasFoil();
+        for (PlannedPart part : plan) {
+            VertexConsumer vertexBuilder = part.sprite.wrap(ItemRenderer.getFoilBuffer(buffer, part.renderType, false, hasFoil));
+            part.modelPart.render(matrixStack, vertexBuilder, combinedLight, combinedOverlay, part.red, part.green, part.blue, part.alpha);
+        }
+
+        matrixStack.popPose();
+    }
 
-        // handle
-        models.forEach(modelData -> {
+    private List<PlannedPart> getRenderPlan(ModularShieldItem item, ItemStack itemStack) {
+        // banner data is stored in a compound keyed with "BlockEntityTag"
+        CompoundTag bannerTag = itemStack.getTagElement("BlockEntityTag");
+        String key = item.getModelCacheKey(itemStack, null) + ":" + (bannerTag != null ? bannerTag.hashCode() : "");
+        try {
+            return renderPlans.get(key, () -> createRenderPlan(item, itemStack, bannerTag != null));
+        } catch (ExecutionException e) {
+            logger.warn("Failed to create render plan for modular shield", e);
+            return ImmutableList.of();
+        }
+    }
+
+    /**
+     * Resolves model parts, sprites, render types and tints for all parts of the given shield, in render order
+     */
+    private List<PlannedPart> createRenderPlan(ModularShieldItem item, ItemStack itemStack, boolean hasBanner) {
+        ImmutableList.Builder<PlannedPart> result = ImmutableList.builder();
+        for (ModuleModel modelData : item.getModels(itemStack, null)) {
             ModelPart bannerPart = bannerModel.getModel(modelData.type);
             if (bannerPart != null) {
-                if (itemStack.getTagElement("BlockEntityTag") != null) { // banner data is stored in a compound keyed with "BlockEntityTag"
-                    renderBanner(itemStack, bannerPart, matrixStack, buffer, combinedLight, combinedOverlay);
+                if (hasBanner) {
+                    planBanner(itemStack, bannerPart, result);
                 }
-                return;
+                continue;
             }
 
             ModelPart modelPart = model.getModel(modelData.type);
             if (modelPart != null) {
                 Material material = new Material(TextureAtlas.LOCATION_BLOCKS, modelData.location);
-                VertexConsumer vertexBuilder = material.sprite().wrap(
-                        ItemRenderer.getFoilBuffer(buffer, model.renderType(material.atlasLocation()), false, itemStack.hasFoil()));
 
                 float r = ((modelData.tint >> 16) & 0xFF) / 255f; // red
                 float g = ((modelData.tint >> 8) & 0xFF) / 255f; // green
@@ -94,24 +140,22 @@ public class ModularShieldRenderer extends BlockEntityWithoutLevelRenderer {
                 // reset alpha to 1 if it's 0 to avoid mistakes & make things cleaner
                 a = a == 0 ? 1 : a;
 
-                modelPart.render(matrixStack, vertexBuilder, combinedLight, combinedOverlay, r, g, b, a);
+                result.add(new PlannedPart(modelPart, material.sprite(), model.renderType(material.atlasLocation()), r, g, b, a));
             }
-        });
-
+        }
 
-        matrixStack.popPose();
+        return result.build();
     }
 
-    private void renderBanner(ItemStack itemStack, ModelPart modelRenderer, PoseStack matrixStack, MultiBufferSource buffer,
-            int combinedLight, int combinedOverlay) {
+    private void planBanner(ItemStack itemStack, ModelPart modelRenderer, ImmutableList.Builder<PlannedPart> result) {
         List<Pair<BannerPattern, DyeColor>> list = BannerBlockEntity.createPatterns(ShieldItem.getColor(itemStack), BannerBlockEntity.getItemPatterns(itemStack));
 
         for (int i = 0; i < 17 && i < list.size(); ++i) {
             Pair<BannerPattern, DyeColor> pair = list.get(i);
             float[] tint = pair.getSecond().getTextureDiffuseColors();
             Material material = new Material(Sheets.SHIELD_SHEET, pair.getFirst().location(false));
-            VertexConsumer vertexBuilder = material.sprite().wrap(ItemRenderer.getFoilBuffer(buffer, RenderType.entitySmoothCutout(material.atlasLocation()), false, itemStack.hasFoil()));
-            modelRenderer.render(matrixStack, vertexBuilder, combinedLight, combinedOverlay, tint[0], tint[1], tint[2], 1.0f);
+            result.add(new PlannedPart(modelRenderer, material.sprite(), RenderType.entitySmoothCutout(material.atlasLocation()),
+                    tint[0], tint[1], tint[2], 1.0f));
         }
     }
 
@@ -129,4 +173,24 @@ public class ModularShieldRenderer extends BlockEntityWithoutLevelRenderer {
             }
         }
     }
+
+    static class PlannedPart {
+        final ModelPart modelPart;
+        final TextureAtlasSprite sprite;
+        final RenderType renderType;
+        final float red;
+        final float green;
+        final float blue;
+        final float alpha;
+
+        PlannedPart(ModelPart modelPart, TextureAtlasSprite sprite, RenderType renderType, float red, float green, float blue, float alpha) {
+            this.modelPart = modelPart;
+            this.sprite = sprite;
+            this.renderType = renderType;
+            this.red = red;
+            this.green = green;
+            this.blue = blue;
+            this.alpha = alpha;
+        }
+    }
 }
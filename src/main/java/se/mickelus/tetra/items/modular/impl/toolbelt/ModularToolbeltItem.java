@@ -1,5 +1,7 @@
 package se.mickelus.tetra.items.modular.impl.toolbelt;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.screens.MenuScreens;
 import net.minecraft.core.NonNullList;
@@ -42,6 +44,8 @@ import se.mickelus.tetra.module.schematic.RemoveSchematic;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @ParametersAreNonnullByDefault
@@ -66,6 +70,11 @@ public class ModularToolbeltItem extends ModularItem implements MenuProvider {
     @ObjectHolder(TetraMod.MOD_ID + ":" + identifier)
     public static MenuType<ToolbeltContainer> containerType;
 
+    private final Cache<String, Map<SlotType, List<Collection<ItemEffect>>>> slotEffectCache = CacheBuilder.newBuilder()
+            .maximumSize(1000)
+            .expireAfterWrite(5, TimeUnit.MINUTES)
+            .build();
+
     public ModularToolbeltItem() {
         super(new Properties()
                 .stacksTo(1)
@@ -87,6 +96,7 @@ public class ModularToolbeltItem extends ModularItem implements MenuProvider {
         packetHandler.registerPacket(UpdateBoosterPacket.class, UpdateBoosterPacket::new);
         packetHandler.registerPacket(ToggleSuspendPacket.class, ToggleSuspendPacket::new);
         MinecraftForge.EVENT_BUS.register(new TickHandlerBooster());
+        ToolbeltLocator.init();
 
         RemoveSchematic.registerRemoveSchematics(this, identifierKey);
 
@@ -154,6 +164,30 @@ public class ModularToolbeltItem extends ModularItem implements MenuProvider {
                 .reduce(0, Integer::sum);
     }
 
+    @Override
+    public void clearCaches() {
+        super.clearCaches();
+        slotEffectCache.invalidateAll();
+    }
+
+    /**
+     * Effects of each slot of the given type, cached per toolbelt composition as toolbelt inventories need this for most operations.
+     */
+    public List<Collection<ItemEffect>> getSlotEffectsCached(ItemStack itemStack, SlotType slotType) {
+        try {
+            return slotEffectCache.get(getDataCacheKey(itemStack), () -> {
+                Map<SlotType, List<Collection<ItemEffect>>> result = new EnumMap<>(SlotType.class);
+                for (SlotType type : SlotType.values()) {
+                    result.put(type, Collections.unmodifiableList(getSlotEffects(itemStack, type)));
+                }
+                return result;
+            }).get(slotType);
+        } catch (ExecutionException e) {
+            e.printStackTrace();
+            return getSlotEffects(itemStack, slotType);
+        }
+    }
+
     public List<Collection<ItemEffect>> getSlotEffects(ItemStack itemStack, SlotType slotType) {
         return getAllModules(itemStack).stream()
                 .map(module -> module.getEffectData(itemStack))
@@ -3,25 +3,20 @@ package se.mickelus.tetra.items.modular.impl.toolbelt;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.chat.TranslatableComponent;
 import net.minecraft.world.InteractionHand;
-import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.phys.BlockHitResult;
 import net.minecraft.world.phys.HitResult;
 import net.minecraft.world.phys.Vec3;
-import org.apache.commons.lang3.tuple.ImmutableTriple;
 import se.mickelus.mutil.util.CastOptional;
-import se.mickelus.tetra.ConfigHandler;
 import se.mickelus.tetra.blocks.salvage.BlockInteraction;
 import se.mickelus.tetra.blocks.salvage.IInteractiveBlock;
-import se.mickelus.tetra.compat.curios.CuriosCompat;
 import se.mickelus.tetra.effect.ItemEffect;
 import se.mickelus.tetra.items.modular.IModularItem;
 import se.mickelus.tetra.items.modular.ItemModularHandheld;
 import se.mickelus.tetra.items.modular.impl.toolbelt.inventory.*;
 import se.mickelus.tetra.properties.IToolProvider;
-import top.theillusivec4.curios.api.CuriosApi;
 
 import javax.annotation.ParametersAreNonnullByDefault;
 import java.util.*;
@@ -116,29 +111,14 @@ public class ToolbeltHelper {
     }
 
     /**
-     * Attempts to find the first itemstack containing a toolbelt in the given players inventory.
+     * Attempts to find the first itemstack containing a toolbelt in the given players inventory. The location of the toolbelt is
+     * remembered between calls, see {@link ToolbeltLocator}.
      *
      * @param player A player
      * @return A toolbelt itemstack, or an empty itemstack if the player has no toolbelt
      */
     public static ItemStack findToolbelt(Player player) {
-        if (CuriosCompat.isLoaded) {
-            Optional<ImmutableTriple<String, Integer, ItemStack>> maybeToolbelt = CuriosApi.getCuriosHelper().findEquippedCurio(ModularToolbeltItem.instance, player);
-            if (maybeToolbelt.isPresent()) {
-                return maybeToolbelt.get().right;
-            }
-            if (ConfigHandler.toolbeltCurioOnly.get()) {
-                return ItemStack.EMPTY;
-            }
-        }
-        Inventory inventoryPlayer = player.getInventory();
-        for (int i = 0; i < inventoryPlayer.items.size(); ++i) {
-            ItemStack itemStack = inventoryPlayer.getItem(i);
-            if (ModularToolbeltItem.instance.equals(itemStack.getItem())) {
-                return itemStack;
-            }
-        }
-        return ItemStack.EMPTY;
+        return ToolbeltLocator.find(player);
     }
 
     public static List<ItemStack> getToolbeltItems(Player player) {
@@ -0,0 +1,190 @@
+package se.mickelus.tetra.items.modular.impl.toolbelt;
+
+import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.entity.living.LivingEquipmentChangeEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import org.apache.commons.lang3.tuple.ImmutableTriple;
+import se.mickelus.tetra.ConfigHandler;
+import se.mickelus.tetra.compat.curios.CuriosCompat;
+import se.mickelus.tetra.data.DataManager;
+import se.mickelus.tetra.items.modular.impl.toolbelt.booster.UtilBooster;
+import top.theillusivec4.curios.api.CuriosApi;
+import top.theillusivec4.curios.api.event.CurioChangeEvent;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+
+/**
+ * Remembers where the toolbelt of each player was last found, so that per tick lookups don't have to query curios and scan the full
+ * player inventory. A remembered location is only trusted as long as it still holds the very same stack instance, locations where no
+ * toolbelt could be found are rechecked when the inventory changes or after a few ticks have passed. All locations are dropped when module
+ * data is reloaded, as the booster level held by a location depends on it.
+ */
+@ParametersAreNonnullByDefault
+public class ToolbeltLocator {
+    private static final int curioSlot = -2;
+    private static final int noSlot = -1;
+
+    // inventory changes are not always flagged server side (e.g. item pickups), so misses are only trusted for a short while
+    private static final int missDuration = 10;
+
+    private static final Map<Player, Location> locations = Collections.synchronizedMap(new WeakHashMap<>());
+
+    public static void init() {
+        MinecraftForge.EVENT_BUS.register(ToolbeltLocator.class);
+        DataManager.instance.moduleData.onReload(locations::clear);
+
+        if (CuriosCompat.isLoaded) {
+            MinecraftForge.EVENT_BUS.addListener(ToolbeltLocator::onCurioChange);
+        }
+    }
+
+    /**
+     * Finds the toolbelt equipped by the given player, curio slots take precedence over the players inventory.
+     *
+     * @param player A player
+     * @return A toolbelt itemstack, or an empty itemstack if the player has no toolbelt
+     */
+    public static ItemStack find(Player player) {
+        return locate(player).itemStack;
+    }
+
+    /**
+     * Booster level of the toolbelt equipped by the given player, allows per tick booster handlers to bail early for the majority of
+     * players that have no booster equipped.
+     *
+     * @param player A player
+     * @return the booster level of the equipped toolbelt, or 0 if the player has no toolbelt or it has no booster
+     */
+    public static int getBoosterLevel(Player player) {
+        return locate(player).boosterLevel;
+    }
+
+    public static void invalidate(Player player) {
+        locations.remove(player);
+    }
+
+    private static Location locate(Player player) {
+        Location location = locations.get(player);
+        if (location != null && location.isValid(player)) {
+            return location;
+        }
+
+        location = scan(player);
+        locations.put(player, location);
+        return location;
+    }
+
+    private static Location scan(Player player) {
+        Inventory inventory = player.getInventory();
+        if (CuriosCompat.isLoaded) {
+            Optional<ImmutableTriple<String, Integer, ItemStack>> maybeToolbelt = CuriosApi.getCuriosHelper()
+                    .findEquippedCurio(ModularToolbeltItem.instance, player);
+            if (maybeToolbelt.isPresent()) {
+                ImmutableTriple<String, Integer, ItemStack> curio = maybeToolbelt.get();
+                return new Location(curioSlot, curio.left, curio.middle, curio.right, inventory.getTimesChanged(), player.tickCount);
+            }
+
+            if (ConfigHandler.toolbeltCurioOnly.get()) {
+                return new Location(noSlot, null, 0, ItemStack.EMPTY, inventory.getTimesChanged(), player.tickCount);
+            }
+        }
+
+        for (int i = 0; i < inventory.items.size(); ++i) {
+            ItemStack itemStack = inventory.getItem(i);
+            if (ModularToolbeltItem.instance.equals(itemStack.getItem())) {
+                return new Location(i, null, 0, itemStack, inventory.getTimesChanged(), player.tickCount);
+            }
+        }
+
+        return new Location(noSlot, null, 0, ItemStack.EMPTY, inventory.getTimesChanged(), player.tickCount);
+    }
+
+    @SubscribeEvent
+    public static void onItemPickup(PlayerEvent.ItemPickupEvent event) {
+        if (ModularToolbeltItem.instance.equals(event.getStack().getItem())) {
+            invalidate(event.getPlayer());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onEquipmentChange(LivingEquipmentChangeEvent event) {
+        if (event.getEntityLiving() instanceof Player) {
+            invalidate((Player) event.getEntityLiving());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerClone(PlayerEvent.Clone event) {
+        invalidate(event.getOriginal());
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        invalidate(event.getPlayer());
+    }
+
+    private static void onCurioChange(CurioChangeEvent event) {
+        if (event.getEntityLiving() instanceof Player) {
+            invalidate((Player) event.getEntityLiving());
+        }
+    }
+
+    static class Location {
+        final int slot;
+        final String curioIdentifier;
+        final int curioIndex;
+        final ItemStack itemStack;
+        final int boosterLevel;
+
+        final int timesChanged;
+        final int timestamp;
+
+        Location(int slot, String curioIdentifier, int curioIndex, ItemStack itemStack, int timesChanged, int timestamp) {
+            this.slot = slot;
+            this.curioIdentifier = curioIdentifier;
+            this.curioIndex = curioIndex;
+            this.itemStack = itemStack;
+            this.timesChanged = timesChanged;
+            this.timestamp = timestamp;
+
+            boosterLevel = UtilBooster.getBoosterLevel(itemStack);
+        }
+
+        boolean isValid(Player player) {
+            if (slot == noSlot) {
+                return timesChanged == player.getInventory().getTimesChanged()
+                        && player.tickCount >= timestamp
+                        && player.tickCount - timestamp < missDuration;
+            }
+
+            if (itemStack.isEmpty()) {
+                return false;
+            }
+
+            if (slot == curioSlot) {
+                return CuriosApi.getCuriosHelper().getCuriosHandler(player)
+                        .resolve()
+                        .flatMap(handler -> handler.getStacksHandler(curioIdentifier))
+                        .map(stacksHandler -> curioIndex < stacksHandler.getSlots()
+                                && stacksHandler.getStacks().getStackInSlot(curioIndex) == itemStack)
+                        .orElse(false);
+            }
+
+            // the inventory could have been rearranged with an earlier toolbelt moved in front of this one, rescan to stay consistent
+            // with the first toolbelt being the one in use
+            if (timesChanged != player.getInventory().getTimesChanged()) {
+                return false;
+            }
+
+            return slot < player.getInventory().items.size() && player.getInventory().getItem(slot) == itemStack;
+        }
+    }
+}
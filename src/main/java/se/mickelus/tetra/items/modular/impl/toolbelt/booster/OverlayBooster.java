@@ -1,12 +1,11 @@
 package se.mickelus.tetra.items.modular.impl.toolbelt.booster;
 
 import net.minecraft.client.Minecraft;
-import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.client.event.RenderGameOverlayEvent;
 import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.eventbus.api.EventPriority;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
-import se.mickelus.tetra.items.modular.impl.toolbelt.ToolbeltHelper;
+import se.mickelus.tetra.items.modular.impl.toolbelt.ToolbeltLocator;
 
 import javax.annotation.ParametersAreNonnullByDefault;
 
@@ -29,9 +28,8 @@ public class OverlayBooster {
             return;
         }
 
-        ItemStack itemStack = ToolbeltHelper.findToolbelt(event.player);
-        if (UtilBooster.canBoost(itemStack)) {
-            fuelPercent = UtilBooster.getFuelPercent(itemStack.getTag());
+        if (ToolbeltLocator.getBoosterLevel(event.player) > 0) {
+            fuelPercent = UtilBooster.getFuelPercent(ToolbeltLocator.find(event.player).getTag());
         }
 
         gui.setFuel(fuelPercent);
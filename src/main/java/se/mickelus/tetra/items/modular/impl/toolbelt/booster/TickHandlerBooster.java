@@ -6,7 +6,9 @@ import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.eventbus.api.EventPriority;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
-import se.mickelus.tetra.items.modular.impl.toolbelt.ToolbeltHelper;
+import se.mickelus.tetra.effect.visual.EffectVisual;
+import se.mickelus.tetra.effect.visual.EffectVisuals;
+import se.mickelus.tetra.items.modular.impl.toolbelt.ToolbeltLocator;
 
 import javax.annotation.ParametersAreNonnullByDefault;
 
@@ -16,10 +18,11 @@ public class TickHandlerBooster {
     @SubscribeEvent(priority = EventPriority.LOW)
     public void onPlayerTick(TickEvent.PlayerTickEvent event) {
         if (TickEvent.Phase.START == event.phase) {
-            ItemStack itemStack = ToolbeltHelper.findToolbelt(event.player);
-            int level = UtilBooster.getBoosterLevel(itemStack);
+            int level = ToolbeltLocator.getBoosterLevel(event.player);
             if (level > 0) {
-                tickItem(event.player, itemStack, level);
+                tickItem(event.player, ToolbeltLocator.find(event.player), level);
+            } else {
+                EffectVisuals.setActive(event.player, EffectVisual.booster, false);
             }
         }
     }
@@ -27,7 +30,12 @@ public class TickHandlerBooster {
     public void tickItem(Player player, ItemStack stack, int level) {
         CompoundTag tag = stack.getOrCreateTag();
         boolean charged = tag.getBoolean(UtilBooster.chargedKey);
-        if (!player.isInWater() && player.getVehicle() == null && UtilBooster.isActive(tag) && UtilBooster.hasFuel(tag, charged)) {
+        boolean boosting = !player.isInWater() && player.getVehicle() == null && UtilBooster.isActive(tag) && UtilBooster.hasFuel(tag, charged);
+
+        // clients spawn the particles while boosting, only changes are sent from the server. Charged boosts spawn a burst instead
+        EffectVisuals.setActive(player, EffectVisual.booster, boosting && !charged);
+
+        if (boosting) {
             if (charged) {
                 UtilBooster.boostPlayerCharged(player, tag, level);
             } else {
@@ -4,7 +4,6 @@ import net.minecraft.client.player.LocalPlayer;
 import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.protocol.game.ServerboundPlayerInputPacket;
-import net.minecraft.server.level.ServerLevel;
 import net.minecraft.util.Mth;
 import net.minecraft.world.entity.MoverType;
 import net.minecraft.world.entity.player.Player;
@@ -13,8 +12,10 @@ import net.minecraft.world.item.Items;
 import net.minecraft.world.phys.Vec3;
 import se.mickelus.mutil.util.CastOptional;
 import se.mickelus.tetra.effect.ItemEffect;
+import se.mickelus.tetra.effect.visual.EffectVisual;
+import se.mickelus.tetra.effect.visual.EffectVisuals;
 import se.mickelus.tetra.items.modular.IModularItem;
-import se.mickelus.tetra.items.modular.impl.toolbelt.ToolbeltHelper;
+import se.mickelus.tetra.items.modular.impl.toolbelt.ToolbeltLocator;
 import se.mickelus.tetra.items.modular.impl.toolbelt.inventory.QuickslotInventory;
 import se.mickelus.tetra.items.modular.impl.toolbelt.inventory.StorageInventory;
 import se.mickelus.tetra.items.modular.impl.toolbelt.inventory.ToolbeltInventory;
@@ -43,9 +44,7 @@ public class UtilBooster {
     public static final float boostLevelMultiplier = 0.4f;
 
     public static boolean hasBooster(Player player) {
-        ItemStack itemStack = ToolbeltHelper.findToolbelt(player);
-
-        return canBoost(itemStack);
+        return ToolbeltLocator.getBoosterLevel(player) > 0;
     }
 
     public static boolean canBoost(ItemStack itemStack) {
@@ -95,29 +94,13 @@ public class UtilBooster {
         } else {
             player.push(0, boostBase + 0.8 * -player.getDeltaMovement().y, 0);
         }
-
-        if (player.level instanceof ServerLevel) {
-            ((ServerLevel) player.level).sendParticles(ParticleTypes.SMOKE,
-                    player.getX() - 0.2 + Math.random() * 0.4,
-                    player.getY() + Math.random() * 0.2,
-                    player.getZ() - 0.2 + Math.random() * 0.4,
-                    8, 0, -0.3, 0, 0.1D);
-
-            if (Math.random() > 0.3) {
-                ((ServerLevel) player.level).sendParticles(ParticleTypes.FLAME,
-                        player.getX() - 0.2 + Math.random() * 0.4,
-                        player.getY() + Math.random() * 0.2,
-                        player.getZ() - 0.2 + Math.random() * 0.4,
-                        1, 0, -0.3, 0, 0.1D);
-            }
-        }
     }
 
     public static void boostHorizontal(Player player) {
         if (player.zza != 0 || player.xxa != 0) {
-            ItemStack itemStack = ToolbeltHelper.findToolbelt(player);
-            int level = UtilBooster.getBoosterLevel(itemStack);
+            int level = ToolbeltLocator.getBoosterLevel(player);
             if (level > 0) {
+                ItemStack itemStack = ToolbeltLocator.find(player);
 
                 // todo: needs a custom packet for syncing moveStrafing & moveForward to the server, CInputPacket only works when riding something
                 CastOptional.cast(player, LocalPlayer.class).ifPresent(cp -> {
@@ -176,14 +159,7 @@ public class UtilBooster {
 
         player.move(MoverType.SELF, new Vec3(0, 0.4, 0));
 
-        if (player.level instanceof ServerLevel) {
-            ((ServerLevel) player.level).sendParticles(ParticleTypes.LARGE_SMOKE, player.getX(),
-                    player.getY() + player.getBbHeight() * 0.4, player.getZ(), 10, 0,
-                    -0.1, 0, 0.1D);
-            ((ServerLevel) player.level).sendParticles(ParticleTypes.FLAME, player.getX(),
-                    player.getY() + player.getBbHeight() * 0.4, player.getZ(), 3, 0,
-                    -0.1, 0, 0.1D);
-        }
+        EffectVisuals.burst(player, EffectVisual.boosterCharged);
     }
 
     public static void consumeFuel(CompoundTag tag, boolean charged) {
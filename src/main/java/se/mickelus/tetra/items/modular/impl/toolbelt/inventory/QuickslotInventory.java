@@ -2,8 +2,6 @@ package se.mickelus.tetra.items.modular.impl.toolbelt.inventory;
 
 import net.minecraft.core.NonNullList;
 import net.minecraft.nbt.CompoundTag;
-import net.minecraft.nbt.ListTag;
-import net.minecraft.nbt.Tag;
 import net.minecraft.world.item.ItemStack;
 import se.mickelus.tetra.items.modular.impl.toolbelt.ModularToolbeltItem;
 import se.mickelus.tetra.items.modular.impl.toolbelt.SlotType;
@@ -17,15 +15,14 @@ public class QuickslotInventory extends ToolbeltInventory {
     private static final String inventoryKey = "quickInventory";
     private static final String shadowsKey = "quickShadows";
 
-    private final NonNullList<ItemStack> inventoryShadows;
+    private NonNullList<ItemStack> inventoryShadows;
+    private ToolbeltContents shadowContents;
 
     public QuickslotInventory(ItemStack stack) {
         super(inventoryKey, stack, maxSize, SlotType.quick);
         ModularToolbeltItem item = (ModularToolbeltItem) stack.getItem();
         numSlots = item.getNumSlots(stack, SlotType.quick);
 
-        inventoryShadows = NonNullList.withSize(maxSize, ItemStack.EMPTY);
-
         predicate = getPredicate("quickslot");
 
         readFromNBT(stack.getOrCreateTag());
@@ -34,29 +31,14 @@ public class QuickslotInventory extends ToolbeltInventory {
     @Override
     public void readFromNBT(CompoundTag tagCompound) {
         super.readFromNBT(tagCompound);
-        ListTag shadows = tagCompound.getList(shadowsKey, Tag.TAG_COMPOUND);
-
-        for (int i = 0; i < shadows.size(); i++) {
-            CompoundTag item = shadows.getCompound(i);
-            int slot = item.getInt(slotKey);
 
-            if (0 <= slot && slot < getContainerSize()) {
-                inventoryShadows.set(slot, ItemStack.of(item));
-            }
-        }
+        shadowContents = ToolbeltContents.get(toolbeltItemStack, shadowsKey, slotKey, true, maxSize);
+        inventoryShadows = shadowContents.getItems();
     }
 
     public void writeToNBT(CompoundTag tagcompound) {
         super.writeToNBT(tagcompound);
-        ListTag shadows = new ListTag();
-
-        for (int i = 0; i < maxSize; i++) {
-            CompoundTag item = new CompoundTag();
-            item.putInt(slotKey, i);
-            getShadowOfSlot(i).save(item);
-            shadows.add(item);
-        }
-        tagcompound.put(shadowsKey, shadows);
+        shadowContents.write(tagcompound);
     }
 
     public ItemStack getShadowOfSlot(int index) {
@@ -64,16 +46,18 @@ public class QuickslotInventory extends ToolbeltInventory {
     }
 
     @Override
-    public void setChanged() {
+    protected void writeChanges() {
         for (int i = 0; i < getContainerSize(); ++i) {
-            if (getItem(i).getCount() == 0) {
+            if (inventoryContents.get(i).getCount() == 0) {
                 inventoryContents.set(i, ItemStack.EMPTY);
+                contents.markDirty(i);
             }
         }
 
         for (int i = 0; i < getContainerSize(); ++i) {
-            if (!getItem(i).isEmpty()) {
-                inventoryShadows.set(i, getItem(i).copy());
+            if (contents.isDirty(i) && !inventoryContents.get(i).isEmpty()) {
+                inventoryShadows.set(i, inventoryContents.get(i).copy());
+                shadowContents.markDirty(i);
             }
         }
 
@@ -0,0 +1,148 @@
+package se.mickelus.tetra.items.modular.impl.toolbelt.inventory;
+
+import net.minecraft.core.NonNullList;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.world.item.ItemStack;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live contents of one of the inventories stored in a toolbelt, shared by all inventory views of the same toolbelt stack. Contents are
+ * parsed once and then kept for as long as the toolbelt tag still holds the list they were read from (or last written to). Slots are
+ * flagged as dirty when they may have been changed, and only dirty slots are written back to the list when the inventory is saved.
+ */
+@ParametersAreNonnullByDefault
+class ToolbeltContents {
+    private static final Map<ItemStack, Map<String, ToolbeltContents>> cache = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final String key;
+    private final String slotKey;
+    private final boolean wideSlotKey;
+
+    private final NonNullList<ItemStack> items;
+    private final int[] listIndices;
+    private final BitSet dirty;
+
+    @Nullable
+    private ListTag listTag;
+
+    private ToolbeltContents(String key, String slotKey, boolean wideSlotKey, int size) {
+        this.key = key;
+        this.slotKey = slotKey;
+        this.wideSlotKey = wideSlotKey;
+
+        items = NonNullList.withSize(size, ItemStack.EMPTY);
+        listIndices = new int[size];
+        dirty = new BitSet(size);
+    }
+
+    /**
+     * Get the live contents of the list stored under the given key in the toolbelt stack, parsing the list if it has not been read before
+     * or if it has been replaced since it was last read.
+     *
+     * @param toolbeltStack The toolbelt itemstack
+     * @param key           The key of the list in the toolbelt tag
+     * @param slotKey       The key holding the slot index in each entry of the list
+     * @param wideSlotKey   true if slot indices are stored as ints, false if they are stored as bytes
+     * @param size          The max number of slots
+     * @return live contents, shared with all other callers for the same stack and key
+     */
+    static ToolbeltContents get(ItemStack toolbeltStack, String key, String slotKey, boolean wideSlotKey, int size) {
+        Map<String, ToolbeltContents> stackContents = cache.computeIfAbsent(toolbeltStack, stack -> new ConcurrentHashMap<>());
+        CompoundTag tag = toolbeltStack.getOrCreateTag();
+
+        ToolbeltContents contents = stackContents.get(key);
+        if (contents == null || contents.items.size() != size || !contents.isCurrent(tag)) {
+            contents = new ToolbeltContents(key, slotKey, wideSlotKey, size);
+            contents.read(tag);
+            stackContents.put(key, contents);
+        }
+
+        return contents;
+    }
+
+    private boolean isCurrent(CompoundTag tag) {
+        return tag.get(key) == listTag;
+    }
+
+    private void read(CompoundTag tag) {
+        Arrays.fill(listIndices, -1);
+
+        Tag list = tag.get(key);
+        if (list instanceof ListTag && (((ListTag) list).isEmpty() || ((ListTag) list).getElementType() == Tag.TAG_COMPOUND)) {
+            listTag = (ListTag) list;
+
+            for (int i = 0; i < listTag.size(); i++) {
+                CompoundTag itemTag = listTag.getCompound(i);
+                int slot = wideSlotKey ? itemTag.getInt(slotKey) : itemTag.getByte(slotKey) & 255;
+
+                if (0 <= slot && slot < items.size()) {
+                    items.set(slot, ItemStack.of(itemTag));
+                    listIndices[slot] = i;
+                }
+            }
+        }
+    }
+
+    NonNullList<ItemStack> getItems() {
+        return items;
+    }
+
+    void markDirty(int slot) {
+        dirty.set(slot);
+    }
+
+    boolean isDirty(int slot) {
+        return dirty.get(slot);
+    }
+
+    void markAllDirty() {
+        dirty.set(0, items.size());
+    }
+
+    /**
+     * Writes dirty slots to the toolbelt tag, the full list is only written if the tag does not hold the list these contents were read
+     * from.
+     */
+    void write(CompoundTag tag) {
+        if (listTag == null || !isCurrent(tag)) {
+            listTag = new ListTag();
+            for (int i = 0; i < items.size(); i++) {
+                listIndices[i] = listTag.size();
+                listTag.add(writeSlot(i));
+            }
+            tag.put(key, listTag);
+        } else {
+            for (int i = dirty.nextSetBit(0); i >= 0; i = dirty.nextSetBit(i + 1)) {
+                if (listIndices[i] != -1) {
+                    listTag.set(listIndices[i], writeSlot(i));
+                } else {
+                    listIndices[i] = listTag.size();
+                    listTag.add(writeSlot(i));
+                }
+            }
+        }
+
+        dirty.clear();
+    }
+
+    private CompoundTag writeSlot(int slot) {
+        CompoundTag compound = new CompoundTag();
+        if (wideSlotKey) {
+            compound.putInt(slotKey, slot);
+        } else {
+            compound.putByte(slotKey, (byte) slot);
+        }
+        items.get(slot).save(compound);
+        return compound;
+    }
+}
@@ -2,7 +2,6 @@ package se.mickelus.tetra.items.modular.impl.toolbelt.inventory;
 
 import net.minecraft.core.NonNullList;
 import net.minecraft.nbt.CompoundTag;
-import net.minecraft.nbt.ListTag;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.tags.ItemTags;
 import net.minecraft.tags.TagKey;
@@ -30,6 +29,7 @@ public class ToolbeltInventory implements Container {
     protected ItemStack toolbeltItemStack;
     protected SlotType inventoryType;
     protected NonNullList<ItemStack> inventoryContents;
+    protected ToolbeltContents contents;
     protected int numSlots = 0;
     protected int maxSize = 0;
 
@@ -42,7 +42,6 @@ public class ToolbeltInventory implements Container {
         this.inventoryType = inventoryType;
 
         this.maxSize = maxSize;
-        inventoryContents = NonNullList.withSize(maxSize, ItemStack.EMPTY);
     }
 
     protected static Predicate<ItemStack> getPredicate(String inventory) {
@@ -54,32 +53,19 @@ public class ToolbeltInventory implements Container {
     }
 
 
+    /**
+     * Binds this inventory to the live contents of the toolbelt, the toolbelt tag is only parsed if no other inventory has read it already.
+     */
     public void readFromNBT(CompoundTag compound) {
-        ListTag items = compound.getList(inventoryKey, net.minecraft.nbt.Tag.TAG_COMPOUND);
-
-        for (int i = 0; i < items.size(); i++) {
-            CompoundTag itemTag = items.getCompound(i);
-            int slot = itemTag.getByte(slotKey) & 255;
-
-            if (0 <= slot && slot < maxSize) {
-                inventoryContents.set(slot, ItemStack.of(itemTag));
-            }
-        }
+        contents = ToolbeltContents.get(toolbeltItemStack, inventoryKey, slotKey, false, maxSize);
+        inventoryContents = contents.getItems();
     }
 
+    /**
+     * Writes slots that may have been changed to the toolbelt tag.
+     */
     public void writeToNBT(CompoundTag tagcompound) {
-        ListTag items = new ListTag();
-
-        for (int i = 0; i < maxSize; i++) {
-            if (getItem(i) != null) {
-                CompoundTag compound = new CompoundTag();
-                getItem(i).save(compound);
-                compound.putByte(slotKey, (byte) i);
-                items.add(compound);
-            }
-        }
-
-        tagcompound.put(inventoryKey, items);
+        contents.write(tagcompound);
     }
 
     @Override
@@ -105,9 +91,10 @@ public class ToolbeltInventory implements Container {
     @Override
     public ItemStack removeItem(int index, int count) {
         ItemStack itemstack = ContainerHelper.removeItem(this.inventoryContents, index, count);
+        contents.markDirty(index);
 
         if (!itemstack.isEmpty()) {
-            this.setChanged();
+            writeChanges();
         }
 
         return itemstack;
@@ -121,6 +108,7 @@ public class ToolbeltInventory implements Container {
             return itemStack;
         } else {
             this.inventoryContents.set(index, ItemStack.EMPTY);
+            contents.markDirty(index);
             return itemStack;
         }
     }
@@ -128,12 +116,13 @@ public class ToolbeltInventory implements Container {
     @Override
     public void setItem(int index, ItemStack stack) {
         this.inventoryContents.set(index, stack);
+        contents.markDirty(index);
 
         if (!stack.isEmpty() && stack.getCount() > this.getMaxStackSize()) {
             stack.setCount(this.getMaxStackSize());
         }
 
-        this.setChanged();
+        writeChanges();
     }
 
     @Override
@@ -141,11 +130,23 @@ public class ToolbeltInventory implements Container {
         return 64;
     }
 
+    /**
+     * Stacks handed out by getItem may have been modified in place by the caller, so all slots are written.
+     */
     @Override
     public void setChanged() {
+        contents.markAllDirty();
+        writeChanges();
+    }
+
+    /**
+     * Writes slots that have been marked as dirty to the toolbelt tag, stacks that have been emptied are cleared first.
+     */
+    protected void writeChanges() {
         for (int i = 0; i < getContainerSize(); ++i) {
-            if (getItem(i).getCount() == 0) {
+            if (inventoryContents.get(i).getCount() == 0) {
                 inventoryContents.set(i, ItemStack.EMPTY);
+                contents.markDirty(i);
             }
         }
 
@@ -173,6 +174,7 @@ public class ToolbeltInventory implements Container {
     @Override
     public void clearContent() {
         inventoryContents.clear();
+        contents.markAllDirty();
     }
 
     public ItemStack takeItemStack(int index) {
@@ -243,6 +245,6 @@ public class ToolbeltInventory implements Container {
     }
 
     public List<Collection<ItemEffect>> getSlotEffects() {
-        return ModularToolbeltItem.instance.getSlotEffects(toolbeltItemStack, inventoryType);
+        return ModularToolbeltItem.instance.getSlotEffectsCached(toolbeltItemStack, inventoryType);
     }
 }
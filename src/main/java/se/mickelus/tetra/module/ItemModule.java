@@ -20,6 +20,7 @@ import se.mickelus.tetra.items.modular.IModularItem;
 import se.mickelus.tetra.module.data.*;
 import se.mickelus.tetra.module.schematic.RepairDefinition;
 import se.mickelus.tetra.properties.AttributeHelper;
+import se.mickelus.tetra.properties.AttributeVector;
 import se.mickelus.tetra.properties.IToolProvider;
 
 import java.util.*;
@@ -319,6 +320,17 @@ public abstract class ItemModule implements IToolProvider {
                 .reduce(getVariantData(itemStack).attributes, AttributeHelper::merge);
     }
 
+    /**
+     * Adds the attribute modifiers of this module to the given vector, equivalent to adding the result of getAttributeModifiers but
+     * without merging any intermediate maps
+     */
+    public void addAttributeModifiers(ItemStack itemStack, AttributeVector vector) {
+        vector.add(getVariantData(itemStack).attributes);
+        for (TweakData tweak : getTweaks(itemStack)) {
+            tweak.addAttributeModifiers(vector, getTweakStep(itemStack, tweak));
+        }
+    }
+
     public double getDamageModifier(ItemStack itemStack) {
         return Optional.ofNullable(getAttributeModifiers(itemStack))
                 .map(modifiers -> modifiers.get(Attributes.ATTACK_DAMAGE))
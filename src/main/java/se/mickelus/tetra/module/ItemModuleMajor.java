@@ -22,6 +22,7 @@ import se.mickelus.tetra.items.modular.ItemColors;
 import se.mickelus.tetra.module.data.*;
 import se.mickelus.tetra.module.improvement.SettlePacket;
 import se.mickelus.tetra.properties.AttributeHelper;
+import se.mickelus.tetra.properties.AttributeVector;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -79,6 +80,26 @@ public abstract class ItemModuleMajor extends ItemModule {
         }
     }
 
+    /**
+     * Returns the remaining number of times the item has to be used before this module will settle, or Integer.MAX_VALUE if the module
+     * will not settle further.
+     *
+     * @param itemStack The itemstack which the module is present on
+     * @return
+     */
+    public int getSettleHeadroom(ItemStack itemStack) {
+        int settleMaxCount = getSettleMaxCount(itemStack);
+        if (settleMaxCount == 0) {
+            return Integer.MAX_VALUE;
+        }
+
+        if (getImprovementLevel(itemStack, settleImprovement) < settleMaxCount && getImprovementLevel(itemStack, arrestedImprovement) == -1) {
+            return getSettleProgress(itemStack);
+        }
+
+        return Integer.MAX_VALUE;
+    }
+
     /**
      * Returns the remaining number of times the item has to be used before this module will settle.
      *
@@ -201,10 +222,17 @@ public abstract class ItemModuleMajor extends ItemModule {
     }
 
     public boolean acceptsEnchantment(ItemStack itemStack, Enchantment enchantment, boolean fromTable) {
-        return Optional.ofNullable(getAspects(itemStack))
-                .map(AspectData::getLevelMap)
-                .filter(aspects -> TetraEnchantmentHelper.isApplicableForAspects(enchantment, fromTable, aspects))
-                .isPresent();
+        for (ImprovementData improvement : getImprovements(itemStack)) {
+            if (improvement.aspects != null) {
+                // improvements alter the aspect levels, so applicability can't be precomputed per variant
+                return Optional.ofNullable(getAspects(itemStack))
+                        .map(AspectData::getLevelMap)
+                        .filter(aspects -> TetraEnchantmentHelper.isApplicableForAspects(enchantment, fromTable, aspects))
+                        .isPresent();
+            }
+        }
+
+        return TetraEnchantmentHelper.isApplicableForAspects(enchantment, fromTable, super.getAspects(itemStack));
     }
 
     public EnchantmentCategory[] getApplicableEnchantmentCategories(ItemStack itemStack, boolean fromTable) {
@@ -303,6 +331,14 @@ public abstract class ItemModuleMajor extends ItemModule {
                 .reduce(super.getAttributeModifiers(itemStack), AttributeHelper::merge);
     }
 
+    @Override
+    public void addAttributeModifiers(ItemStack itemStack, AttributeVector vector) {
+        super.addAttributeModifiers(itemStack, vector);
+        for (ImprovementData improvement : getImprovements(itemStack)) {
+            vector.add(improvement.attributes);
+        }
+    }
+
     @Override
     public ItemProperties getProperties(ItemStack itemStack) {
         return Arrays.stream(getImprovements(itemStack))
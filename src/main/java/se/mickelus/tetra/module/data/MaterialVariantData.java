@@ -2,6 +2,7 @@ package se.mickelus.tetra.module.data;
 
 import net.minecraft.resources.ResourceLocation;
 import se.mickelus.tetra.properties.AttributeHelper;
+import se.mickelus.tetra.properties.AttributeVector;
 
 import javax.annotation.ParametersAreNonnullByDefault;
 import java.util.Arrays;
@@ -25,12 +26,11 @@ public class MaterialVariantData extends VariantData {
             result.category = material.category;
         }
 
-        result.attributes = AttributeHelper.collapseRound(AttributeHelper.merge(Arrays.asList(
-                attributes,
-                AttributeHelper.multiplyModifiers(extract.primaryAttributes, material.primary),
-                AttributeHelper.multiplyModifiers(extract.secondaryAttributes, material.secondary),
-                AttributeHelper.multiplyModifiers(extract.tertiaryAttributes, material.tertiary)
-        )));
+        result.attributes = AttributeHelper.collapseRound(new AttributeVector()
+                .add(attributes)
+                .add(extract.primaryAttributes, material.primary)
+                .add(extract.secondaryAttributes, material.secondary)
+                .add(extract.tertiaryAttributes, material.tertiary));
 
         result.durability = Math.round(durability + Optional.ofNullable(extract.durability)
                 .map(extracted -> extracted * material.durability)
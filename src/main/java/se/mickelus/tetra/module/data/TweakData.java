@@ -6,6 +6,7 @@ import net.minecraft.world.entity.ai.attributes.AttributeModifier;
 import net.minecraftforge.common.ToolAction;
 import se.mickelus.tetra.effect.ItemEffect;
 import se.mickelus.tetra.properties.AttributeHelper;
+import se.mickelus.tetra.properties.AttributeVector;
 
 import javax.annotation.ParametersAreNonnullByDefault;
 
@@ -25,6 +26,10 @@ public class TweakData {
         return AttributeHelper.multiplyModifiers(properties.attributes, step);
     }
 
+    public void addAttributeModifiers(AttributeVector vector, int step) {
+        vector.add(properties.attributes, step);
+    }
+
     public ToolData getToolData(int step) {
         return ToolData.multiply(properties.tools, step, step);
     }
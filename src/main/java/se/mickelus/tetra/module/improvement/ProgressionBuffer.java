@@ -0,0 +1,227 @@
+package se.mickelus.tetra.module.improvement;
+
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.EquipmentSlot;
+import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+import net.minecraftforge.event.entity.item.ItemTossEvent;
+import net.minecraftforge.event.entity.living.LivingDeathEvent;
+import net.minecraftforge.event.entity.living.LivingEquipmentChangeEvent;
+import net.minecraftforge.event.entity.player.PlayerContainerEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.entity.player.PlayerInteractEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import se.mickelus.tetra.items.modular.IModularItem;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.WeakHashMap;
+
+/**
+ * Accumulates honing & settling progression for items used by players server side, rather than writing the progress to the item on
+ * every use (which causes the full stack to be synced to the client). Pending progress is flushed to the item as soon as enough uses
+ * have been accumulated for honing or settling to happen, so that hone & settle packets are sent on the exact use that crosses the
+ * threshold. Progress is also flushed in batches, and when the item may be moved (dropped, container opened, held item used on entities
+ * or blocks, held item changed, death, logout or save). Stacks placed somewhere by an interaction (e.g. item frames) are usually copies
+ * split off the held stack, so progress has to be flushed before the interaction happens.
+ */
+@ParametersAreNonnullByDefault
+public class ProgressionBuffer {
+    // pending progress is written to the item at least this often, so that progress shown in tooltips doesn't lag far behind
+    private static final int batchSize = 16;
+
+    // only accessed from the server thread, stacks are weakly held as they may be destroyed or replaced at any time
+    private static final Map<UUID, Map<ItemStack, Pending>> buffers = new HashMap<>();
+
+    /**
+     * Buffers progression for the given stack, progression is applied to the stack when a threshold is reached.
+     */
+    public static void tick(ServerPlayer player, ItemStack itemStack, int multiplier) {
+        if (multiplier <= 0 || !(itemStack.getItem() instanceof IModularItem)) {
+            return;
+        }
+
+        Map<ItemStack, Pending> buffer = buffers.computeIfAbsent(player.getUUID(), uuid -> new WeakHashMap<>());
+        Pending pending = buffer.get(itemStack);
+        if (pending == null) {
+            IModularItem item = (IModularItem) itemStack.getItem();
+            pending = new Pending(item, item.getProgressionHeadroom(itemStack));
+            buffer.put(itemStack, pending);
+        }
+
+        if (pending.headroom == Integer.MAX_VALUE) {
+            // nothing left to progress towards
+            return;
+        }
+
+        pending.uses += multiplier;
+        if (pending.uses >= pending.headroom || pending.uses >= batchSize) {
+            flush(player, itemStack, pending);
+        }
+    }
+
+    private static void flush(Player player, ItemStack itemStack, Pending pending) {
+        pending.item.applyProgression(player, itemStack, pending.uses);
+
+        pending.uses = 0;
+        pending.headroom = pending.item.getProgressionHeadroom(itemStack);
+    }
+
+    /**
+     * Writes all pending progression for the given player to the respective items. Moving a stack within the players inventory splits a
+     * copy off the buffered stack, progression for emptied stacks is written to the matching stack held by the player instead.
+     */
+    public static void flush(Player player) {
+        Map<ItemStack, Pending> buffer = buffers.remove(player.getUUID());
+        if (buffer != null) {
+            buffer.forEach((itemStack, pending) -> {
+                if (pending.uses > 0) {
+                    ItemStack target = itemStack.isEmpty() ? findMoved(player, itemStack, pending) : itemStack;
+                    if (target != null) {
+                        pending.item.applyProgression(player, target, pending.uses);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * @return true if the candidate may be a copy split off the emptied buffered stack
+     */
+    private static boolean isMovedTo(ItemStack emptied, Pending pending, ItemStack candidate) {
+        return emptied.isEmpty()
+                && !candidate.isEmpty()
+                && pending.item == candidate.getItem()
+                && Objects.equals(emptied.getTag(), candidate.getTag());
+    }
+
+    /**
+     * Finds the stack that an emptied buffered stack was moved to, looks at the stack carried in the open menu and all inventory slots
+     * (including armor & offhand)
+     */
+    @Nullable
+    private static ItemStack findMoved(Player player, ItemStack emptied, Pending pending) {
+        ItemStack carried = player.containerMenu.getCarried();
+        if (isMovedTo(emptied, pending, carried)) {
+            return carried;
+        }
+
+        Inventory inventory = player.getInventory();
+        for (int i = 0; i < inventory.getContainerSize(); i++) {
+            ItemStack itemStack = inventory.getItem(i);
+            if (isMovedTo(emptied, pending, itemStack)) {
+                return itemStack;
+            }
+        }
+
+        return null;
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        flush(event.getPlayer());
+    }
+
+    @SubscribeEvent
+    public static void onContainerOpen(PlayerContainerEvent.Open event) {
+        flush(event.getPlayer());
+    }
+
+    @SubscribeEvent
+    public static void onEntityInteract(PlayerInteractEvent.EntityInteract event) {
+        flushServer(event.getPlayer());
+    }
+
+    @SubscribeEvent
+    public static void onEntityInteractSpecific(PlayerInteractEvent.EntityInteractSpecific event) {
+        flushServer(event.getPlayer());
+    }
+
+    @SubscribeEvent
+    public static void onRightClickBlock(PlayerInteractEvent.RightClickBlock event) {
+        flushServer(event.getPlayer());
+    }
+
+    /**
+     * Fires the tick after a held stack has been replaced, the buffered stack is still flushed in case it was moved elsewhere in the
+     * inventory rather than split off
+     */
+    @SubscribeEvent
+    public static void onEquipmentChange(LivingEquipmentChangeEvent event) {
+        if (event.getSlot().getType() == EquipmentSlot.Type.HAND && event.getEntityLiving() instanceof ServerPlayer player) {
+            flush(player);
+        }
+    }
+
+    private static void flushServer(Player player) {
+        if (player instanceof ServerPlayer) {
+            flush(player);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerClone(PlayerEvent.Clone event) {
+        buffers.remove(event.getOriginal().getUUID());
+    }
+
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onDeath(LivingDeathEvent event) {
+        if (!event.isCanceled() && event.getEntityLiving() instanceof ServerPlayer) {
+            flush((ServerPlayer) event.getEntityLiving());
+        }
+    }
+
+    /**
+     * Tossed items are split off from the held stack, so the buffered stack is emptied by the time this fires. Pending progression is
+     * instead applied to the tossed stack if it matches the emptied stack.
+     */
+    @SubscribeEvent
+    public static void onItemToss(ItemTossEvent event) {
+        Map<ItemStack, Pending> buffer = buffers.get(event.getPlayer().getUUID());
+        ItemStack tossed = event.getEntityItem().getItem();
+        if (buffer == null || !(tossed.getItem() instanceof IModularItem)) {
+            return;
+        }
+
+        Iterator<Map.Entry<ItemStack, Pending>> iterator = buffer.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<ItemStack, Pending> entry = iterator.next();
+            ItemStack itemStack = entry.getKey();
+            Pending pending = entry.getValue();
+            if (itemStack == tossed || isMovedTo(itemStack, pending, tossed)) {
+                iterator.remove();
+
+                if (pending.uses > 0) {
+                    pending.item.applyProgression(event.getPlayer(), tossed, pending.uses);
+                }
+                return;
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onWorldSave(WorldEvent.Save event) {
+        if (!event.getWorld().isClientSide()) {
+            event.getWorld().players().forEach(ProgressionBuffer::flush);
+        }
+    }
+
+    static class Pending {
+        final IModularItem item;
+        int uses;
+        int headroom;
+
+        Pending(IModularItem item, int headroom) {
+            this.item = item;
+            this.headroom = headroom;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package se.mickelus.tetra.module.schematic;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import net.minecraft.client.resources.language.I18n;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.player.Player;
@@ -19,22 +21,36 @@ import se.mickelus.tetra.module.ItemUpgradeRegistry;
 import se.mickelus.tetra.module.data.GlyphData;
 import se.mickelus.tetra.module.data.MaterialMultiplier;
 import se.mickelus.tetra.module.data.VariantData;
+import se.mickelus.tetra.profiling.TetraProfiler;
 
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 @ParametersAreNonnullByDefault
 public class ConfigSchematic extends BaseSchematic {
+    private static final Cache<List<Object>, OutcomePreview[]> previewCache = CacheBuilder.newBuilder()
+            .maximumSize(200)
+            .expireAfterAccess(1, TimeUnit.MINUTES)
+            .recordStats()
+            .build();
+
+    static {
+        TetraProfiler.registerCache("schematic_previews", previewCache);
+    }
+
     private static final String localizationPrefix = TetraMod.MOD_ID + "/schematic/";
     private static final String nameSuffix = ".name";
     private static final String descriptionSuffix = ".description";
     private static final String slotSuffix = ".slot";
 
     private final SchematicDefinition definition;
+    private final OutcomeMaterialIndex materialIndex;
 
     private final String keySuffix;
     private final String moduleSlot;
@@ -57,6 +73,8 @@ public class ConfigSchematic extends BaseSchematic {
         if (faultyModuleOutcomes.length != 0) {
             throw new InvalidSchematicException(definition.key, faultyModuleOutcomes);
         }
+
+        materialIndex = new OutcomeMaterialIndex(definition.outcomes, definition.materialSlotCount);
     }
 
     private String getModuleKey(OutcomeDefinition outcome) {
@@ -67,10 +85,7 @@ public class ConfigSchematic extends BaseSchematic {
     }
 
     private Optional<OutcomeDefinition> getOutcomeFromMaterial(ItemStack materialStack, int slot) {
-        return Arrays.stream(definition.outcomes)
-                .filter(outcome -> outcome.materialSlot == slot)
-                .filter(outcome -> outcome.material.getPredicate() != null && outcome.material.getPredicate().matches(materialStack))
-                .reduce((a, b) -> b); // returns the last element, there's no findLast :c
+        return Optional.ofNullable(materialIndex.find(materialStack, slot));
     }
 
     @Override
@@ -186,9 +201,11 @@ public class ConfigSchematic extends BaseSchematic {
     }
 
     private boolean hasAnyMaterial(Player player) {
+        boolean hasFallbacks = materialIndex.hasFallbacks(definition.materialRevealSlot);
         for (int x = 0; x < 9; x++) {
             for (int y = 0; y < 4; y++) {
-                if (getOutcomeFromMaterial(player.getInventory().getItem(y * 9 + x), definition.materialRevealSlot).isPresent()) {
+                ItemStack itemStack = player.getInventory().getItem(y * 9 + x);
+                if ((hasFallbacks || !itemStack.isEmpty()) && getOutcomeFromMaterial(itemStack, definition.materialRevealSlot).isPresent()) {
                     return true;
                 }
             }
@@ -388,24 +405,39 @@ public class ConfigSchematic extends BaseSchematic {
 
     @Override
     public OutcomePreview[] getPreviews(ItemStack targetStack, String slot) {
+        String compositionKey = CastOptional.cast(targetStack.getItem(), IModularItem.class)
+                .map(item -> item.getDataCacheKey(targetStack))
+                .orElseGet(() -> targetStack.getItem().getRegistryName() + ":" + targetStack.getTag());
+
+        try {
+            // cached previews are shared, callers get copies so that the resulting item stacks can't be modified through them
+            return Arrays.stream(previewCache.get(Arrays.asList(this, compositionKey, slot), () -> createPreviews(targetStack.copy(), slot)))
+                    .map(OutcomePreview::clone)
+                    .toArray(OutcomePreview[]::new);
+        } catch (ExecutionException e) {
+            return createPreviews(targetStack.copy(), slot);
+        }
+    }
+
+    /**
+     * Previews are created per distinct variant, the resulting item stack of each preview is only assembled once it's needed
+     */
+    private OutcomePreview[] createPreviews(ItemStack targetStack, String slot) {
         return Arrays.stream(definition.outcomes)
                 .filter(outcome -> !outcome.hidden)
                 .map(outcome -> {
-                    ItemStack itemStack = targetStack.copy();
-
                     String key = null;
                     String name = "";
                     String category = "misc";
                     int level = -1;
                     GlyphData glyph;
 
-                    applyOutcome(outcome, itemStack, false, slot, null);
-
                     if (outcome.moduleKey != null) {
-                        VariantData variant = ItemUpgradeRegistry.instance.getModule(getModuleKey(outcome)).getVariantData(outcome.moduleVariant);
+                        ItemModule module = ItemUpgradeRegistry.instance.getModule(getModuleKey(outcome));
+                        VariantData variant = module.getVariantData(outcome.moduleVariant);
 
                         key = outcome.moduleVariant;
-                        name = getVariantName(outcome, itemStack);
+                        name = ItemModule.getName(module.getUnlocalizedName(), variant.key);
                         glyph = variant.glyph;
                         category = variant.category;
                     } else {
@@ -424,17 +456,13 @@ public class ConfigSchematic extends BaseSchematic {
                         }
                     }
 
-                    return new OutcomePreview(outcome.moduleKey, key, name, category, level, glyph, itemStack, definition.displayType, outcome.requiredTools,
-                            outcome.material.getApplicableItemStacks());
+                    return new OutcomePreview(outcome.moduleKey, key, name, category, level, glyph, () -> {
+                        ItemStack itemStack = targetStack.copy();
+                        applyOutcome(outcome, itemStack, false, slot, null);
+                        return itemStack;
+                    }, definition.displayType, outcome.requiredTools, outcome.material.getApplicableItemStacks());
                 })
                 .filter(Filter.distinct(preview -> preview.variantKey))
                 .toArray(OutcomePreview[]::new);
     }
-
-    private String getVariantName(OutcomeDefinition outcome, ItemStack itemStack) {
-        return Optional.ofNullable(getModuleKey(outcome))
-                .map(ItemUpgradeRegistry.instance::getModule)
-                .map(module -> module.getName(itemStack))
-                .orElse("");
-    }
 }
@@ -105,6 +105,11 @@ public class OutcomeMaterial {
         return tagLocation != null;
     }
 
+    @Nullable
+    public TagKey<Item> getTagKey() {
+        return tagLocation;
+    }
+
     public boolean isValid() {
         return predicate != null;
     }
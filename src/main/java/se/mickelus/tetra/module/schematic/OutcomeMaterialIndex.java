@@ -0,0 +1,109 @@
+package se.mickelus.tetra.module.schematic;
+
+import net.minecraft.advancements.critereon.ItemPredicate;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.*;
+
+/**
+ * Index of which outcomes may match a given material, per material slot. Outcomes with item based material predicates are indexed by
+ * their items, while outcomes that can't be indexed (tags & custom predicates) are kept in a fallback list. Only the indexed and
+ * fallback outcomes need to be matched against a material, rather than every outcome of the schematic. Materials matching no indexed
+ * item in slots without fallback outcomes are rejected without running any predicate.
+ */
+@ParametersAreNonnullByDefault
+class OutcomeMaterialIndex {
+    private static final int[] noOutcomes = new int[0];
+
+    private final OutcomeDefinition[] outcomes;
+
+    private final Map<Item, int[]>[] itemIndex;
+    private final int[][] fallbacks;
+
+    @SuppressWarnings("unchecked")
+    OutcomeMaterialIndex(OutcomeDefinition[] outcomes, int slotCount) {
+        this.outcomes = outcomes;
+
+        int slots = Math.max(slotCount, Arrays.stream(outcomes).mapToInt(outcome -> outcome.materialSlot + 1).max().orElse(0));
+        itemIndex = new Map[slots];
+        fallbacks = new int[slots][];
+
+        List<Map<Item, List<Integer>>> itemOutcomes = new ArrayList<>();
+        List<List<Integer>> fallbackOutcomes = new ArrayList<>();
+        for (int i = 0; i < slots; i++) {
+            itemOutcomes.add(new HashMap<>());
+            fallbackOutcomes.add(new ArrayList<>());
+        }
+
+        for (int i = 0; i < outcomes.length; i++) {
+            OutcomeDefinition outcome = outcomes[i];
+            if (outcome.materialSlot < 0 || outcome.material.getPredicate() == null) {
+                continue;
+            }
+
+            Collection<ItemStack> itemStacks = outcome.material.itemStacks;
+            // item lists are only indexed for vanilla predicates, subclasses may match other items
+            if (outcome.material.getPredicate().getClass() == ItemPredicate.class && itemStacks != null && !itemStacks.isEmpty()) {
+                int index = i;
+                itemStacks.stream()
+                        .map(ItemStack::getItem)
+                        .distinct()
+                        .forEach(item -> itemOutcomes.get(outcome.materialSlot).computeIfAbsent(item, k -> new ArrayList<>()).add(index));
+            } else {
+                fallbackOutcomes.get(outcome.materialSlot).add(i);
+            }
+        }
+
+        for (int i = 0; i < slots; i++) {
+            Map<Item, int[]> slotIndex = new HashMap<>();
+            itemOutcomes.get(i).forEach((item, indices) -> slotIndex.put(item, toArray(indices)));
+            itemIndex[i] = slotIndex;
+            fallbacks[i] = toArray(fallbackOutcomes.get(i));
+        }
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        return list.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * @return true if there are outcomes in the given slot that may match any material, false if all outcomes only match indexed items
+     */
+    boolean hasFallbacks(int slot) {
+        return slot >= 0 && slot < fallbacks.length && fallbacks[slot].length > 0;
+    }
+
+    /**
+     * Finds the outcome matching the given material, if several outcomes match the material the last of them is returned
+     */
+    @Nullable
+    OutcomeDefinition find(ItemStack materialStack, int slot) {
+        if (slot < 0 || slot >= itemIndex.length) {
+            return null;
+        }
+
+        int[] indexed = itemIndex[slot].getOrDefault(materialStack.getItem(), noOutcomes);
+        int[] fallback = fallbacks[slot];
+
+        // walk both lists backwards in outcome order, as the last matching outcome takes precedence
+        int i = indexed.length - 1;
+        int j = fallback.length - 1;
+        while (i >= 0 || j >= 0) {
+            int outcomeIndex;
+            if (j < 0 || i >= 0 && indexed[i] > fallback[j]) {
+                outcomeIndex = indexed[i--];
+            } else {
+                outcomeIndex = fallback[j--];
+            }
+
+            if (outcomes[outcomeIndex].material.getPredicate().matches(materialStack)) {
+                return outcomes[outcomeIndex];
+            }
+        }
+
+        return null;
+    }
+}
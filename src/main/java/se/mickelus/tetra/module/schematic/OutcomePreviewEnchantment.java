@@ -25,6 +25,6 @@ public class OutcomePreviewEnchantment extends OutcomePreview {
 
     @Override
     public OutcomePreview clone() {
-        return new OutcomePreviewEnchantment(variantKey, variantName, category, level, glyph, itemStack.copy(), type, tools, materials);
+        return new OutcomePreviewEnchantment(variantKey, variantName, category, level, glyph, getItemStack().copy(), type, tools, materials);
     }
 }
@@ -0,0 +1,42 @@
+package se.mickelus.tetra.profiling;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.TextComponent;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+@ParametersAreNonnullByDefault
+public class PerfCommand {
+    public static void register(CommandDispatcher<CommandSourceStack> dispatcher) {
+        dispatcher.register(Commands.literal("tetra")
+                .requires(source -> source.hasPermission(2))
+                .then(Commands.literal("perf")
+                        .executes(PerfCommand::report)
+                        .then(Commands.literal("start")
+                                .executes(context -> setEnabled(context, true)))
+                        .then(Commands.literal("stop")
+                                .executes(context -> setEnabled(context, false)))
+                        .then(Commands.literal("reset")
+                                .executes(PerfCommand::reset))));
+    }
+
+    private static int report(CommandContext<CommandSourceStack> context) {
+        TetraProfiler.getReport().forEach(line -> context.getSource().sendSuccess(new TextComponent(line), false));
+        return 1;
+    }
+
+    private static int setEnabled(CommandContext<CommandSourceStack> context, boolean enabled) {
+        TetraProfiler.setEnabled(enabled);
+        context.getSource().sendSuccess(new TextComponent(enabled ? "Started profiling" : "Stopped profiling"), true);
+        return 1;
+    }
+
+    private static int reset(CommandContext<CommandSourceStack> context) {
+        TetraProfiler.reset();
+        context.getSource().sendSuccess(new TextComponent("Reset profiling data"), true);
+        return 1;
+    }
+}
@@ -0,0 +1,122 @@
+package se.mickelus.tetra.profiling;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counter & latency histogram for a single instrumented code path. Latencies are bucketed by powers of two (in microseconds) so recording
+ * is a couple of atomic adds, percentiles reported from the histogram are upper bounds of the bucket they fall within.
+ */
+@ParametersAreNonnullByDefault
+public class ProfilerMetric {
+    private static final int bucketCount = 24;
+
+    private final String name;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final LongAdder[] buckets = new LongAdder[bucketCount];
+
+    ProfilerMetric(String name) {
+        this.name = name;
+
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return a timestamp to be passed to {@link #stop(long)}, or 0 if profiling is disabled
+     */
+    public long start() {
+        return TetraProfiler.isEnabled() ? System.nanoTime() : 0;
+    }
+
+    public void stop(long start) {
+        if (start != 0) {
+            record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Count an occurrence without timing it, e.g. a cache miss.
+     */
+    public void increment() {
+        if (TetraProfiler.isEnabled()) {
+            count.increment();
+        }
+    }
+
+    /**
+     * Record a timing measured elsewhere, e.g. across threads. Ignored if profiling is disabled
+     */
+    public void record(long nanos) {
+        if (!TetraProfiler.isEnabled()) {
+            return;
+        }
+
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        int bucket = micros == 0 ? 0 : Math.min(64 - Long.numberOfLeadingZeros(micros), bucketCount - 1);
+        buckets[bucket].increment();
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    public boolean hasTimings() {
+        return totalNanos.sum() > 0;
+    }
+
+    /**
+     * @param percentile a value between 0 and 1
+     * @return the upper bound of the histogram bucket holding the given percentile, in nanoseconds
+     */
+    public long getPercentileNanos(double percentile) {
+        long total = 0;
+        long[] counts = new long[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+
+        long threshold = (long) Math.ceil(total * percentile);
+        long accumulated = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            accumulated += counts[i];
+            if (accumulated >= threshold && accumulated > 0) {
+                return Math.min(TimeUnit.MICROSECONDS.toNanos(1L << i), getMaxNanos());
+            }
+        }
+
+        return getMaxNanos();
+    }
+
+    public void reset() {
+        count.reset();
+        totalNanos.reset();
+        maxNanos.set(0);
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+    }
+}
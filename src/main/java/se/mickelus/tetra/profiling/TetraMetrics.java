@@ -0,0 +1,11 @@
+package se.mickelus.tetra.profiling;
+
+/**
+ * Metrics shared between several classes, metrics used by a single class are kept in that class.
+ */
+public class TetraMetrics {
+    public static final ProfilerMetric effectData = TetraProfiler.metric("item/effect_data_build");
+    public static final ProfilerMetric properties = TetraProfiler.metric("item/properties_build");
+    public static final ProfilerMetric attributes = TetraProfiler.metric("item/attributes_build");
+    public static final ProfilerMetric modelBake = TetraProfiler.metric("model/bake");
+}
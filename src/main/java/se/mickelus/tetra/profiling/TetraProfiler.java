@@ -0,0 +1,142 @@
+package se.mickelus.tetra.profiling;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheStats;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import se.mickelus.tetra.ConfigHandler;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
+
+/**
+ * Runtime instrumentation for tetra hot paths. Timings are only recorded while profiling is enabled, either through the config or the
+ * perf command, the cost when disabled is a volatile read per instrumented call. Cache statistics are always collected as they are
+ * tracked by the caches themselves.
+ */
+@ParametersAreNonnullByDefault
+public class TetraProfiler {
+    private static final Logger logger = LogManager.getLogger();
+
+    private static final Map<String, ProfilerMetric> metrics = new ConcurrentHashMap<>();
+    private static final Map<String, IntSupplier> gauges = new ConcurrentHashMap<>();
+    private static final Map<String, Set<Cache<?, ?>>> caches = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled = false;
+    private static long enabledTimestamp = 0;
+    private static int ticks = 0;
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        if (enabled && !TetraProfiler.enabled) {
+            enabledTimestamp = System.currentTimeMillis();
+        }
+        TetraProfiler.enabled = enabled;
+    }
+
+    public static void updateConfig() {
+        setEnabled(ConfigHandler.profiling.get());
+    }
+
+    /**
+     * Get or create the metric with the given name, metrics should be kept in static fields to avoid the lookup on hot paths.
+     */
+    public static ProfilerMetric metric(String name) {
+        return metrics.computeIfAbsent(name, ProfilerMetric::new);
+    }
+
+    public static void registerGauge(String name, IntSupplier supplier) {
+        gauges.put(name, supplier);
+    }
+
+    /**
+     * Include the stats of the given cache in the reports, caches sharing the same group name are reported as one. Caches are weakly
+     * referenced, the cache should be built with recordStats for it to report anything useful.
+     */
+    public static void registerCache(String group, Cache<?, ?> cache) {
+        caches.computeIfAbsent(group, g -> Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()))).add(cache);
+    }
+
+    public static void reset() {
+        metrics.values().forEach(ProfilerMetric::reset);
+        enabledTimestamp = System.currentTimeMillis();
+    }
+
+    public static List<String> getReport() {
+        List<String> result = new ArrayList<>();
+
+        if (enabled) {
+            result.add(String.format("Profiling for %ds", (System.currentTimeMillis() - enabledTimestamp) / 1000));
+        } else {
+            result.add("Profiling is disabled, timings are not recorded");
+        }
+
+        metrics.values().stream()
+                .filter(metric -> metric.getCount() > 0)
+                .sorted(Comparator.comparing(ProfilerMetric::getTotalNanos).reversed().thenComparing(ProfilerMetric::getName))
+                .map(TetraProfiler::formatMetric)
+                .forEach(result::add);
+
+        caches.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> formatCache(entry.getKey(), entry.getValue()))
+                .forEach(result::add);
+
+        gauges.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> String.format("%s: %d", entry.getKey(), entry.getValue().getAsInt()))
+                .forEach(result::add);
+
+        return result;
+    }
+
+    private static String formatMetric(ProfilerMetric metric) {
+        long count = metric.getCount();
+        if (!metric.hasTimings()) {
+            return String.format("%s: %d", metric.getName(), count);
+        }
+
+        return String.format("%s: %d calls, %.2fms total, avg %.1fus, p50 <%.1fus, p99 <%.1fus, max %.1fus",
+                metric.getName(), count,
+                metric.getTotalNanos() / 1e6,
+                metric.getTotalNanos() / 1e3 / count,
+                metric.getPercentileNanos(0.5) / 1e3,
+                metric.getPercentileNanos(0.99) / 1e3,
+                metric.getMaxNanos() / 1e3);
+    }
+
+    private static String formatCache(String group, Set<Cache<?, ?>> groupCaches) {
+        CacheStats stats = new CacheStats(0, 0, 0, 0, 0, 0);
+        long size = 0;
+        synchronized (groupCaches) {
+            for (Cache<?, ?> cache : groupCaches) {
+                stats = stats.plus(cache.stats());
+                size += cache.size();
+            }
+        }
+
+        return String.format("cache %s: %d entries, %d hits, %d misses (%.1f%% hit rate), %d evictions, avg load %.1fus",
+                group, size, stats.hitCount(), stats.missCount(), stats.hitRate() * 100, stats.evictionCount(),
+                stats.averageLoadPenalty() / 1e3);
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || !enabled) {
+            return;
+        }
+
+        int interval = ConfigHandler.profilingLogInterval.get();
+        if (interval > 0 && ++ticks >= interval * 20) {
+            ticks = 0;
+            getReport().forEach(line -> logger.info("[perf] {}", line));
+        }
+    }
+}
@@ -142,25 +142,28 @@ public class AttributeHelper {
     }
 
     public static double getAdditionAmount(Collection<AttributeModifier> modifiers) {
-        double base = modifiers.stream()
-                .filter(modifier -> modifier.getOperation().equals(AttributeModifier.Operation.ADDITION))
-                .mapToDouble(AttributeModifier::getAmount)
-                .sum();
+        double base = 0;
+        double multiplyBase = 0;
+        for (AttributeModifier modifier : modifiers) {
+            if (modifier.getOperation() == AttributeModifier.Operation.ADDITION) {
+                base += modifier.getAmount();
+            } else if (modifier.getOperation() == AttributeModifier.Operation.MULTIPLY_BASE) {
+                multiplyBase += modifier.getAmount();
+            }
+        }
 
-        return base
-                + modifiers.stream()
-                .filter(modifier -> modifier.getOperation().equals(AttributeModifier.Operation.MULTIPLY_BASE))
-                .mapToDouble(AttributeModifier::getAmount)
-                .map(amount -> amount * Math.abs(base))
-                .sum();
+        return base + multiplyBase * Math.abs(base);
     }
 
     public static double getMultiplyAmount(Collection<AttributeModifier> modifiers) {
-        return modifiers.stream()
-                .filter(modifier -> modifier.getOperation().equals(AttributeModifier.Operation.MULTIPLY_TOTAL))
-                .mapToDouble(AttributeModifier::getAmount)
-                .map(amount -> amount + 1)
-                .reduce(1, (a, b) -> a * b);
+        double result = 1;
+        for (AttributeModifier modifier : modifiers) {
+            if (modifier.getOperation() == AttributeModifier.Operation.MULTIPLY_TOTAL) {
+                result *= modifier.getAmount() + 1;
+            }
+        }
+
+        return result;
     }
 
     public static Multimap<Attribute, AttributeModifier> multiplyModifiers(Multimap<Attribute, AttributeModifier> modifiers, double multiplier) {
@@ -191,6 +194,19 @@ public class AttributeHelper {
                 .orElse(null);
     }
 
+    /**
+     * Collapses and rounds the modifiers held by the vector, same as collapseRound for a merged multimap
+     *
+     * @return null if only null modifier maps have been added to the vector, an empty multimap if the added maps were empty
+     */
+    public static Multimap<Attribute, AttributeModifier> collapseRound(AttributeVector vector) {
+        if (!vector.hasModifiers()) {
+            return null;
+        }
+
+        return round(vector.toModifiers());
+    }
+
     public static Multimap<Attribute, AttributeModifier> round(Multimap<Attribute, AttributeModifier> modifiers) {
         return Optional.ofNullable(modifiers)
                 .map(Multimap::entries)
@@ -0,0 +1,204 @@
+package se.mickelus.tetra.properties;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Multimap;
+import net.minecraft.world.entity.ai.attributes.Attribute;
+import net.minecraft.world.entity.ai.attributes.AttributeModifier;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mutable aggregate of attribute modifiers, holds the summed ADDITION and MULTIPLY_BASE amounts and the product of MULTIPLY_TOTAL
+ * multipliers for each attribute. Modifiers are merged in place, which avoids the multimaps and modifier instances created when merging
+ * modifier maps. Conversion to a collapsed modifier map (matching {@link AttributeHelper#collapse}) is done once the vector is complete.
+ */
+@ParametersAreNonnullByDefault
+public class AttributeVector {
+    private static final Map<Attribute, Integer> indices = new ConcurrentHashMap<>();
+    private static final List<Attribute> attributes = new ArrayList<>();
+
+    private static final int stride = 3;
+    private static final int addition = 0;
+    private static final int multiplyBase = 1;
+    private static final int multiplyTotal = 2;
+
+    private double[] values;
+    private boolean[] present;
+    private boolean empty = true;
+    // true once a modifier map has been added, even if the map was empty
+    private boolean hasModifiers = false;
+
+    public AttributeVector() {
+        int size = Math.max(attributes.size(), 8);
+        values = new double[size * stride];
+        present = new boolean[size];
+    }
+
+    /**
+     * Attributes are assigned a dense index the first time they are seen
+     */
+    private static int getIndex(Attribute attribute) {
+        Integer index = indices.get(attribute);
+        if (index != null) {
+            return index;
+        }
+
+        synchronized (attributes) {
+            return indices.computeIfAbsent(attribute, a -> {
+                attributes.add(a);
+                return attributes.size() - 1;
+            });
+        }
+    }
+
+    private static Attribute getAttribute(int index) {
+        synchronized (attributes) {
+            return attributes.get(index);
+        }
+    }
+
+    private int prepare(Attribute attribute) {
+        int index = getIndex(attribute);
+        if (index >= present.length) {
+            int size = Math.max(index + 1, present.length * 2);
+            values = Arrays.copyOf(values, size * stride);
+            present = Arrays.copyOf(present, size);
+        }
+
+        if (!present[index]) {
+            present[index] = true;
+            values[index * stride + addition] = 0;
+            values[index * stride + multiplyBase] = 0;
+            values[index * stride + multiplyTotal] = 1;
+        }
+
+        empty = false;
+        hasModifiers = true;
+        return index;
+    }
+
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * @return true if any modifiers or modifier maps (including empty maps) have been added, false if only null maps have been added
+     */
+    public boolean hasModifiers() {
+        return hasModifiers;
+    }
+
+    public AttributeVector add(Attribute attribute, AttributeModifier modifier) {
+        return add(attribute, modifier.getOperation(), modifier.getAmount());
+    }
+
+    public AttributeVector add(Attribute attribute, AttributeModifier.Operation operation, double amount) {
+        int offset = prepare(attribute) * stride;
+        switch (operation) {
+            case ADDITION:
+                values[offset + addition] += amount;
+                break;
+            case MULTIPLY_BASE:
+                values[offset + multiplyBase] += amount;
+                break;
+            case MULTIPLY_TOTAL:
+                values[offset + multiplyTotal] *= amount + 1;
+                break;
+        }
+        return this;
+    }
+
+    public AttributeVector add(@Nullable Multimap<Attribute, AttributeModifier> modifiers) {
+        return add(modifiers, 1);
+    }
+
+    /**
+     * Adds the given modifiers with their amounts multiplied by the given multiplier, equivalent to adding the result of
+     * {@link AttributeHelper#multiplyModifiers}
+     */
+    public AttributeVector add(@Nullable Multimap<Attribute, AttributeModifier> modifiers, double multiplier) {
+        if (modifiers != null) {
+            hasModifiers = true;
+            for (Map.Entry<Attribute, AttributeModifier> entry : modifiers.entries()) {
+                AttributeModifier modifier = entry.getValue();
+                add(entry.getKey(), modifier.getOperation(), modifier.getAmount() * multiplier);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @return the collapsed ADDITION amount, including MULTIPLY_BASE, for the given attribute
+     */
+    public double getAddition(Attribute attribute) {
+        Integer index = indices.get(attribute);
+        if (index == null || index >= present.length || !present[index]) {
+            return 0;
+        }
+
+        return getAddition(index);
+    }
+
+    private double getAddition(int index) {
+        int offset = index * stride;
+        double base = values[offset + addition];
+        return base + values[offset + multiplyBase] * Math.abs(base);
+    }
+
+    /**
+     * @return the product of all MULTIPLY_TOTAL multipliers for the given attribute, 1 based
+     */
+    public double getMultiplier(Attribute attribute) {
+        Integer index = indices.get(attribute);
+        if (index == null || index >= present.length || !present[index]) {
+            return 1;
+        }
+
+        return values[index * stride + multiplyTotal];
+    }
+
+    public double getMergedAmount(Attribute attribute, double base) {
+        return (getAddition(attribute) + base) * getMultiplier(attribute);
+    }
+
+    /**
+     * Runs the consumer for each attribute in the vector, with the collapsed addition amount and the 1 based multiplier
+     */
+    public void forEach(AttributeConsumer consumer) {
+        for (int i = 0; i < present.length; i++) {
+            if (present[i]) {
+                consumer.accept(getAttribute(i), getAddition(i), values[i * stride + multiplyTotal]);
+            }
+        }
+    }
+
+    /**
+     * @return a multimap holding up to two modifiers per attribute, one ADDITION and one MULTIPLY_TOTAL modifier
+     */
+    public Multimap<Attribute, AttributeModifier> toModifiers() {
+        Multimap<Attribute, AttributeModifier> result = ArrayListMultimap.create();
+        forEach((attribute, additionAmount, multiplier) -> {
+            if (additionAmount != 0) {
+                result.put(attribute, new AttributeModifier("tetra.stats.addition", additionAmount, AttributeModifier.Operation.ADDITION));
+            }
+
+            // vanilla expects the multiplier to be 0 based
+            if (multiplier - 1 != 0) {
+                result.put(attribute, new AttributeModifier("tetra.stats.multiply", multiplier - 1, AttributeModifier.Operation.MULTIPLY_TOTAL));
+            }
+        });
+
+        return result;
+    }
+
+    @FunctionalInterface
+    public interface AttributeConsumer {
+        void accept(Attribute attribute, double addition, double multiplier);
+    }
+}
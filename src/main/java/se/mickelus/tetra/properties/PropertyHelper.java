@@ -4,6 +4,7 @@ import com.google.common.collect.Sets;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.Container;
 import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
@@ -29,6 +30,7 @@ import java.util.stream.Stream;
 
 @ParametersAreNonnullByDefault
 public class PropertyHelper {
+    private static final Map<Player, CachedTools> playerTools = new WeakHashMap<>();
 
     public static int getItemToolLevel(ItemStack itemStack, ToolAction tool) {
         return Optional.of(itemStack)
@@ -78,7 +80,26 @@ public class PropertyHelper {
                 .orElse(0);
     }
 
+    /**
+     * Tools provided by items in the inventory of the given player. Client side the result is kept until the inventory changes, as this is
+     * looked up whenever the player targets an interactive block.
+     */
     public static Set<ToolAction> getPlayerTools(Player player) {
+        if (!player.level.isClientSide) {
+            return collectPlayerTools(player);
+        }
+
+        Inventory inventory = player.getInventory();
+        CachedTools cached = playerTools.get(player);
+        if (cached == null || cached.inventory != inventory || cached.timesChanged != inventory.getTimesChanged()) {
+            cached = new CachedTools(inventory, collectPlayerTools(player));
+            playerTools.put(player, cached);
+        }
+
+        return cached.tools;
+    }
+
+    private static Set<ToolAction> collectPlayerTools(Player player) {
         return Stream.concat(player.getInventory().offhand.stream(), player.getInventory().items.stream())
                 .filter(itemStack -> !itemStack.isEmpty())
                 .map(PropertyHelper::getReplacement)
@@ -337,4 +358,16 @@ public class PropertyHelper {
                 .flatMap(Collection::stream)
                 .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, Math::max));
     }
+
+    static class CachedTools {
+        final Inventory inventory;
+        final int timesChanged;
+        final Set<ToolAction> tools;
+
+        CachedTools(Inventory inventory, Set<ToolAction> tools) {
+            this.inventory = inventory;
+            this.timesChanged = inventory.getTimesChanged();
+            this.tools = Collections.unmodifiableSet(tools);
+        }
+    }
 }